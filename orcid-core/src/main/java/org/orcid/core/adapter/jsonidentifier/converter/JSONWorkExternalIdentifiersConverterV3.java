@@ -75,8 +75,12 @@ public class JSONWorkExternalIdentifiersConverterV3 extends BidirectionalConvert
                 if (normalised != null && !normalised.trim().isEmpty()) {
                     id.setNormalized(new TransientNonEmptyString(normalised));
                 }
+                String errorCode = null;
+                String errorMessage = null;
                 if (normalised == null || StringUtils.isEmpty(normalised)){
-                    id.setNormalizedError(new TransientError(localeManager.resolveMessage("transientError.normalization_failed.code"),localeManager.resolveMessage("transientError.normalization_failed.message",id.getType(),workExternalIdentifier.getWorkExternalIdentifierId().content )));
+                    errorCode = localeManager.resolveMessage("transientError.normalization_failed.code");
+                    errorMessage = localeManager.resolveMessage("transientError.normalization_failed.message",id.getType(),workExternalIdentifier.getWorkExternalIdentifierId().content );
+                    id.setNormalizedError(new TransientError(errorCode, errorMessage));
                 }
                 
                 try {
@@ -85,7 +89,12 @@ public class JSONWorkExternalIdentifiersConverterV3 extends BidirectionalConvert
                     
                 }
                 if (id.getNormalizedUrl() == null || StringUtils.isEmpty(id.getNormalizedUrl().getValue())){
-                    id.setNormalizedUrlError(new TransientError(localeManager.resolveMessage("transientError.normalization_failed.code"),localeManager.resolveMessage("transientError.normalization_failed.message",id.getType(),workExternalIdentifier.getWorkExternalIdentifierId().content )));
+                    //same error as the normalised value, don't resolve the messages again
+                    if (errorCode == null) {
+                        errorCode = localeManager.resolveMessage("transientError.normalization_failed.code");
+                        errorMessage = localeManager.resolveMessage("transientError.normalization_failed.message",id.getType(),workExternalIdentifier.getWorkExternalIdentifierId().content );
+                    }
+                    id.setNormalizedUrlError(new TransientError(errorCode, errorMessage));
                 }
             }
             if (workExternalIdentifier.getUrl() != null) {
@@ -23,6 +23,7 @@ import org.orcid.core.cache.GenericCacheManager;
 import org.orcid.core.cache.Retriever;
 import org.orcid.core.manager.v3.read_only.ProfileEntityManagerReadOnly;
 import org.orcid.persistence.jpa.entities.OrcidAware;
+import org.orcid.persistence.jpa.entities.RecordSection;
 
 /**
  * 
@@ -36,6 +37,10 @@ public class GenericCacheManagerImpl<K extends OrcidAware, V> implements Generic
 
     private ProfileEntityManagerReadOnly profileEntityManager;
 
+    // When set, values are kept until this section of the record changes,
+    // rather than until any part of the record changes
+    private RecordSection recordSection;
+
     public void setCache(Cache<GenericCacheKey<K>, V> cache) {
         this.cache = cache;
     }
@@ -48,6 +53,10 @@ public class GenericCacheManagerImpl<K extends OrcidAware, V> implements Generic
         this.retriever = retriever;
     }
 
+    public void setRecordSection(RecordSection recordSection) {
+        this.recordSection = recordSection;
+    }
+
     @Override
     public V retrieve(K key) {
         GenericCacheKey<K> genericKey = createGenericKey(key);
@@ -68,7 +77,8 @@ public class GenericCacheManagerImpl<K extends OrcidAware, V> implements Generic
     }
 
     private GenericCacheKey<K> createGenericKey(K key) {
-        Date dbDate = profileEntityManager.getLastModifiedDate(key.getOrcid());
+        Date dbDate = recordSection == null ? profileEntityManager.getLastModifiedDate(key.getOrcid())
+                : profileEntityManager.getLastModifiedDate(key.getOrcid(), recordSection);
         if (dbDate == null) {
             return null;
         }
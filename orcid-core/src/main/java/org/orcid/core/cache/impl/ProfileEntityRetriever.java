@@ -49,6 +49,11 @@ public class ProfileEntityRetriever implements Retriever<OrcidString, ProfileEnt
         if (profile.getGivenPermissionTo() != null) {
             profile.getGivenPermissionTo().size();
         }
+        // Needed to authenticate the user of access tokens once the profile is
+        // cached
+        if (profile.getAuthorities() != null) {
+            profile.getAuthorities().size();
+        }
         return profile;
     }
 
@@ -0,0 +1,81 @@
+package org.orcid.core.manager.impl;
+
+import java.io.Serializable;
+
+/**
+ * Key of the grouped activities of one section of a record, like its works or
+ * its employments, as of the given last modified date
+ *
+ */
+public class ActivitySectionCacheKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String orcid;
+    private String section;
+    private boolean justPublic;
+    private boolean filterVersionOfIdentifiers;
+    private long lastModified;
+    private String releaseName;
+
+    public ActivitySectionCacheKey(String orcid, String section, boolean justPublic, boolean filterVersionOfIdentifiers, long lastModified, String releaseName) {
+        this.orcid = orcid;
+        this.section = section;
+        this.justPublic = justPublic;
+        this.filterVersionOfIdentifiers = filterVersionOfIdentifiers;
+        this.lastModified = lastModified;
+        this.releaseName = releaseName;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + (filterVersionOfIdentifiers ? 1231 : 1237);
+        result = prime * result + (justPublic ? 1231 : 1237);
+        result = prime * result + (int) (lastModified ^ (lastModified >>> 32));
+        result = prime * result + ((orcid == null) ? 0 : orcid.hashCode());
+        result = prime * result + ((releaseName == null) ? 0 : releaseName.hashCode());
+        result = prime * result + ((section == null) ? 0 : section.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ActivitySectionCacheKey other = (ActivitySectionCacheKey) obj;
+        if (filterVersionOfIdentifiers != other.filterVersionOfIdentifiers)
+            return false;
+        if (justPublic != other.justPublic)
+            return false;
+        if (lastModified != other.lastModified)
+            return false;
+        if (orcid == null) {
+            if (other.orcid != null)
+                return false;
+        } else if (!orcid.equals(other.orcid))
+            return false;
+        if (releaseName == null) {
+            if (other.releaseName != null)
+                return false;
+        } else if (!releaseName.equals(other.releaseName))
+            return false;
+        if (section == null) {
+            if (other.section != null)
+                return false;
+        } else if (!section.equals(other.section))
+            return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ActivitySectionCacheKey [orcid=" + orcid + ", section=" + section + ", justPublic=" + justPublic + ", filterVersionOfIdentifiers="
+                + filterVersionOfIdentifiers + ", lastModified=" + lastModified + ", releaseName=" + releaseName + "]";
+    }
+}
@@ -2,8 +2,10 @@ package org.orcid.core.manager.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -90,12 +92,9 @@ public class WorkEntityCacheManagerImpl implements WorkEntityCacheManager {
         WorkCacheKey key = new WorkCacheKey(workId, releaseName);
         MinimizedWorkEntity minimizedWorkEntity = (MinimizedWorkEntity) minimizedWorkEntityCache.get(key);
         if (minimizedWorkEntity == null || minimizedWorkEntity.getLastModified().getTime() < workLastModified) {
-            minimizedWorkEntity = (MinimizedWorkEntity) minimizedWorkEntityCache.get(key);
-            if (minimizedWorkEntity == null || minimizedWorkEntity.getLastModified().getTime() < workLastModified) {
-                minimizedWorkEntity = workDao.getMinimizedWorkEntity(workId);
-                workDao.detach(minimizedWorkEntity);
-                minimizedWorkEntityCache.put(key, minimizedWorkEntity);
-            }
+            minimizedWorkEntity = workDao.getMinimizedWorkEntity(workId);
+            workDao.detach(minimizedWorkEntity);
+            minimizedWorkEntityCache.put(key, minimizedWorkEntity);
         }
         return minimizedWorkEntity;
     }
@@ -130,18 +129,31 @@ public class WorkEntityCacheManagerImpl implements WorkEntityCacheManager {
     @Override
     public <T extends WorkBaseEntity> List<T> retrieveWorkList(String orcid, Map<Long, Date> workIdsWithLastModified, Cache<WorkCacheKey, WorkBaseEntity> workCache,
             Function<List<Long>, List<T>> workRetriever) {
-        WorkBaseEntity[] returnArray = new WorkBaseEntity[workIdsWithLastModified.size()];
+        return (List<T>) (List<?>) retrieveWorks(workIdsWithLastModified, workCache, workRetriever);
+    }
+
+    /**
+     * Gets all the works from the cache in one bulk operation, then fetches
+     * the missing or outdated ones from the DB and puts them back in the
+     * cache in another one.
+     */
+    private <V extends WorkBaseEntity> List<V> retrieveWorks(Map<Long, Date> workIdsWithLastModified, Cache<WorkCacheKey, V> workCache,
+            Function<List<Long>, ? extends List<? extends V>> workRetriever) {
+        Map<Long, WorkCacheKey> keys = toCacheKeys(workIdsWithLastModified.keySet());
+        Map<WorkCacheKey, V> cachedWorks = workCache.getAll(new HashSet<WorkCacheKey>(keys.values()));
+
+        @SuppressWarnings("unchecked")
+        V[] returnArray = (V[]) new WorkBaseEntity[workIdsWithLastModified.size()];
         List<Long> fetchList = new ArrayList<Long>();
-        Map<Long, Integer> fetchListIndexOrder = new LinkedHashMap<Long, Integer>();
+        Map<Long, Integer> fetchListIndexOrder = new HashMap<Long, Integer>();
         int index = 0;
 
-        for (Long workId : workIdsWithLastModified.keySet()) {
+        for (Map.Entry<Long, Date> entry : workIdsWithLastModified.entrySet()) {
             // get works from the cache if we can
-            WorkCacheKey key = new WorkCacheKey(workId, releaseName);
-            WorkBaseEntity cachedWork = workCache.get(key);
-            if (cachedWork == null || cachedWork.getLastModified().getTime() < workIdsWithLastModified.get(workId).getTime()) {
-                fetchListIndexOrder.put(workId, index);
-                fetchList.add(workId);
+            V cachedWork = cachedWorks.get(keys.get(entry.getKey()));
+            if (cachedWork == null || cachedWork.getLastModified().getTime() < entry.getValue().getTime()) {
+                fetchListIndexOrder.put(entry.getKey(), index);
+                fetchList.add(entry.getKey());
             } else {
                 returnArray[index] = cachedWork;
             }
@@ -150,20 +162,14 @@ public class WorkEntityCacheManagerImpl implements WorkEntityCacheManager {
 
         // now fetch all the others that are *not* in the cache
         if (fetchList.size() > 0) {
-            List<? extends WorkBaseEntity> refreshedWorks = workRetriever.apply(fetchList);
-            for (WorkBaseEntity mWorkRefreshedFromDB : refreshedWorks) {
-                WorkCacheKey key = new WorkCacheKey(mWorkRefreshedFromDB.getId(), releaseName);
-                WorkBaseEntity cachedWork = workCache.get(key);
-                int returnListIndex = fetchListIndexOrder.get(mWorkRefreshedFromDB.getId());
-                if (cachedWork == null || cachedWork.getLastModified().getTime() < workIdsWithLastModified.get(mWorkRefreshedFromDB.getId()).getTime()) {
-                    workCache.put(key, mWorkRefreshedFromDB);
-                    returnArray[returnListIndex] = mWorkRefreshedFromDB;
-                } else {
-                    returnArray[returnListIndex] = cachedWork;
-                }
+            Map<WorkCacheKey, V> refreshed = new HashMap<WorkCacheKey, V>(capacityFor(fetchList.size()));
+            for (V mWorkRefreshedFromDB : workRetriever.apply(fetchList)) {
+                refreshed.put(keys.get(mWorkRefreshedFromDB.getId()), mWorkRefreshedFromDB);
+                returnArray[fetchListIndexOrder.get(mWorkRefreshedFromDB.getId())] = mWorkRefreshedFromDB;
             }
+            workCache.putAll(refreshed);
         }
-        return (List<T>) Arrays.asList(returnArray);
+        return Arrays.asList(returnArray);
     }
 
     @Override
@@ -212,53 +218,21 @@ public class WorkEntityCacheManagerImpl implements WorkEntityCacheManager {
     @Deprecated
     public List<WorkEntity> retrieveFullWorks(String orcid, long profileLastModified) {
         Map<Long, Date> workIdsWithLastModified = retrieveWorkLastModifiedMap(orcid, profileLastModified);
-        WorkEntity[] returnArray = new WorkEntity[workIdsWithLastModified.size()];
-        List<Long> fetchList = new ArrayList<Long>();
-        Map<Long, Integer> fetchListIndexOrder = new LinkedHashMap<Long, Integer>();
-        int index = 0;
-
-        for (Long workId : workIdsWithLastModified.keySet()) {
-            // get works from the cache if we can
-            WorkCacheKey key = new WorkCacheKey(workId, releaseName);
-                WorkEntity cachedWork = fullWorkEntityCache.get(key);                        
-                if (cachedWork == null || cachedWork.getLastModified().getTime() < workIdsWithLastModified.get(workId).getTime()) {
-                    fetchListIndexOrder.put(workId, index);
-                    fetchList.add(workId);
-                } else {
-                    returnArray[index] = cachedWork;
-                }
-                index++;
-        }
-
-        // now fetch all the others that are *not* in the cache
-        if (fetchList.size() > 0) {
-            List<WorkEntity> refreshedWorks = workDao.getWorkEntities(orcid, fetchList);
-            for (WorkEntity mWorkRefreshedFromDB : refreshedWorks) {
-                WorkCacheKey key = new WorkCacheKey(mWorkRefreshedFromDB.getId(), releaseName);
-                    WorkEntity cachedWork =fullWorkEntityCache.get(key);                        
-                    int returnListIndex = fetchListIndexOrder.get(mWorkRefreshedFromDB.getId());
-                    if (cachedWork == null || cachedWork.getLastModified().getTime() < workIdsWithLastModified.get(mWorkRefreshedFromDB.getId()).getTime()) {
-                        fullWorkEntityCache.put(key, mWorkRefreshedFromDB);
-                        returnArray[returnListIndex] = mWorkRefreshedFromDB;
-                    } else {
-                        returnArray[returnListIndex] = cachedWork;
-                    }
-            }
-        }
-        return (List<WorkEntity>) Arrays.asList(returnArray);
+        return retrieveWorks(workIdsWithLastModified, fullWorkEntityCache, idList -> workDao.getWorkEntities(orcid, idList));
     }
 
     @Override
     public List<WorkEntity> retrieveFullWorks(String orcid, List<Long> workIds) {
         List<Long> worksToFetchFromDB = new ArrayList<Long>();
-        List<WorkEntity> works = new ArrayList<WorkEntity>();
+        List<WorkEntity> works = new ArrayList<WorkEntity>(workIds.size());
         
         List<WorkLastModifiedEntity> lastModifiedList = workDao.getWorkLastModifiedList(orcid, workIds);
         Map<Long, Long> lastModifiedMap = toIdsLastModifiedMap(lastModifiedList);
         
+        Map<Long, WorkCacheKey> keys = toCacheKeys(workIds);
+        Map<WorkCacheKey, WorkEntity> cachedWorks = fullWorkEntityCache.getAll(new HashSet<WorkCacheKey>(keys.values()));
         for(Long workId : workIds) {
-            WorkCacheKey key = new WorkCacheKey(workId, releaseName);
-            WorkEntity workEntity = fullWorkEntityCache.get(key);
+            WorkEntity workEntity = cachedWorks.get(keys.get(workId));
             if (workEntity == null || !lastModifiedMap.containsKey(workEntity.getId()) || workEntity.getLastModified().getTime() < lastModifiedMap.get(workEntity.getId())) {
                 worksToFetchFromDB.add(workId);
             } else {
@@ -269,16 +243,29 @@ public class WorkEntityCacheManagerImpl implements WorkEntityCacheManager {
         List<List<Long>> lists = ListUtils.partition(worksToFetchFromDB, batchSize);
         for(List<Long> idsList : lists) {
             List<WorkEntity> workList = workDao.getWorkEntities(orcid, idsList);
+            Map<WorkCacheKey, WorkEntity> refreshed = new HashMap<WorkCacheKey, WorkEntity>(capacityFor(workList.size()));
             for(WorkEntity work : workList) {
-                WorkCacheKey key = new WorkCacheKey(work.getId(), releaseName);
-                fullWorkEntityCache.put(key, work);
+                refreshed.put(keys.get(work.getId()), work);
                 works.add(work);
             }
+            fullWorkEntityCache.putAll(refreshed);
         }
         
         return works;
     }
     
+    private Map<Long, WorkCacheKey> toCacheKeys(Collection<Long> workIds) {
+        Map<Long, WorkCacheKey> keys = new HashMap<Long, WorkCacheKey>(capacityFor(workIds.size()));
+        for (Long workId : workIds) {
+            keys.put(workId, new WorkCacheKey(workId, releaseName));
+        }
+        return keys;
+    }
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
     private Map<Long, Long> toIdsLastModifiedMap(List<WorkLastModifiedEntity> entities) {
         Map<Long, Long> map = new HashMap<Long, Long>();
         for(WorkLastModifiedEntity entity : entities) {
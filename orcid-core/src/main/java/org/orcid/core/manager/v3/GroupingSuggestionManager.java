@@ -14,4 +14,19 @@ public interface GroupingSuggestionManager extends GroupingSuggestionManagerRead
 
     void markGroupingSuggestionAsAccepted(WorkGroupingSuggestion suggestion) throws MissingGroupableExternalIDException;
 
+    /**
+     * Generates the grouping suggestions of the given record in the
+     * background, once the current transaction, if any, commits. Requests for
+     * a record that is already waiting to be processed are merged into one.
+     */
+    void scheduleGroupingSuggestionsGeneration(String orcid);
+
+    /**
+     * Same as {@link #scheduleGroupingSuggestionsGeneration(String)}, but only
+     * if there are no grouping suggestions stored for the current last
+     * modified date of the works of the given record, so suggestions left out
+     * of date by any change to the works are generated again.
+     */
+    void scheduleGroupingSuggestionsGenerationIfMissing(String orcid);
+
 }
@@ -6,11 +6,19 @@ import org.orcid.pojo.grouping.WorkGroupingSuggestion;
 
 public interface GroupingSuggestionsCacheManager {
     
+    /**
+     * The last modified date of the works of the given record, the grouping
+     * suggestions stored for it are only returned while it doesn't change
+     */
+    long getWorksLastModified(String orcid);
+    
     List<WorkGroupingSuggestion> getGroupingSuggestions(String orcid, int max);
     
-    void putGroupingSuggestions(String orcid, List<WorkGroupingSuggestion> suggestions);
+    void putGroupingSuggestions(String orcid, long worksLastModified, List<WorkGroupingSuggestion> suggestions);
     
     int getGroupingSuggestionCount(String orcid);
+    
+    boolean containsGroupingSuggestions(String orcid);
 
     void removeGroupingSuggestion(WorkGroupingSuggestion suggestion);
 
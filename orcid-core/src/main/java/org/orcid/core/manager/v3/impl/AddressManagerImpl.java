@@ -25,6 +25,7 @@ import org.orcid.jaxb.model.v3.release.record.Address;
 import org.orcid.jaxb.model.v3.release.record.Addresses;
 import org.orcid.persistence.jpa.entities.AddressEntity;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 
 public class AddressManagerImpl extends AddressManagerReadOnlyImpl implements AddressManager {
@@ -60,7 +61,7 @@ public class AddressManagerImpl extends AddressManagerReadOnlyImpl implements Ad
         // Validate the address
         PersonValidator.validateAddress(address, activeSource, false, isApiRequest, originalVisibility);
         // Validate it is not duplicated
-        List<AddressEntity> existingAddresses = addressDao.getAddresses(orcid, getLastModified(orcid));
+        List<AddressEntity> existingAddresses = addressDao.getAddresses(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (AddressEntity existing : existingAddresses) {
             // If it is not the same element
             if (!existing.getId().equals(address.getPutCode())) {
@@ -88,7 +89,7 @@ public class AddressManagerImpl extends AddressManagerReadOnlyImpl implements Ad
         // Validate the address
         PersonValidator.validateAddress(address, activeSource, true, isApiRequest, null);
         // Validate it is not duplicated
-        List<AddressEntity> existingAddresses = addressDao.getAddresses(orcid, getLastModified(orcid));
+        List<AddressEntity> existingAddresses = addressDao.getAddresses(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (AddressEntity existing : existingAddresses) {
             if (isDuplicated(existing, address, activeSource)) {
                 Map<String, String> params = new HashMap<String, String>();
@@ -151,7 +152,7 @@ public class AddressManagerImpl extends AddressManagerReadOnlyImpl implements Ad
 
     @Override
     public Addresses updateAddresses(String orcid, Addresses addresses) {
-        List<AddressEntity> existingAddressList = addressDao.getAddresses(orcid, getLastModified(orcid));
+        List<AddressEntity> existingAddressList = addressDao.getAddresses(orcid, getLastModified(orcid, RecordSection.PERSON));
         // Delete the deleted ones
         for (AddressEntity existingAddress : existingAddressList) {
             boolean deleteMe = true;
@@ -25,6 +25,7 @@ import org.orcid.jaxb.model.v3.release.record.PersonExternalIdentifier;
 import org.orcid.jaxb.model.v3.release.record.PersonExternalIdentifiers;
 import org.orcid.persistence.jpa.entities.ExternalIdentifierEntity;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -54,7 +55,7 @@ public class ExternalIdentifierManagerImpl extends ExternalIdentifierManagerRead
         // Validate external identifier
         PersonValidator.validateExternalIdentifier(externalIdentifier, activeSource, true, isApiRequest, null, requireRelationshipOnExternalIdentifier);
         // Validate it is not duplicated
-        List<ExternalIdentifierEntity> existingExternalIdentifiers = externalIdentifierDao.getExternalIdentifiers(orcid, getLastModified(orcid));
+        List<ExternalIdentifierEntity> existingExternalIdentifiers = externalIdentifierDao.getExternalIdentifiers(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (ExternalIdentifierEntity existing : existingExternalIdentifiers) {
             if (isDuplicated(existing, externalIdentifier, activeSource)) {
                 Map<String, String> params = new HashMap<String, String>();
@@ -88,7 +89,7 @@ public class ExternalIdentifierManagerImpl extends ExternalIdentifierManagerRead
         // Validate external identifier
         PersonValidator.validateExternalIdentifier(externalIdentifier, activeSource, false, isApiRequest, originalVisibility, requireRelationshipOnExternalIdentifier);
         // Validate it is not duplicated
-        List<ExternalIdentifierEntity> existingExternalIdentifiers = externalIdentifierDao.getExternalIdentifiers(orcid, getLastModified(orcid));
+        List<ExternalIdentifierEntity> existingExternalIdentifiers = externalIdentifierDao.getExternalIdentifiers(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (ExternalIdentifierEntity existing : existingExternalIdentifiers) {
             if (isDuplicated(existing, externalIdentifier, activeSource)) {
                 Map<String, String> params = new HashMap<String, String>();
@@ -156,7 +157,7 @@ public class ExternalIdentifierManagerImpl extends ExternalIdentifierManagerRead
 
     @Override
     public PersonExternalIdentifiers updateExternalIdentifiers(String orcid, PersonExternalIdentifiers externalIdentifiers) {
-        List<ExternalIdentifierEntity> existingExternalIdentifiersList = externalIdentifierDao.getExternalIdentifiers(orcid, getLastModified(orcid));
+        List<ExternalIdentifierEntity> existingExternalIdentifiersList = externalIdentifierDao.getExternalIdentifiers(orcid, getLastModified(orcid, RecordSection.PERSON));
         // Delete the deleted ones
         for (ExternalIdentifierEntity existing : existingExternalIdentifiersList) {
             boolean deleteMe = true;
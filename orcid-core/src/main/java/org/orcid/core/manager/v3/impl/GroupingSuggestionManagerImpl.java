@@ -1,6 +1,10 @@
 package org.orcid.core.manager.v3.impl;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import javax.annotation.Resource;
@@ -9,17 +13,36 @@ import org.orcid.core.exception.MissingGroupableExternalIDException;
 import org.orcid.core.manager.v3.GroupingSuggestionManager;
 import org.orcid.core.manager.v3.WorkManager;
 import org.orcid.core.manager.v3.read_only.impl.GroupingSuggestionManagerReadOnlyImpl;
+import org.orcid.core.togglz.Features;
+import org.orcid.core.utils.v3.activities.WorkGroupAndGroupingSuggestionGenerator;
+import org.orcid.jaxb.model.v3.release.record.summary.WorkSummary;
 import org.orcid.persistence.dao.RejectedGroupingSuggestionDao;
 import org.orcid.persistence.jpa.entities.RejectedGroupingSuggestionEntity;
 import org.orcid.pojo.grouping.WorkGroupingSuggestion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public class GroupingSuggestionManagerImpl extends GroupingSuggestionManagerReadOnlyImpl implements GroupingSuggestionManager {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupingSuggestionManagerImpl.class);
+
     @Resource
     private RejectedGroupingSuggestionDao rejectedGroupingSuggestionDao;
     
     @Resource(name = "workManagerV3")
     private WorkManager workManager;
+    
+    @Resource(name = "groupingSuggestionsTaskExecutor")
+    private Executor groupingSuggestionsExecutor;
+    
+    /**
+     * Records with a generation scheduled or running. The value is true while
+     * the record is waiting to be processed, and false once its generation
+     * started, so changes made in the meantime get it processed again
+     */
+    private final ConcurrentMap<String, Boolean> scheduledOrcids = new ConcurrentHashMap<>();
 
     @Override
     public void markGroupingSuggestionAsRejected(WorkGroupingSuggestion suggestion) {
@@ -37,16 +60,81 @@ public class GroupingSuggestionManagerImpl extends GroupingSuggestionManagerRead
 
     @Override
     public void cacheGroupingSuggestions(String orcid, List<WorkGroupingSuggestion> suggestions) {
+        cacheGroupingSuggestions(orcid, groupingSuggestionsCacheManager.getWorksLastModified(orcid), suggestions);
+    }
+    
+    private void cacheGroupingSuggestions(String orcid, long worksLastModified, List<WorkGroupingSuggestion> suggestions) {
         suggestions = suggestions.stream().filter(s -> {
             RejectedGroupingSuggestionEntity rejection = rejectedGroupingSuggestionDao.findGroupingSuggestionIdAndOrcid(s.getOrcid(), s.getPutCodesAsString());
             return rejection == null;
         }).collect(Collectors.toList());
-        groupingSuggestionsCacheManager.putGroupingSuggestions(orcid, suggestions);
+        groupingSuggestionsCacheManager.putGroupingSuggestions(orcid, worksLastModified, suggestions);
+    }
+    
+    @Override
+    public void scheduleGroupingSuggestionsGeneration(String orcid) {
+        if (!Features.GROUPING_SUGGESTIONS.isActive()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submitGroupingSuggestionsGeneration(orcid);
+            return;
+        }
+        // Works changed in the current transaction are not visible to the
+        // worker threads until it commits
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                submitGroupingSuggestionsGeneration(orcid);
+            }
+        });
+    }
+    
+    @Override
+    public void scheduleGroupingSuggestionsGenerationIfMissing(String orcid) {
+        if (Features.GROUPING_SUGGESTIONS.isActive() && !groupingSuggestionsCacheManager.containsGroupingSuggestions(orcid)) {
+            scheduleGroupingSuggestionsGeneration(orcid);
+        }
+    }
+    
+    private void submitGroupingSuggestionsGeneration(String orcid) {
+        if (scheduledOrcids.put(orcid, Boolean.TRUE) != null) {
+            // Already waiting, or running and now flagged to run again
+            return;
+        }
+        try {
+            groupingSuggestionsExecutor.execute(() -> generateGroupingSuggestions(orcid));
+        } catch (RejectedExecutionException e) {
+            scheduledOrcids.remove(orcid);
+            LOGGER.warn("Unable to schedule the grouping suggestions generation for {}", orcid);
+        }
+    }
+    
+    private void generateGroupingSuggestions(String orcid) {
+        do {
+            scheduledOrcids.put(orcid, Boolean.FALSE);
+            try {
+                // Read before the works, so changes made while they are
+                // grouped leave the suggestions out of date
+                long worksLastModified = groupingSuggestionsCacheManager.getWorksLastModified(orcid);
+                WorkGroupAndGroupingSuggestionGenerator groupGenerator = new WorkGroupAndGroupingSuggestionGenerator();
+                for (WorkSummary work : workManager.getWorksSummaryList(orcid)) {
+                    groupGenerator.group(work);
+                }
+                cacheGroupingSuggestions(orcid, worksLastModified, groupGenerator.getGroupingSuggestions(orcid));
+            } catch (Exception e) {
+                LOGGER.error("Unable to generate grouping suggestions for " + orcid, e);
+            }
+        } while (!scheduledOrcids.remove(orcid, Boolean.FALSE));
     }
     
     public void setRejectedGroupingSuggestionDao(RejectedGroupingSuggestionDao rejectedGroupingSuggestionDao) {
         this.rejectedGroupingSuggestionDao = rejectedGroupingSuggestionDao;
     }
+    
+    public void setGroupingSuggestionsExecutor(Executor groupingSuggestionsExecutor) {
+        this.groupingSuggestionsExecutor = groupingSuggestionsExecutor;
+    }
 
     @Override
     public void markGroupingSuggestionAsAccepted(WorkGroupingSuggestion suggestion) throws MissingGroupableExternalIDException {
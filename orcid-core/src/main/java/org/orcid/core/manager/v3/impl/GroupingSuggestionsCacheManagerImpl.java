@@ -1,23 +1,45 @@
 package org.orcid.core.manager.v3.impl;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.annotation.Resource;
 
 import org.ehcache.Cache;
+import org.orcid.core.manager.impl.ProfileCacheKey;
 import org.orcid.core.manager.v3.GroupingSuggestionsCacheManager;
+import org.orcid.persistence.aop.ProfileLastModifiedAspect;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.pojo.grouping.WorkGroupingSuggestion;
+import org.orcid.utils.ReleaseNameUtils;
 
+/**
+ * Grouping suggestions are stored under the last modified date of the works
+ * of the record they were generated from, so once the works change, through
+ * any write path and on any node, the stored suggestions are no longer found
+ * and get generated again
+ */
 public class GroupingSuggestionsCacheManagerImpl implements GroupingSuggestionsCacheManager {
 
     @Resource(name = "groupingSuggestionsCache")
-    private Cache<String, List<WorkGroupingSuggestion>> cache;
+    private Cache<ProfileCacheKey, List<WorkGroupingSuggestion>> cache;
+
+    @Resource(name = "profileLastModifiedAspect")
+    private ProfileLastModifiedAspect profileLastModifiedAspect;
+
+    private String releaseName = ReleaseNameUtils.getReleaseName();
+
+    @Override
+    public long getWorksLastModified(String orcid) {
+        Date worksLastModified = profileLastModifiedAspect.retrieveLastModifiedDate(orcid, RecordSection.WORKS);
+        return worksLastModified == null ? 0 : worksLastModified.getTime();
+    }
 
     @Override
     public List<WorkGroupingSuggestion> getGroupingSuggestions(String orcid, int max) {
-        List<WorkGroupingSuggestion> suggestions = cache.get(orcid);
+        List<WorkGroupingSuggestion> suggestions = cache.get(getKey(orcid));
         if (suggestions == null) {
             // could be null if never generated (feature switched on before caches refreshed)
             return new ArrayList<>();
@@ -26,20 +48,34 @@ public class GroupingSuggestionsCacheManagerImpl implements GroupingSuggestionsC
     }
 
     @Override
-    public void putGroupingSuggestions(String orcid, List<WorkGroupingSuggestion> suggestions) {
-        cache.put(orcid, suggestions);
+    public void putGroupingSuggestions(String orcid, long worksLastModified, List<WorkGroupingSuggestion> suggestions) {
+        cache.put(new ProfileCacheKey(orcid, worksLastModified, releaseName), suggestions);
     }
 
     @Override
     public int getGroupingSuggestionCount(String orcid) {
-        return cache.get(orcid) != null ? cache.get(orcid).size() : 0;
+        List<WorkGroupingSuggestion> suggestions = cache.get(getKey(orcid));
+        return suggestions != null ? suggestions.size() : 0;
+    }
+    
+    @Override
+    public boolean containsGroupingSuggestions(String orcid) {
+        return cache.containsKey(getKey(orcid));
     }
     
     @Override
     public void removeGroupingSuggestion(WorkGroupingSuggestion suggestion) {
-        List<WorkGroupingSuggestion> suggestions = cache.get(suggestion.getOrcid());
+        ProfileCacheKey key = getKey(suggestion.getOrcid());
+        List<WorkGroupingSuggestion> suggestions = cache.get(key);
+        if (suggestions == null) {
+            return;
+        }
         List<WorkGroupingSuggestion> filtered = suggestions.stream().filter(s -> s.getPutCodesAsString().equals(suggestion.getPutCodesAsString())).collect(Collectors.toList());
-        cache.put(suggestion.getOrcid(), filtered);
+        cache.put(key, filtered);
+    }
+
+    private ProfileCacheKey getKey(String orcid) {
+        return new ProfileCacheKey(orcid, getWorksLastModified(orcid), releaseName);
     }
 
 }
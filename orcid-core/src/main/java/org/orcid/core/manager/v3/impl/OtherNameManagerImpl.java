@@ -24,6 +24,7 @@ import org.orcid.jaxb.model.v3.release.record.OtherName;
 import org.orcid.jaxb.model.v3.release.record.OtherNames;
 import org.orcid.persistence.jpa.entities.OtherNameEntity;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -65,7 +66,7 @@ public class OtherNameManagerImpl extends OtherNameManagerReadOnlyImpl implement
         // Validate the otherName
         PersonValidator.validateOtherName(otherName, activeSource, true, isApiRequest, null);
         // Validate it is not duplicated
-        List<OtherNameEntity> existingOtherNames = otherNameDao.getOtherNames(orcid, getLastModified(orcid));
+        List<OtherNameEntity> existingOtherNames = otherNameDao.getOtherNames(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (OtherNameEntity existing : existingOtherNames) {
             if (isDuplicated(existing, otherName, activeSource)) {
                 Map<String, String> params = new HashMap<String, String>();
@@ -99,7 +100,7 @@ public class OtherNameManagerImpl extends OtherNameManagerReadOnlyImpl implement
         PersonValidator.validateOtherName(otherName, activeSource, false, isApiRequest, originalVisibility);
 
         // Validate it is not duplicated
-        List<OtherNameEntity> existingOtherNames = otherNameDao.getOtherNames(orcid, getLastModified(orcid));
+        List<OtherNameEntity> existingOtherNames = otherNameDao.getOtherNames(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (OtherNameEntity existing : existingOtherNames) {
             if (isDuplicated(existing, otherName, activeSource)) {
                 Map<String, String> params = new HashMap<String, String>();
@@ -121,7 +122,7 @@ public class OtherNameManagerImpl extends OtherNameManagerReadOnlyImpl implement
     @Override
     @Transactional
     public OtherNames updateOtherNames(String orcid, OtherNames otherNames) {
-        List<OtherNameEntity> existingOtherNamesEntityList = otherNameDao.getOtherNames(orcid, getLastModified(orcid));
+        List<OtherNameEntity> existingOtherNamesEntityList = otherNameDao.getOtherNames(orcid, getLastModified(orcid, RecordSection.PERSON));
         // Delete the deleted ones
         for (OtherNameEntity existingOtherName : existingOtherNamesEntityList) {
             boolean deleteMe = true;
@@ -32,6 +32,7 @@ import org.orcid.persistence.dao.FundingSubTypeToIndexDao;
 import org.orcid.persistence.jpa.entities.OrgEntity;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
 import org.orcid.persistence.jpa.entities.ProfileFundingEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.utils.solr.entities.OrgDefinedFundingTypeSolrDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -201,7 +202,7 @@ public class ProfileFundingManagerImpl extends ProfileFundingManagerReadOnlyImpl
         activityValidator.validateFunding(funding, activeSource, true, isApiRequest, null);
 
         // Check for duplicates
-        List<ProfileFundingEntity> existingFundings = profileFundingDao.getByUser(orcid, getLastModified(orcid));
+        List<ProfileFundingEntity> existingFundings = profileFundingDao.getByUser(orcid, getLastModified(orcid, RecordSection.FUNDINGS));
         List<Funding> fundings = jpaJaxbFundingAdapter.toFunding(existingFundings);
         if (fundings != null && isApiRequest) {
             for (Funding exstingFunding : fundings) {
@@ -262,7 +263,7 @@ public class ProfileFundingManagerImpl extends ProfileFundingManagerReadOnlyImpl
 
         activityValidator.validateFunding(funding, activeSOurce, false, isApiRequest, originalVisibility);
         if (!isApiRequest) {
-            List<ProfileFundingEntity> existingFundings = profileFundingDao.getByUser(orcid, getLastModified(orcid));
+            List<ProfileFundingEntity> existingFundings = profileFundingDao.getByUser(orcid, getLastModified(orcid, RecordSection.FUNDINGS));
             for (ProfileFundingEntity existingFunding : existingFundings) {
                 Funding existing = jpaJaxbFundingAdapter.toFunding(existingFunding);
                 if (!existing.getPutCode().equals(funding.getPutCode())) {
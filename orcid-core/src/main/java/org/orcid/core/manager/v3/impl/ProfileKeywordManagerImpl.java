@@ -24,6 +24,7 @@ import org.orcid.jaxb.model.v3.release.record.Keyword;
 import org.orcid.jaxb.model.v3.release.record.Keywords;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
 import org.orcid.persistence.jpa.entities.ProfileKeywordEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 
 public class ProfileKeywordManagerImpl extends ProfileKeywordManagerReadOnlyImpl implements ProfileKeywordManager {
@@ -62,7 +63,7 @@ public class ProfileKeywordManagerImpl extends ProfileKeywordManagerReadOnlyImpl
         // Validate the keyword
         PersonValidator.validateKeyword(keyword, activeSource, true, isApiRequest, null);
         // Validate it is not duplicated
-        List<ProfileKeywordEntity> existingKeywords = profileKeywordDao.getProfileKeywords(orcid, getLastModified(orcid));
+        List<ProfileKeywordEntity> existingKeywords = profileKeywordDao.getProfileKeywords(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (ProfileKeywordEntity existing : existingKeywords) {
             if (isDuplicated(existing, keyword, activeSource)) {
                 Map<String, String> params = new HashMap<String, String>();
@@ -98,7 +99,7 @@ public class ProfileKeywordManagerImpl extends ProfileKeywordManagerReadOnlyImpl
         // Validate the keyword
         PersonValidator.validateKeyword(keyword, activeSource, false, isApiRequest, originalVisibility);
         // Validate it is not duplicated
-        List<ProfileKeywordEntity> existingKeywords = profileKeywordDao.getProfileKeywords(orcid, getLastModified(orcid));
+        List<ProfileKeywordEntity> existingKeywords = profileKeywordDao.getProfileKeywords(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (ProfileKeywordEntity existing : existingKeywords) {
             if (isDuplicated(existing, keyword, activeSource)) {
                 Map<String, String> params = new HashMap<String, String>();
@@ -122,7 +123,7 @@ public class ProfileKeywordManagerImpl extends ProfileKeywordManagerReadOnlyImpl
     @Override
     @Transactional
     public Keywords updateKeywords(String orcid, Keywords keywords) {
-        List<ProfileKeywordEntity> existingKeywordsList = profileKeywordDao.getProfileKeywords(orcid, getLastModified(orcid));
+        List<ProfileKeywordEntity> existingKeywordsList = profileKeywordDao.getProfileKeywords(orcid, getLastModified(orcid, RecordSection.PERSON));
         // Delete the deleted ones
         for (ProfileKeywordEntity existing : existingKeywordsList) {
             boolean deleteMe = true;
@@ -29,6 +29,7 @@ import org.orcid.jaxb.model.v3.release.record.ResearchResource;
 import org.orcid.persistence.dao.ResearchResourceDao;
 import org.orcid.persistence.jpa.entities.OrgEntity;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.persistence.jpa.entities.ResearchResourceEntity;
 
 public class ResearchResourceManagerImpl extends ResearchResourceManagerReadOnlyImpl implements ResearchResourceManager {
@@ -67,7 +68,7 @@ public class ResearchResourceManagerImpl extends ResearchResourceManagerReadOnly
         activityValidator.validateResearchResource(rr, activeSource, true, isApiRequest, null);
 
         // Check for duplicates
-        List<ResearchResourceEntity> existingRr = rrDao.getByUser(orcid, getLastModified(orcid));
+        List<ResearchResourceEntity> existingRr = rrDao.getByUser(orcid, getLastModified(orcid, RecordSection.RESEARCH_RESOURCES));
         List<ResearchResource> rrs = jpaJaxbResearchResourceAdapter.toModels(existingRr);
         if (rrs != null && isApiRequest) {
             for (ResearchResource exstingR : rrs) {
@@ -113,7 +114,7 @@ public class ResearchResourceManagerImpl extends ResearchResourceManagerReadOnly
 
         activityValidator.validateResearchResource(rr, activeSource, false, isApiRequest, originalVisibility);
         if (!isApiRequest) {
-            List<ResearchResourceEntity> existingFundings = rrDao.getByUser(orcid, getLastModified(orcid));
+            List<ResearchResourceEntity> existingFundings = rrDao.getByUser(orcid, getLastModified(orcid, RecordSection.RESEARCH_RESOURCES));
             for (ResearchResourceEntity existingFunding : existingFundings) {
                 ResearchResource existing = jpaJaxbResearchResourceAdapter.toModel(existingFunding);
                 if (!existing.getPutCode().equals(rr.getPutCode())) {
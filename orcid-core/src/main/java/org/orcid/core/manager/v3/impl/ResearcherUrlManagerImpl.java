@@ -23,6 +23,7 @@ import org.orcid.jaxb.model.v3.release.common.Visibility;
 import org.orcid.jaxb.model.v3.release.record.ResearcherUrl;
 import org.orcid.jaxb.model.v3.release.record.ResearcherUrls;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.persistence.jpa.entities.ResearcherUrlEntity;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 import org.slf4j.Logger;
@@ -71,7 +72,7 @@ public class ResearcherUrlManagerImpl extends ResearcherUrlManagerReadOnlyImpl i
     @Override
     @Transactional
     public ResearcherUrls updateResearcherUrls(String orcid, ResearcherUrls researcherUrls) {
-        List<ResearcherUrlEntity> existingEntities = researcherUrlDao.getResearcherUrls(orcid, getLastModified(orcid));
+        List<ResearcherUrlEntity> existingEntities = researcherUrlDao.getResearcherUrls(orcid, getLastModified(orcid, RecordSection.PERSON));
         // Delete the deleted ones
         for (ResearcherUrlEntity existingEntity : existingEntities) {
             boolean deleteMe = true;
@@ -139,7 +140,7 @@ public class ResearcherUrlManagerImpl extends ResearcherUrlManagerReadOnlyImpl i
         // Validate the researcher url
         PersonValidator.validateResearcherUrl(researcherUrl, activeSource, false, isApiRequest, originalVisibility);
         // Validate it is not duplicated
-        List<ResearcherUrlEntity> existingResearcherUrls = researcherUrlDao.getResearcherUrls(orcid, getLastModified(orcid));
+        List<ResearcherUrlEntity> existingResearcherUrls = researcherUrlDao.getResearcherUrls(orcid, getLastModified(orcid, RecordSection.PERSON));
 
         for (ResearcherUrlEntity existing : existingResearcherUrls) {
             if (isDuplicated(existing, researcherUrl, activeSource)) {
@@ -166,7 +167,7 @@ public class ResearcherUrlManagerImpl extends ResearcherUrlManagerReadOnlyImpl i
         // Validate the researcher url
         PersonValidator.validateResearcherUrl(researcherUrl, activeSource, true, isApiRequest, null);
         // Validate it is not duplicated
-        List<ResearcherUrlEntity> existingResearcherUrls = researcherUrlDao.getResearcherUrls(orcid, getLastModified(orcid));
+        List<ResearcherUrlEntity> existingResearcherUrls = researcherUrlDao.getResearcherUrls(orcid, getLastModified(orcid, RecordSection.PERSON));
         for (ResearcherUrlEntity existing : existingResearcherUrls) {
             if (isDuplicated(existing, researcherUrl, activeSource)) {
                 Map<String, String> params = new HashMap<String, String>();
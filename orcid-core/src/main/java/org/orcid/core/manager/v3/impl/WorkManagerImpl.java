@@ -46,6 +46,7 @@ import org.orcid.jaxb.model.v3.release.record.Work;
 import org.orcid.jaxb.model.v3.release.record.WorkBulk;
 import org.orcid.persistence.jpa.entities.MinimizedWorkEntity;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.persistence.jpa.entities.WorkEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -124,12 +125,15 @@ public class WorkManagerImpl extends WorkManagerReadOnlyImpl implements WorkMana
      * @return true if the work was deleted
      * */
     public boolean removeWorks(String clientOrcid, List<Long> workIds) {
-        return workDao.removeWorks(clientOrcid, workIds);
+        boolean result = workDao.removeWorks(clientOrcid, workIds);
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration(clientOrcid);
+        return result;
     }
 
     @Override
     public void removeAllWorks(String orcid) {
         workDao.removeWorks(orcid);
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration(orcid);
     }
     
     /**
@@ -183,6 +187,7 @@ public class WorkManagerImpl extends WorkManagerReadOnlyImpl implements WorkMana
         DisplayIndexCalculatorHelper.setDisplayIndexOnNewEntity(workEntity, isApiRequest);        
         workDao.persist(workEntity);
         workDao.flush();
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration(orcid);
         notificationManager.sendAmendEmail(orcid, AmendedSection.WORK, createItemList(workEntity, work.getExternalIdentifiers(), ActionType.CREATE));
         return jpaJaxbWorkAdapter.toWork(workEntity);
     }
@@ -274,6 +279,7 @@ public class WorkManagerImpl extends WorkManagerReadOnlyImpl implements WorkMana
             workDao.flush();   
             
             if(!items.isEmpty()) {
+                groupingSuggestionManager.scheduleGroupingSuggestionsGeneration(orcid);
                 notificationManager.sendAmendEmail(orcid, AmendedSection.WORK, items);
             }
         }
@@ -360,6 +366,7 @@ public class WorkManagerImpl extends WorkManagerReadOnlyImpl implements WorkMana
         
         workDao.merge(workEntity);
         workDao.flush();
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration(orcid);
         notificationManager.sendAmendEmail(orcid, AmendedSection.WORK, createItemList(workEntity, work.getExternalIdentifiers(), ActionType.UPDATE));
         return jpaJaxbWorkAdapter.toWork(workEntity);
     }
@@ -372,6 +379,7 @@ public class WorkManagerImpl extends WorkManagerReadOnlyImpl implements WorkMana
         try {
             workDao.removeWork(orcid, workId);
             workDao.flush();
+            groupingSuggestionManager.scheduleGroupingSuggestionsGeneration(orcid);
             notificationManager.sendAmendEmail(orcid, AmendedSection.WORK, createItemList(workEntity, null, ActionType.DELETE));
         } catch (Exception e) {
             LOGGER.error("Unable to delete work with ID: " + workId);
@@ -418,7 +426,7 @@ public class WorkManagerImpl extends WorkManagerReadOnlyImpl implements WorkMana
     
     @Override
     public void createNewWorkGroup(List<Long> workIds, String orcid) throws MissingGroupableExternalIDException {
-        List<MinimizedWorkEntity> works = workEntityCacheManager.retrieveMinimizedWorks(orcid, workIds, getLastModified(orcid));
+        List<MinimizedWorkEntity> works = workEntityCacheManager.retrieveMinimizedWorks(orcid, workIds, getLastModified(orcid, RecordSection.WORKS));
         JSONWorkExternalIdentifiersConverterV3 externalIdConverter = new JSONWorkExternalIdentifiersConverterV3(norm, localeManager);
         ExternalIDs allExternalIDs = new ExternalIDs();
         List<MinimizedWorkEntity> userVersions = new ArrayList<>();
@@ -463,6 +471,7 @@ public class WorkManagerImpl extends WorkManagerReadOnlyImpl implements WorkMana
             allPreferredMetadata.setExternalIdentifiersJson(externalIDsJson);
             workDao.persist(allPreferredMetadata);
         }
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration(orcid);
     }
     
     private WorkEntity createCopyOfUserPreferredWork(MinimizedWorkEntity preferred) {
@@ -3,6 +3,7 @@ package org.orcid.core.manager.v3.read_only;
 import java.util.Date;
 
 import org.orcid.persistence.aop.ProfileLastModifiedAspect;
+import org.orcid.persistence.jpa.entities.RecordSection;
 
 public interface ManagerReadOnlyBase {
     void setProfileLastModifiedAspect(ProfileLastModifiedAspect profileLastModifiedAspect);
@@ -10,4 +11,8 @@ public interface ManagerReadOnlyBase {
     long getLastModified(String orcid);
     
     Date getLastModifiedDate(String orcid);
+
+    long getLastModified(String orcid, RecordSection section);
+
+    Date getLastModifiedDate(String orcid, RecordSection section);
 }
@@ -1,9 +1,12 @@
 package org.orcid.core.manager.v3.read_only.impl;
 
-import java.util.ArrayList;
+import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 
+import org.ehcache.Cache;
+import org.orcid.core.manager.impl.ActivitySectionCacheKey;
 import org.orcid.core.manager.v3.read_only.ActivitiesSummaryManagerReadOnly;
 import org.orcid.core.manager.v3.read_only.AffiliationsManagerReadOnly;
 import org.orcid.core.manager.v3.read_only.PeerReviewManagerReadOnly;
@@ -12,7 +15,6 @@ import org.orcid.core.manager.v3.read_only.ResearchResourceManagerReadOnly;
 import org.orcid.core.manager.v3.read_only.WorkManagerReadOnly;
 import org.orcid.jaxb.model.common.Relationship;
 import org.orcid.jaxb.model.v3.release.record.ExternalID;
-import org.orcid.jaxb.model.v3.release.record.GroupAble;
 import org.orcid.jaxb.model.v3.release.record.summary.ActivitiesSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.DistinctionSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.Distinctions;
@@ -21,23 +23,42 @@ import org.orcid.jaxb.model.v3.release.record.summary.Educations;
 import org.orcid.jaxb.model.v3.release.record.summary.EmploymentSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.Employments;
 import org.orcid.jaxb.model.v3.release.record.summary.FundingSummary;
-import org.orcid.jaxb.model.v3.release.record.summary.Fundings;
 import org.orcid.jaxb.model.v3.release.record.summary.InvitedPositionSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.InvitedPositions;
 import org.orcid.jaxb.model.v3.release.record.summary.MembershipSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.Memberships;
 import org.orcid.jaxb.model.v3.release.record.summary.PeerReviewSummary;
-import org.orcid.jaxb.model.v3.release.record.summary.PeerReviews;
 import org.orcid.jaxb.model.v3.release.record.summary.QualificationSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.Qualifications;
 import org.orcid.jaxb.model.v3.release.record.summary.ResearchResourceSummary;
-import org.orcid.jaxb.model.v3.release.record.summary.ResearchResources;
 import org.orcid.jaxb.model.v3.release.record.summary.ServiceSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.Services;
 import org.orcid.jaxb.model.v3.release.record.summary.WorkSummary;
-import org.orcid.jaxb.model.v3.release.record.summary.Works;
+import org.orcid.persistence.jpa.entities.RecordSection;
+import org.orcid.utils.ReleaseNameUtils;
 
 public class ActivitiesSummaryManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements ActivitiesSummaryManagerReadOnly {    
+    
+    private enum Section {
+        DISTINCTIONS(RecordSection.AFFILIATIONS),
+        EDUCATIONS(RecordSection.AFFILIATIONS),
+        EMPLOYMENTS(RecordSection.AFFILIATIONS),
+        INVITED_POSITIONS(RecordSection.AFFILIATIONS),
+        MEMBERSHIPS(RecordSection.AFFILIATIONS),
+        QUALIFICATIONS(RecordSection.AFFILIATIONS),
+        SERVICES(RecordSection.AFFILIATIONS),
+        FUNDINGS(RecordSection.FUNDINGS),
+        PEER_REVIEWS(RecordSection.PEER_REVIEWS),
+        WORKS(RecordSection.WORKS),
+        RESEARCH_RESOURCES(RecordSection.RESEARCH_RESOURCES);
+
+        private final RecordSection recordSection;
+
+        private Section(RecordSection recordSection) {
+            this.recordSection = recordSection;
+        }
+    }
+    
     private AffiliationsManagerReadOnly affiliationsManager;
     
     private ProfileFundingManagerReadOnly fundingManager;
@@ -47,6 +68,10 @@ public class ActivitiesSummaryManagerReadOnlyImpl extends ManagerReadOnlyBaseImp
     private WorkManagerReadOnly workManager;
     
     private ResearchResourceManagerReadOnly researchResourceManager;
+    
+    private Cache<ActivitySectionCacheKey, Serializable> activitySectionsCache;
+    
+    private String releaseName = ReleaseNameUtils.getReleaseName();
 
     public void setAffiliationsManager(AffiliationsManagerReadOnly affiliationsManager) {
         this.affiliationsManager = affiliationsManager;
@@ -67,6 +92,10 @@ public class ActivitiesSummaryManagerReadOnlyImpl extends ManagerReadOnlyBaseImp
     public void setResearchResourceManager(ResearchResourceManagerReadOnly researchResourceManager) {
         this.researchResourceManager = researchResourceManager;
     }  
+    
+    public void setActivitySectionsCache(Cache<ActivitySectionCacheKey, Serializable> activitySectionsCache) {
+        this.activitySectionsCache = activitySectionsCache;
+    }
 
     @Override
     public ActivitiesSummary getActivitiesSummary(String orcid, boolean filterVersionOfIdentifiers) {
@@ -82,89 +111,125 @@ public class ActivitiesSummaryManagerReadOnlyImpl extends ManagerReadOnlyBaseImp
         ActivitiesSummary activities = new ActivitiesSummary();
 
         // Set distinctions
-        List<DistinctionSummary> distinctionsList = affiliationsManager.getDistinctionSummaryList(orcid);
-        Distinctions distinctions =  new Distinctions(affiliationsManager.groupAffiliations(distinctionsList, justPublic));
-        activities.setDistinctions(distinctions);
+        activities.setDistinctions(getSection(orcid, Section.DISTINCTIONS, justPublic, false, () -> {
+            List<DistinctionSummary> distinctionsList = affiliationsManager.getDistinctionSummaryList(orcid);
+            return new Distinctions(affiliationsManager.groupAffiliations(distinctionsList, justPublic));
+        }));
         
         // Set educations
-        List<EducationSummary> educationsList = affiliationsManager.getEducationSummaryList(orcid);
-        Educations educations = new Educations(affiliationsManager.groupAffiliations(educationsList, justPublic));
-        activities.setEducations(educations);
+        activities.setEducations(getSection(orcid, Section.EDUCATIONS, justPublic, false, () -> {
+            List<EducationSummary> educationsList = affiliationsManager.getEducationSummaryList(orcid);
+            return new Educations(affiliationsManager.groupAffiliations(educationsList, justPublic));
+        }));
 
         // Set employments
-        List<EmploymentSummary> employmentList = affiliationsManager.getEmploymentSummaryList(orcid);
-        Employments employments = new Employments(affiliationsManager.groupAffiliations(employmentList, justPublic));
-        activities.setEmployments(employments);
+        activities.setEmployments(getSection(orcid, Section.EMPLOYMENTS, justPublic, false, () -> {
+            List<EmploymentSummary> employmentList = affiliationsManager.getEmploymentSummaryList(orcid);
+            return new Employments(affiliationsManager.groupAffiliations(employmentList, justPublic));
+        }));
 
         // Set invited positions
-        List<InvitedPositionSummary> invitedPositionsList = affiliationsManager.getInvitedPositionSummaryList(orcid);
-        InvitedPositions invitedPositions = new InvitedPositions(affiliationsManager.groupAffiliations(invitedPositionsList, justPublic));
-        activities.setInvitedPositions(invitedPositions);
+        activities.setInvitedPositions(getSection(orcid, Section.INVITED_POSITIONS, justPublic, false, () -> {
+            List<InvitedPositionSummary> invitedPositionsList = affiliationsManager.getInvitedPositionSummaryList(orcid);
+            return new InvitedPositions(affiliationsManager.groupAffiliations(invitedPositionsList, justPublic));
+        }));
         
         // Set memberships
-        List<MembershipSummary> membershipsList = affiliationsManager.getMembershipSummaryList(orcid);
-        Memberships memberships = new Memberships(affiliationsManager.groupAffiliations(membershipsList, justPublic));
-        activities.setMemberships(memberships);
+        activities.setMemberships(getSection(orcid, Section.MEMBERSHIPS, justPublic, false, () -> {
+            List<MembershipSummary> membershipsList = affiliationsManager.getMembershipSummaryList(orcid);
+            return new Memberships(affiliationsManager.groupAffiliations(membershipsList, justPublic));
+        }));
         
         // Set qualifications
-        List<QualificationSummary> qualificationsList = affiliationsManager.getQualificationSummaryList(orcid);
-        Qualifications qualifications = new Qualifications(affiliationsManager.groupAffiliations(qualificationsList, justPublic));
-        activities.setQualifications(qualifications);
+        activities.setQualifications(getSection(orcid, Section.QUALIFICATIONS, justPublic, false, () -> {
+            List<QualificationSummary> qualificationsList = affiliationsManager.getQualificationSummaryList(orcid);
+            return new Qualifications(affiliationsManager.groupAffiliations(qualificationsList, justPublic));
+        }));
         
         // Set services
-        List<ServiceSummary> servicesList = affiliationsManager.getServiceSummaryList(orcid);
-        Services services = new Services(affiliationsManager.groupAffiliations(servicesList, justPublic));
-        activities.setServices(services);
+        activities.setServices(getSection(orcid, Section.SERVICES, justPublic, false, () -> {
+            List<ServiceSummary> servicesList = affiliationsManager.getServiceSummaryList(orcid);
+            return new Services(affiliationsManager.groupAffiliations(servicesList, justPublic));
+        }));
         
         // Set fundings
-        List<FundingSummary> fundingSummaries = fundingManager.getFundingSummaryList(orcid);
-        Fundings fundings = fundingManager.groupFundings(fundingSummaries, justPublic);        
-        activities.setFundings(fundings);
+        activities.setFundings(getSection(orcid, Section.FUNDINGS, justPublic, false, () -> {
+            List<FundingSummary> fundingSummaries = fundingManager.getFundingSummaryList(orcid);
+            return fundingManager.groupFundings(fundingSummaries, justPublic);
+        }));
 
         // Set peer reviews
-        List<PeerReviewSummary> peerReviewSummaries = peerReviewManager.getPeerReviewSummaryList(orcid);
-        PeerReviews peerReviews = peerReviewManager.groupPeerReviews(peerReviewSummaries, justPublic);        
-        activities.setPeerReviews(peerReviews);
+        activities.setPeerReviews(getSection(orcid, Section.PEER_REVIEWS, justPublic, false, () -> {
+            List<PeerReviewSummary> peerReviewSummaries = peerReviewManager.getPeerReviewSummaryList(orcid);
+            return peerReviewManager.groupPeerReviews(peerReviewSummaries, justPublic);
+        }));
 
         // Set works
-        List<WorkSummary> workSummaries = workManager.getWorksSummaryList(orcid);
-        
-        // Should we filter the version-of identifiers before grouping?
-        if(filterVersionOfIdentifiers) {
-            for(WorkSummary w : workSummaries) {
-                if(w.getExternalIdentifiers() != null && !w.getExternalIdentifiers().getExternalIdentifier().isEmpty()) {
-                    Iterator<ExternalID> it = w.getExternalIdentifiers().getExternalIdentifier().iterator();
-                    while(it.hasNext()) {
-                        ExternalID extId = it.next();
-                        if(Relationship.VERSION_OF.equals(extId.getRelationship())) {
-                            it.remove();
+        activities.setWorks(getSection(orcid, Section.WORKS, justPublic, filterVersionOfIdentifiers, () -> {
+            List<WorkSummary> workSummaries = workManager.getWorksSummaryList(orcid);
+            
+            // Should we filter the version-of identifiers before grouping?
+            if(filterVersionOfIdentifiers) {
+                for(WorkSummary w : workSummaries) {
+                    if(w.getExternalIdentifiers() != null && !w.getExternalIdentifiers().getExternalIdentifier().isEmpty()) {
+                        Iterator<ExternalID> it = w.getExternalIdentifiers().getExternalIdentifier().iterator();
+                        while(it.hasNext()) {
+                            ExternalID extId = it.next();
+                            if(Relationship.VERSION_OF.equals(extId.getRelationship())) {
+                                it.remove();
+                            }
                         }
                     }
                 }
             }
-        }
-        
-        Works works = workManager.groupWorks(workSummaries, justPublic);        
-        activities.setWorks(works);
+            
+            return workManager.groupWorks(workSummaries, justPublic);
+        }));
         
-        List<ResearchResourceSummary> researchResourceSummary = researchResourceManager.getResearchResourceSummaryList(orcid);
-        // Should we filter the version-of identifiers before grouping?
-        if(filterVersionOfIdentifiers) {            
-            for(ResearchResourceSummary rr : researchResourceSummary) {
-                if(rr.getExternalIdentifiers() != null && !rr.getExternalIdentifiers().getExternalIdentifier().isEmpty()) {
-                    Iterator<ExternalID> it = rr.getExternalIdentifiers().getExternalIdentifier().iterator();
-                    while(it.hasNext()) {
-                        ExternalID extId = it.next();
-                        if(Relationship.VERSION_OF.equals(extId.getRelationship())) {
-                            it.remove();
+        activities.setResearchResources(getSection(orcid, Section.RESEARCH_RESOURCES, justPublic, filterVersionOfIdentifiers, () -> {
+            List<ResearchResourceSummary> researchResourceSummary = researchResourceManager.getResearchResourceSummaryList(orcid);
+            // Should we filter the version-of identifiers before grouping?
+            if(filterVersionOfIdentifiers) {            
+                for(ResearchResourceSummary rr : researchResourceSummary) {
+                    if(rr.getExternalIdentifiers() != null && !rr.getExternalIdentifiers().getExternalIdentifier().isEmpty()) {
+                        Iterator<ExternalID> it = rr.getExternalIdentifiers().getExternalIdentifier().iterator();
+                        while(it.hasNext()) {
+                            ExternalID extId = it.next();
+                            if(Relationship.VERSION_OF.equals(extId.getRelationship())) {
+                                it.remove();
+                            }
                         }
                     }
                 }
             }
-        }
-        ResearchResources researchResources = researchResourceManager.groupResearchResources(researchResourceSummary, justPublic);
-        activities.setResearchResources(researchResources);
+            return researchResourceManager.groupResearchResources(researchResourceSummary, justPublic);
+        }));
 
         return activities;
     }
+    
+    /**
+     * When an activity sections cache is set, each section is grouped once
+     * per last modified date of the section and kept in the cache, the cache
+     * hands out copies so callers are still free to modify them. The version
+     * of identifiers are filtered before grouping, so the filtered sections
+     * are kept apart from the others
+     */
+    private <T extends Serializable> T getSection(String orcid, Section section, boolean justPublic, boolean filterVersionOfIdentifiers, Supplier<T> groupedSection) {
+        if (activitySectionsCache == null) {
+            return groupedSection.get();
+        }
+        ActivitySectionCacheKey key = new ActivitySectionCacheKey(orcid, section.name(), justPublic, filterVersionOfIdentifiers,
+                getLastModified(orcid, section.recordSection), releaseName);
+        @SuppressWarnings("unchecked")
+        T cached = (T) activitySectionsCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        T value = groupedSection.get();
+        if (value != null) {
+            activitySectionsCache.put(key, value);
+        }
+        return value;
+    }
 }
@@ -10,6 +10,7 @@ import org.orcid.jaxb.model.v3.release.record.Address;
 import org.orcid.jaxb.model.v3.release.record.Addresses;
 import org.orcid.persistence.dao.AddressDao;
 import org.orcid.persistence.jpa.entities.AddressEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.springframework.cache.annotation.Cacheable;
 
 public class AddressManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements AddressManagerReadOnly {
@@ -26,7 +27,7 @@ public class AddressManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implemen
     @Override
     @Cacheable(value = "primary-address", key = "#orcid.concat('-').concat(#lastModified)")
     public Address getPrimaryAddress(String orcid, long lastModified) {        
-        List<AddressEntity> addresses = addressDao.getAddresses(orcid, getLastModified(orcid));
+        List<AddressEntity> addresses = addressDao.getAddresses(orcid, getLastModified(orcid, RecordSection.PERSON));
         Address address = null;
         if(addresses != null) {
             //Look for the address with the largest display index
@@ -47,13 +48,13 @@ public class AddressManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implemen
     
     @Override
     public Addresses getAddresses(String orcid) {
-        List<AddressEntity> addresses = addressDao.getAddresses(orcid, getLastModified(orcid));
+        List<AddressEntity> addresses = addressDao.getAddresses(orcid, getLastModified(orcid, RecordSection.PERSON));
         return adapter.toAddressList(addresses);        
     }
 
     @Override
     public Addresses getPublicAddresses(String orcid) {
-        List<AddressEntity> addresses = addressDao.getPublicAddresses(orcid, getLastModified(orcid));
+        List<AddressEntity> addresses = addressDao.getPublicAddresses(orcid, getLastModified(orcid, RecordSection.PERSON));
         return adapter.toAddressList(addresses);        
     }
 }
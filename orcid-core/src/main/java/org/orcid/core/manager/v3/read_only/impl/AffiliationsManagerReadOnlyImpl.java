@@ -44,6 +44,7 @@ import org.orcid.jaxb.model.v3.release.record.summary.QualificationSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.ServiceSummary;
 import org.orcid.persistence.dao.OrgAffiliationRelationDao;
 import org.orcid.persistence.jpa.entities.OrgAffiliationRelationEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 
 public class AffiliationsManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements AffiliationsManagerReadOnly {
@@ -159,7 +160,7 @@ public class AffiliationsManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imp
      * */
     @Override
     public List<EmploymentSummary> getEmploymentSummaryList(String userOrcid) {
-        List<OrgAffiliationRelationEntity> employmentEntities = orgAffiliationRelationDao.getEmploymentSummaries(userOrcid, getLastModified(userOrcid));
+        List<OrgAffiliationRelationEntity> employmentEntities = orgAffiliationRelationDao.getEmploymentSummaries(userOrcid, getLastModified(userOrcid, RecordSection.AFFILIATIONS));
         List<EmploymentSummary> elements = jpaJaxbEmploymentAdapter.toEmploymentSummary(employmentEntities);
         // UI sort it descending first, so,lets do the same for the API
         elements.sort((EmploymentSummary e1, EmploymentSummary e2) -> {
@@ -180,7 +181,7 @@ public class AffiliationsManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imp
      * */
     @Override
     public List<EducationSummary> getEducationSummaryList(String userOrcid) {
-        List<OrgAffiliationRelationEntity> educationEntities = orgAffiliationRelationDao.getEducationSummaries(userOrcid, getLastModified(userOrcid));
+        List<OrgAffiliationRelationEntity> educationEntities = orgAffiliationRelationDao.getEducationSummaries(userOrcid, getLastModified(userOrcid, RecordSection.AFFILIATIONS));
         List<EducationSummary> elements = jpaJaxbEducationAdapter.toEducationSummary(educationEntities);
         // UI sort it descending first, so,lets do the same for the API
         elements.sort((EducationSummary e1, EducationSummary e2) -> {
@@ -207,7 +208,7 @@ public class AffiliationsManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imp
 
     @Override
     public List<DistinctionSummary> getDistinctionSummaryList(String userOrcid) {
-        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getDistinctionSummaries(userOrcid, getLastModified(userOrcid));
+        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getDistinctionSummaries(userOrcid, getLastModified(userOrcid, RecordSection.AFFILIATIONS));
         List<DistinctionSummary> elements = jpaJaxbDistinctionAdapter.toDistinctionSummary(entities);
         // UI sort it descending first, so,lets do the same for the API
         elements.sort((DistinctionSummary e1, DistinctionSummary e2) -> {
@@ -234,7 +235,7 @@ public class AffiliationsManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imp
 
     @Override
     public List<InvitedPositionSummary> getInvitedPositionSummaryList(String userOrcid) {
-        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getInvitedPositionSummaries(userOrcid, getLastModified(userOrcid));
+        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getInvitedPositionSummaries(userOrcid, getLastModified(userOrcid, RecordSection.AFFILIATIONS));
         List<InvitedPositionSummary> elements = jpaJaxbInvitedPositionAdapter.toInvitedPositionSummary(entities);
         // UI sort it descending first, so,lets do the same for the API
         elements.sort((InvitedPositionSummary e1, InvitedPositionSummary e2) -> {
@@ -261,7 +262,7 @@ public class AffiliationsManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imp
 
     @Override
     public List<MembershipSummary> getMembershipSummaryList(String userOrcid) {
-        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getMembershipSummaries(userOrcid, getLastModified(userOrcid));
+        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getMembershipSummaries(userOrcid, getLastModified(userOrcid, RecordSection.AFFILIATIONS));
         List<MembershipSummary> elements = jpaJaxbMembershipAdapter.toMembershipSummary(entities);
         // UI sort it descending first, so,lets do the same for the API
         elements.sort((MembershipSummary e1, MembershipSummary e2) -> {
@@ -288,7 +289,7 @@ public class AffiliationsManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imp
 
     @Override
     public List<QualificationSummary> getQualificationSummaryList(String userOrcid) {
-        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getQualificationSummaries(userOrcid, getLastModified(userOrcid));
+        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getQualificationSummaries(userOrcid, getLastModified(userOrcid, RecordSection.AFFILIATIONS));
         List<QualificationSummary> elements = jpaJaxbQualificationAdapter.toQualificationSummary(entities);
         // UI sort it descending first, so,lets do the same for the API
         elements.sort((QualificationSummary e1, QualificationSummary e2) -> {
@@ -315,7 +316,7 @@ public class AffiliationsManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imp
 
     @Override
     public List<ServiceSummary> getServiceSummaryList(String userOrcid) {
-        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getServiceSummaries(userOrcid, getLastModified(userOrcid));
+        List<OrgAffiliationRelationEntity> entities = orgAffiliationRelationDao.getServiceSummaries(userOrcid, getLastModified(userOrcid, RecordSection.AFFILIATIONS));
         List<ServiceSummary> elements = jpaJaxbServiceAdapter.toServiceSummary(entities);
         // UI sort it descending first, so,lets do the same for the API
         elements.sort((ServiceSummary e1, ServiceSummary e2) -> {
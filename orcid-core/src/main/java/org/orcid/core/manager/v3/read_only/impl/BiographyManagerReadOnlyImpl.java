@@ -7,6 +7,7 @@ import org.orcid.jaxb.model.v3.release.common.Visibility;
 import org.orcid.jaxb.model.v3.release.record.Biography;
 import org.orcid.persistence.dao.BiographyDao;
 import org.orcid.persistence.jpa.entities.BiographyEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.utils.DateUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,7 +31,7 @@ public class BiographyManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implem
     public Biography getBiography(String orcid) {
         BiographyEntity biographyEntity = null;
         try {
-            biographyEntity = biographyDao.getBiography(orcid, getLastModified(orcid));
+            biographyEntity = biographyDao.getBiography(orcid, getLastModified(orcid, RecordSection.PERSON));
         } catch(Exception e) {
             LOGGER.debug("Couldn't find biography for " + orcid); 
         }
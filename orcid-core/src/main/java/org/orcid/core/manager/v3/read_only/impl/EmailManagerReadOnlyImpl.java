@@ -23,6 +23,7 @@ import org.orcid.jaxb.model.v3.release.record.Emails;
 import org.orcid.persistence.constants.SendEmailFrequency;
 import org.orcid.persistence.dao.EmailDao;
 import org.orcid.persistence.jpa.entities.EmailEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.pojo.EmailFrequencyOptions;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 import org.orcid.utils.OrcidStringUtils;
@@ -134,7 +135,7 @@ public class EmailManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
     
     @Override
     public Emails getVerifiedEmails(String orcid) {
-        List<EmailEntity> entities = emailDao.findByOrcid(orcid, getLastModified(orcid));
+        List<EmailEntity> entities = emailDao.findByOrcid(orcid, getLastModified(orcid, RecordSection.PERSON));
         if (entities == null) {
             return new Emails();
         }
@@ -143,13 +144,13 @@ public class EmailManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
     
     @Override
     public Emails getEmails(String orcid) {
-        List<EmailEntity> entities = emailDao.findByOrcid(orcid, getLastModified(orcid));
+        List<EmailEntity> entities = emailDao.findByOrcid(orcid, getLastModified(orcid, RecordSection.PERSON));
         return toEmails(entities);
     }
     
     @Override
     public Emails getPublicEmails(String orcid) {
-        List<EmailEntity> entities = emailDao.findPublicEmails(orcid, getLastModified(orcid));
+        List<EmailEntity> entities = emailDao.findPublicEmails(orcid, getLastModified(orcid, RecordSection.PERSON));
         return toEmails(entities);
     }
     
@@ -162,7 +163,7 @@ public class EmailManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
     
     @Override
     public boolean haveAnyEmailVerified(String orcid) {
-        List<EmailEntity> entities = emailDao.findByOrcid(orcid, getLastModified(orcid));
+        List<EmailEntity> entities = emailDao.findByOrcid(orcid, getLastModified(orcid, RecordSection.PERSON));
         if(entities != null) {
             for(EmailEntity email : entities) {
                 if(email.getVerified()) {
@@ -189,7 +190,7 @@ public class EmailManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
     
     @Override
     public boolean isUsersOnlyEmail(String orcid, String email) {
-        List<EmailEntity> emails = emailDao.findByOrcid(orcid, getLastModified(orcid));
+        List<EmailEntity> emails = emailDao.findByOrcid(orcid, getLastModified(orcid, RecordSection.PERSON));
         if (emails.size() != 1) {
             return false;
         }
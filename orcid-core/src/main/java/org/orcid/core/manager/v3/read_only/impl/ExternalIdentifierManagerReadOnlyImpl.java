@@ -10,6 +10,7 @@ import org.orcid.jaxb.model.v3.release.record.PersonExternalIdentifier;
 import org.orcid.jaxb.model.v3.release.record.PersonExternalIdentifiers;
 import org.orcid.persistence.dao.ExternalIdentifierDao;
 import org.orcid.persistence.jpa.entities.ExternalIdentifierEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 
 public class ExternalIdentifierManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements ExternalIdentifierManagerReadOnly {
     
@@ -24,13 +25,13 @@ public class ExternalIdentifierManagerReadOnlyImpl extends ManagerReadOnlyBaseIm
 
     @Override
     public PersonExternalIdentifiers getPublicExternalIdentifiers(String orcid) {
-        List<ExternalIdentifierEntity> externalIdentifiers = externalIdentifierDao.getPublicExternalIdentifiers(orcid, getLastModified(orcid));
+        List<ExternalIdentifierEntity> externalIdentifiers = externalIdentifierDao.getPublicExternalIdentifiers(orcid, getLastModified(orcid, RecordSection.PERSON));
         return jpaJaxbExternalIdentifierAdapter.toExternalIdentifierList(externalIdentifiers);
     }
 
     @Override
     public PersonExternalIdentifiers getExternalIdentifiers(String orcid) {
-        List<ExternalIdentifierEntity> externalIdentifiers = externalIdentifierDao.getExternalIdentifiers(orcid, getLastModified(orcid));
+        List<ExternalIdentifierEntity> externalIdentifiers = externalIdentifierDao.getExternalIdentifiers(orcid, getLastModified(orcid, RecordSection.PERSON));
         return jpaJaxbExternalIdentifierAdapter.toExternalIdentifierList(externalIdentifiers);
     }
 
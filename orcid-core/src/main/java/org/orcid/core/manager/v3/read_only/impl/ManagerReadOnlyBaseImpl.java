@@ -4,6 +4,7 @@ import java.util.Date;
 
 import org.orcid.core.manager.v3.read_only.ManagerReadOnlyBase;
 import org.orcid.persistence.aop.ProfileLastModifiedAspect;
+import org.orcid.persistence.jpa.entities.RecordSection;
 
 public class ManagerReadOnlyBaseImpl implements ManagerReadOnlyBase {
     protected ProfileLastModifiedAspect profileLastModifiedAspect;
@@ -23,4 +24,15 @@ public class ManagerReadOnlyBaseImpl implements ManagerReadOnlyBase {
     public Date getLastModifiedDate(String orcid) {
         return profileLastModifiedAspect.retrieveLastModifiedDate(orcid);        
     }  
+
+    @Override
+    public long getLastModified(String orcid, RecordSection section) {
+        Date lastModified = profileLastModifiedAspect.retrieveLastModifiedDate(orcid, section);
+        return (lastModified == null) ? 0 : lastModified.getTime();
+    }
+
+    @Override
+    public Date getLastModifiedDate(String orcid, RecordSection section) {
+        return profileLastModifiedAspect.retrieveLastModifiedDate(orcid, section);
+    }
 }
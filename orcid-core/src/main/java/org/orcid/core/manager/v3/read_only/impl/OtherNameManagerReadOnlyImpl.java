@@ -10,6 +10,7 @@ import org.orcid.jaxb.model.v3.release.record.OtherName;
 import org.orcid.jaxb.model.v3.release.record.OtherNames;
 import org.orcid.persistence.dao.OtherNameDao;
 import org.orcid.persistence.jpa.entities.OtherNameEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 
 public class OtherNameManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements OtherNameManagerReadOnly {
        
@@ -24,19 +25,19 @@ public class OtherNameManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implem
 
     @Override
     public OtherNames getOtherNames(String orcid) {
-        List<OtherNameEntity> otherNameEntityList = otherNameDao.getOtherNames(orcid, getLastModified(orcid));
+        List<OtherNameEntity> otherNameEntityList = otherNameDao.getOtherNames(orcid, getLastModified(orcid, RecordSection.PERSON));
         return jpaJaxbOtherNameAdapter.toOtherNameList(otherNameEntityList);
     }
     
     @Override
     public OtherNames getPublicOtherNames(String orcid) {
-        List<OtherNameEntity> otherNameEntityList = otherNameDao.getPublicOtherNames(orcid, getLastModified(orcid));
+        List<OtherNameEntity> otherNameEntityList = otherNameDao.getPublicOtherNames(orcid, getLastModified(orcid, RecordSection.PERSON));
         return jpaJaxbOtherNameAdapter.toOtherNameList(otherNameEntityList);
     }
     
     @Override
     public OtherNames getMinimizedOtherNames(String orcid) {
-        List<OtherNameEntity> otherNameEntityList = otherNameDao.getOtherNames(orcid, getLastModified(orcid));
+        List<OtherNameEntity> otherNameEntityList = otherNameDao.getOtherNames(orcid, getLastModified(orcid, RecordSection.PERSON));
         return jpaJaxbOtherNameAdapter.toMinimizedOtherNameList(otherNameEntityList);
     }
     
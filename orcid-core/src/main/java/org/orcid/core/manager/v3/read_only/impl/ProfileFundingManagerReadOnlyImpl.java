@@ -23,6 +23,7 @@ import org.orcid.jaxb.model.v3.release.record.summary.FundingSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.Fundings;
 import org.orcid.persistence.dao.ProfileFundingDao;
 import org.orcid.persistence.jpa.entities.ProfileFundingEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 import org.orcid.utils.solr.entities.OrgDefinedFundingTypeSolrDocument;
 
@@ -106,7 +107,7 @@ public class ProfileFundingManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl i
      * */
     @Override
     public List<FundingSummary> getFundingSummaryList(String userOrcid) {
-        List<ProfileFundingEntity> fundingEntities = profileFundingDao.getByUser(userOrcid, getLastModified(userOrcid));
+        List<ProfileFundingEntity> fundingEntities = profileFundingDao.getByUser(userOrcid, getLastModified(userOrcid, RecordSection.FUNDINGS));
         return jpaJaxbFundingAdapter.toFundingSummary(fundingEntities);
     }
     
@@ -120,7 +121,7 @@ public class ProfileFundingManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl i
      * */
     @Override
     public List<Funding> getFundingList(String userOrcid) {
-        List<ProfileFundingEntity> fundingEntities = profileFundingDao.getByUser(userOrcid, getLastModified(userOrcid));
+        List<ProfileFundingEntity> fundingEntities = profileFundingDao.getByUser(userOrcid, getLastModified(userOrcid, RecordSection.FUNDINGS));
         return jpaJaxbFundingAdapter.toFunding(fundingEntities);
     }
         
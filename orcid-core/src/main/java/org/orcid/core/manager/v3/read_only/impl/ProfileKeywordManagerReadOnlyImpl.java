@@ -10,6 +10,7 @@ import org.orcid.jaxb.model.v3.release.record.Keyword;
 import org.orcid.jaxb.model.v3.release.record.Keywords;
 import org.orcid.persistence.dao.ProfileKeywordDao;
 import org.orcid.persistence.jpa.entities.ProfileKeywordEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 
 public class ProfileKeywordManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements ProfileKeywordManagerReadOnly {
 
@@ -24,13 +25,13 @@ public class ProfileKeywordManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl i
     
     @Override
     public Keywords getKeywords(String orcid) {
-        List<ProfileKeywordEntity> entities = profileKeywordDao.getProfileKeywords(orcid, getLastModified(orcid));
+        List<ProfileKeywordEntity> entities = profileKeywordDao.getProfileKeywords(orcid, getLastModified(orcid, RecordSection.PERSON));
         return adapter.toKeywords(entities);        
     }
 
     @Override
     public Keywords getPublicKeywords(String orcid) {
-        List<ProfileKeywordEntity> entities = profileKeywordDao.getPublicProfileKeywords(orcid, getLastModified(orcid));
+        List<ProfileKeywordEntity> entities = profileKeywordDao.getPublicProfileKeywords(orcid, getLastModified(orcid, RecordSection.PERSON));
         return adapter.toKeywords(entities);        
     }
 
@@ -1,5 +1,10 @@
 package org.orcid.core.manager.v3.read_only.impl;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
 import javax.annotation.Resource;
 
 import org.orcid.core.manager.ProfileEntityCacheManager;
@@ -22,14 +27,22 @@ import org.orcid.jaxb.model.v3.release.record.DeactivationDate;
 import org.orcid.jaxb.model.v3.release.record.Email;
 import org.orcid.jaxb.model.v3.release.record.Emails;
 import org.orcid.jaxb.model.v3.release.record.History;
+import org.orcid.jaxb.model.v3.release.record.Person;
 import org.orcid.jaxb.model.v3.release.record.Preferences;
 import org.orcid.jaxb.model.v3.release.record.Record;
 import org.orcid.jaxb.model.v3.release.record.SubmissionDate;
+import org.orcid.jaxb.model.v3.release.record.summary.ActivitiesSummary;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 import org.orcid.utils.DateUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * 
@@ -53,6 +66,8 @@ public class RecordManagerReadOnlyImpl implements RecordManagerReadOnly {
 
     protected PersonDetailsManagerReadOnly personDetailsManager;
     
+    protected Executor recordSectionsExecutor;
+    
     public void setProfileEntityCacheManager(ProfileEntityCacheManager profileEntityCacheManager) {
         this.profileEntityCacheManager = profileEntityCacheManager;
     }
@@ -68,31 +83,105 @@ public class RecordManagerReadOnlyImpl implements RecordManagerReadOnly {
     public void setPersonDetailsManager(PersonDetailsManagerReadOnly personDetailsManager) {
         this.personDetailsManager = personDetailsManager;
     }
+    
+    public void setRecordSectionsExecutor(Executor recordSectionsExecutor) {
+        this.recordSectionsExecutor = recordSectionsExecutor;
+    }
 
     @Override
     public Record getPublicRecord(String orcid, boolean filterVersionOfIdentifiers) {
-        Record record = new Record();
-        record.setOrcidType(getOrcidType(orcid));
-        record.setHistory(getHistory(orcid));
-        record.setOrcidIdentifier(getOrcidIdentifier(orcid));
-        record.setPreferences(getPreferences(orcid));
-        record.setActivitiesSummary(activitiesSummaryManager.getPublicActivitiesSummary(orcid, filterVersionOfIdentifiers));
-        record.setPerson(personDetailsManager.getPublicPersonDetails(orcid));        
-        return record;
+        return getRecord(orcid, () -> activitiesSummaryManager.getPublicActivitiesSummary(orcid, filterVersionOfIdentifiers),
+                () -> personDetailsManager.getPublicPersonDetails(orcid));
     }
 
     @Override
     public Record getRecord(String orcid, boolean filterVersionOfIdentifiers) {
+        boolean includeUnverifiedEmails = !Features.HIDE_UNVERIFIED_EMAILS.isActive();
+        return getRecord(orcid, () -> activitiesSummaryManager.getActivitiesSummary(orcid, filterVersionOfIdentifiers),
+                () -> personDetailsManager.getPersonDetails(orcid, includeUnverifiedEmails));
+    }
+    
+    /**
+     * The profile is fetched once and shared by the sections built from it.
+     * The activities, the person details and the emails don't depend on each
+     * other, so they are then fetched concurrently on the record sections
+     * executor. Sections are still set in the same order, so a section that
+     * fails fails the record the same way it did when they were fetched one
+     * after the other
+     */
+    private Record getRecord(String orcid, Supplier<ActivitiesSummary> activitiesSummary, Supplier<Person> person) {
+        ProfileEntity profile = profileEntityCacheManager.retrieve(orcid);
+        CompletableFuture<Emails> emailsFuture = supplyAsync(() -> emailManager.getEmails(orcid));
+        CompletableFuture<ActivitiesSummary> activitiesSummaryFuture = supplyAsync(activitiesSummary);
+        CompletableFuture<Person> personFuture = supplyAsync(person);
+        
         Record record = new Record();
-        record.setOrcidType(getOrcidType(orcid));
-        record.setHistory(getHistory(orcid));
+        record.setOrcidType(getOrcidType(profile));
+        record.setHistory(getHistory(profile, join(emailsFuture)));
         record.setOrcidIdentifier(getOrcidIdentifier(orcid));
-        record.setPreferences(getPreferences(orcid));
-        record.setActivitiesSummary(activitiesSummaryManager.getActivitiesSummary(orcid, filterVersionOfIdentifiers));
-        record.setPerson(personDetailsManager.getPersonDetails(orcid, !Features.HIDE_UNVERIFIED_EMAILS.isActive()));        
+        record.setPreferences(getPreferences(profile));
+        record.setActivitiesSummary(join(activitiesSummaryFuture));
+        record.setPerson(join(personFuture));        
         return record;
     }
     
+    /**
+     * Runs the given section on the record sections executor, sharing the
+     * request attributes, and so the request scope caches, the security
+     * context and the locale of the calling thread. Runs it right away if
+     * there is no executor.
+     * 
+     * Every record read submits its three sections, so the default 20 threads
+     * serve about 7 records at a time, and the queue of 100 about 33 more.
+     * Past that the executor is saturated and its CallerRunsPolicy runs the
+     * section on the calling thread, the same as without an executor, so a
+     * burst of record reads gets slower instead of failing
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> section) {
+        if (recordSectionsExecutor == null) {
+            try {
+                return CompletableFuture.completedFuture(section.get());
+            } catch (RuntimeException e) {
+                CompletableFuture<T> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        return CompletableFuture.supplyAsync(() -> {
+            RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            SecurityContextHolder.setContext(securityContext);
+            LocaleContextHolder.setLocaleContext(localeContext);
+            try {
+                return section.get();
+            } finally {
+                RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+                SecurityContextHolder.setContext(previousSecurityContext);
+                LocaleContextHolder.setLocaleContext(previousLocaleContext);
+            }
+        }, recordSectionsExecutor);
+    }
+    
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow what the section threw, as if it was called directly
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
     @Override
     public OrcidIdentifier getOrcidIdentifier(String orcid) {
         OrcidIdentifier orcidIdentifier = new OrcidIdentifier();
@@ -102,29 +191,26 @@ public class RecordManagerReadOnlyImpl implements RecordManagerReadOnly {
         return orcidIdentifier;
     }
 
-    private OrcidType getOrcidType(String orcid) {
-        ProfileEntity profile = profileEntityCacheManager.retrieve(orcid);
+    private OrcidType getOrcidType(ProfileEntity profile) {
         return OrcidType.valueOf(profile.getOrcidType());
     }
     
-    private Preferences getPreferences(String orcid) {
+    private Preferences getPreferences(ProfileEntity profile) {
         try {
             Preferences preferences = new Preferences();
-            ProfileEntity profile = profileEntityCacheManager.retrieve(orcid);
             String profileEntityLocale = profile.getLocale();
             if (profileEntityLocale != null) {
                 preferences.setLocale(AvailableLocales.valueOf(profileEntityLocale));
             }
             return preferences;
         } catch (Exception e) {
-            LOGGER.error("Exception loading preferences for " + orcid, e);
+            LOGGER.error("Exception loading preferences for " + profile.getId(), e);
         }
         return null;
     }
     
-    private History getHistory(String orcid) {
+    private History getHistory(ProfileEntity profile, Emails emails) {
         History history = new History();
-        ProfileEntity profile = profileEntityCacheManager.retrieve(orcid);
         history.setClaimed(profile.getClaimed());
         if(profile.getCompletedDate() != null) {
             history.setCompletionDate(new CompletionDate(DateUtils.convertToXMLGregorianCalendar(profile.getCompletedDate())));           
@@ -154,7 +240,6 @@ public class RecordManagerReadOnlyImpl implements RecordManagerReadOnly {
         boolean verfiedEmail = false;
         boolean verfiedPrimaryEmail = false;
         
-        Emails emails = emailManager.getEmails(orcid);
         if (emails != null) {
             for (Email email : emails.getEmails()) {
                 if (email.isVerified()) {
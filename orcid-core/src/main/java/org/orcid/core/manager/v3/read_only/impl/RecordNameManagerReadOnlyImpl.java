@@ -8,6 +8,7 @@ import org.orcid.core.utils.RecordNameUtils;
 import org.orcid.jaxb.model.v3.release.record.Name;
 import org.orcid.persistence.dao.RecordNameDao;
 import org.orcid.persistence.jpa.entities.RecordNameEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,7 +33,7 @@ public class RecordNameManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imple
     @Override
     public Name getRecordName(String orcid) {
         try {
-            return jpaJaxbNameAdapter.toName(recordNameDao.getRecordName(orcid, getLastModified(orcid)));             
+            return jpaJaxbNameAdapter.toName(recordNameDao.getRecordName(orcid, getLastModified(orcid, RecordSection.PERSON)));             
         } catch(Exception e) {
             LOGGER.error("Exception getting record name", e);
         }
@@ -56,25 +57,25 @@ public class RecordNameManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl imple
     
     @Override
     public String fetchDisplayableCreditName(String orcid) {
-        RecordNameEntity recordName = recordNameDao.getRecordName(orcid, getLastModified(orcid));
+        RecordNameEntity recordName = recordNameDao.getRecordName(orcid, getLastModified(orcid, RecordSection.PERSON));
         return RecordNameUtils.getCreditName(recordName);
     } 
     
     @Override
     public String fetchDisplayableUserName(String orcid) {
-        RecordNameEntity recordName = recordNameDao.getRecordName(orcid, getLastModified(orcid));
+        RecordNameEntity recordName = recordNameDao.getRecordName(orcid, getLastModified(orcid, RecordSection.PERSON));
         return RecordNameUtils.getCreditName(recordName);
     }
 
     @Override
     public String fetchDisplayablePublicName(String orcid) {
-        RecordNameEntity recordName = recordNameDao.getRecordName(orcid, getLastModified(orcid));
+        RecordNameEntity recordName = recordNameDao.getRecordName(orcid, getLastModified(orcid, RecordSection.PERSON));
         return RecordNameUtils.getPublicName(recordName);
     }
 
     @Override
     public String fetchDisplayableDisplayName(String orcid) {
-        RecordNameEntity recordName = recordNameDao.getRecordName(orcid, getLastModified(orcid));
+        RecordNameEntity recordName = recordNameDao.getRecordName(orcid, getLastModified(orcid, RecordSection.PERSON));
         return RecordNameUtils.getDisplayName(recordName);
     }
         
@@ -19,6 +19,7 @@ import org.orcid.jaxb.model.v3.release.record.summary.ResearchResourceGroup;
 import org.orcid.jaxb.model.v3.release.record.summary.ResearchResourceSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.ResearchResources;
 import org.orcid.persistence.dao.ResearchResourceDao;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.persistence.jpa.entities.ResearchResourceEntity;
 import org.orcid.pojo.ajaxForm.PojoUtil;
 
@@ -46,13 +47,13 @@ public class ResearchResourceManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl
     @Override
     @Transactional
     public List<ResearchResource> findResearchResources(String orcid) {
-        List<ResearchResourceEntity> e = rrDao.getByUser(orcid, getLastModified(orcid));
+        List<ResearchResourceEntity> e = rrDao.getByUser(orcid, getLastModified(orcid, RecordSection.RESEARCH_RESOURCES));
         return jpaJaxbResearchResourceAdapter.toModels(e);
     }
 
     @Override
     public List<ResearchResourceSummary> getResearchResourceSummaryList(String orcid) {
-        List<ResearchResourceEntity> e = rrDao.getByUser(orcid, getLastModified(orcid));
+        List<ResearchResourceEntity> e = rrDao.getByUser(orcid, getLastModified(orcid, RecordSection.RESEARCH_RESOURCES));
         return jpaJaxbResearchResourceAdapter.toSummaries(e);
     }
 
@@ -9,6 +9,7 @@ import org.orcid.core.manager.v3.read_only.ResearcherUrlManagerReadOnly;
 import org.orcid.jaxb.model.v3.release.record.ResearcherUrl;
 import org.orcid.jaxb.model.v3.release.record.ResearcherUrls;
 import org.orcid.persistence.dao.ResearcherUrlDao;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.persistence.jpa.entities.ResearcherUrlEntity;
 
 public class ResearcherUrlManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements ResearcherUrlManagerReadOnly {
@@ -30,7 +31,7 @@ public class ResearcherUrlManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl im
      * */
     @Override
     public ResearcherUrls getPublicResearcherUrls(String orcid) {
-        List<ResearcherUrlEntity> researcherUrlEntities = researcherUrlDao.getPublicResearcherUrls(orcid, getLastModified(orcid));
+        List<ResearcherUrlEntity> researcherUrlEntities = researcherUrlDao.getPublicResearcherUrls(orcid, getLastModified(orcid, RecordSection.PERSON));
         return jpaJaxbResearcherUrlAdapter.toResearcherUrlList(researcherUrlEntities);
     }
     
@@ -43,7 +44,7 @@ public class ResearcherUrlManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl im
     @Override
     
     public ResearcherUrls getResearcherUrls(String orcid) {
-        List<ResearcherUrlEntity> researcherUrlEntities = researcherUrlDao.getResearcherUrls(orcid, getLastModified(orcid));
+        List<ResearcherUrlEntity> researcherUrlEntities = researcherUrlDao.getResearcherUrls(orcid, getLastModified(orcid, RecordSection.PERSON));
         return jpaJaxbResearcherUrlAdapter.toResearcherUrlList(researcherUrlEntities);
     }
 
@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 
 import javax.annotation.Resource;
 
+import org.ehcache.Cache;
 import org.orcid.core.adapter.v3.JpaJaxbWorkAdapter;
 import org.orcid.core.exception.ExceedMaxNumberOfPutCodesException;
 import org.orcid.core.exception.OrcidCoreExceptionMapper;
@@ -15,11 +16,10 @@ import org.orcid.core.exception.PutCodeFormatException;
 import org.orcid.core.manager.WorkEntityCacheManager;
 import org.orcid.core.manager.v3.GroupingSuggestionManager;
 import org.orcid.core.manager.v3.read_only.WorkManagerReadOnly;
-import org.orcid.core.togglz.Features;
 import org.orcid.core.utils.v3.activities.ActivitiesGroup;
 import org.orcid.core.utils.v3.activities.ActivitiesGroupGenerator;
 import org.orcid.core.utils.v3.activities.WorkComparators;
-import org.orcid.core.utils.v3.activities.WorkGroupAndGroupingSuggestionGenerator;
+import org.orcid.core.utils.v3.activities.WorkGroupsProjection;
 import org.orcid.jaxb.model.record.bulk.BulkElement;
 import org.orcid.jaxb.model.v3.release.record.ExternalID;
 import org.orcid.jaxb.model.v3.release.record.ExternalIDs;
@@ -32,10 +32,10 @@ import org.orcid.jaxb.model.v3.release.record.summary.WorkSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.Works;
 import org.orcid.persistence.dao.WorkDao;
 import org.orcid.persistence.jpa.entities.MinimizedWorkEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.persistence.jpa.entities.WorkEntity;
 import org.orcid.persistence.jpa.entities.WorkLastModifiedEntity;
 import org.orcid.pojo.ajaxForm.PojoUtil;
-import org.orcid.pojo.grouping.WorkGroupingSuggestion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -56,6 +56,8 @@ public class WorkManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
 
     protected WorkEntityCacheManager workEntityCacheManager;
 
+    protected Cache<String, WorkGroupsProjection> workGroupsProjectionCache;
+
     private final Integer maxWorksToRead;
     
     @Resource
@@ -73,6 +75,10 @@ public class WorkManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
         this.workEntityCacheManager = workEntityCacheManager;
     }
 
+    public void setWorkGroupsProjectionCache(Cache<String, WorkGroupsProjection> workGroupsProjectionCache) {
+        this.workGroupsProjectionCache = workGroupsProjectionCache;
+    }
+
     /**
      * Find the works for a specific user
      * 
@@ -81,7 +87,7 @@ public class WorkManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
      * @return the list of works associated to the specific user
      */
     public List<Work> findWorks(String orcid) {
-        List<MinimizedWorkEntity> minimizedWorks = workEntityCacheManager.retrieveMinimizedWorks(orcid, getLastModified(orcid));
+        List<MinimizedWorkEntity> minimizedWorks = workEntityCacheManager.retrieveMinimizedWorks(orcid, getLastModified(orcid, RecordSection.WORKS));
         return jpaJaxbWorkAdapter.toMinimizedWork(minimizedWorks);
     }
 
@@ -110,7 +116,7 @@ public class WorkManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
      * @return the list of works associated to the specific user
      */
     public List<Work> findPublicWorks(String orcid) {
-        List<MinimizedWorkEntity> minimizedWorks = workEntityCacheManager.retrievePublicMinimizedWorks(orcid, getLastModified(orcid));
+        List<MinimizedWorkEntity> minimizedWorks = workEntityCacheManager.retrievePublicMinimizedWorks(orcid, getLastModified(orcid, RecordSection.WORKS));
         return jpaJaxbWorkAdapter.toMinimizedWork(minimizedWorks);
     }
 
@@ -144,7 +150,7 @@ public class WorkManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
      */
     @Override
     public List<WorkSummary> getWorksSummaryList(String orcid) {
-        List<MinimizedWorkEntity> works = workEntityCacheManager.retrieveMinimizedWorks(orcid, getLastModified(orcid));
+        List<MinimizedWorkEntity> works = workEntityCacheManager.retrieveMinimizedWorks(orcid, getLastModified(orcid, RecordSection.WORKS));
         return jpaJaxbWorkAdapter.toWorkSummaryFromMinimized(works);
     }
     
@@ -158,12 +164,15 @@ public class WorkManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
      */
     @Override
     public List<WorkSummary> getWorksSummaryList(String orcid, List<Long> putCodes) {
-        List<MinimizedWorkEntity> works = workEntityCacheManager.retrieveMinimizedWorks(orcid, putCodes, getLastModified(orcid));
+        List<MinimizedWorkEntity> works = workEntityCacheManager.retrieveMinimizedWorks(orcid, putCodes, getLastModified(orcid, RecordSection.WORKS));
         return jpaJaxbWorkAdapter.toWorkSummaryFromMinimized(works);
     }
     
     /**
-     * Generate a grouped list of works with the given list of works and generates grouping suggestions
+     * Generate a grouped list of works with the given list of works. Grouping
+     * suggestions are generated in the background when the works change, so
+     * they are only scheduled here if the record doesn't have any stored for
+     * the current works
      * 
      * @param works
      *            The list of works to group
@@ -171,17 +180,12 @@ public class WorkManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
      */
     @Override
     public Works groupWorksAndGenerateGroupingSuggestions(List<WorkSummary> summaries, String orcid) {
-        WorkGroupAndGroupingSuggestionGenerator groupGenerator = new WorkGroupAndGroupingSuggestionGenerator();
+        ActivitiesGroupGenerator groupGenerator = new ActivitiesGroupGenerator();
         for (WorkSummary work : summaries) {
             groupGenerator.group(work);
         }
-        Works works = processGroupedWorks(groupGenerator.getGroups());
-        
-        if (Features.GROUPING_SUGGESTIONS.isActive()) {
-            List<WorkGroupingSuggestion> suggestions = groupGenerator.getGroupingSuggestions(orcid);
-            groupingSuggestionsManager.cacheGroupingSuggestions(orcid, suggestions);
-        }
-        return works;
+        groupingSuggestionsManager.scheduleGroupingSuggestionsGenerationIfMissing(orcid);
+        return processGroupedWorks(groupGenerator.getGroups());
     }
     
     /**
@@ -229,9 +233,23 @@ public class WorkManagerReadOnlyImpl extends ManagerReadOnlyBaseImpl implements
         return bulk;
     }
     
+    /**
+     * When a work groups projection cache is set, the groups of the record are
+     * worked out from the previous grouping, so only the groups touched by the
+     * works that changed since then are grouped again
+     */
     @Override
     public Works getWorksAsGroups(String orcid) {
-        return groupWorksAndGenerateGroupingSuggestions(getWorksSummaryList(orcid), orcid);
+        List<WorkSummary> summaries = getWorksSummaryList(orcid);
+        if (workGroupsProjectionCache == null) {
+            return groupWorksAndGenerateGroupingSuggestions(summaries, orcid);
+        }
+        WorkGroupsProjection previous = workGroupsProjectionCache.get(orcid);
+        List<ActivitiesGroup> groups = previous == null ? WorkGroupsProjection.group(summaries) : previous.regroup(summaries);
+        workGroupsProjectionCache.put(orcid, WorkGroupsProjection.of(groups));
+        
+        groupingSuggestionsManager.scheduleGroupingSuggestionsGenerationIfMissing(orcid);
+        return processGroupedWorks(groups);
     }
 
     private String[] getPutCodeArray(String putCodesAsString) {
@@ -231,11 +231,13 @@ public class ActivityValidator {
             // Validate DOI's are resolvable
             for (ExternalID extId : work.getExternalIdentifiers().getExternalIdentifier()) {
                 if (extId.getType().equals("doi")) {
-                    try {
-                        resolverService.resolve(extId.getType(), extId.getValue());
-                    } catch (IllegalArgumentException iae) {
-                        LOGGER.warn("Invalid DOI provided: " + extId.getValue());
-                    }
+                    // Resolving only warms the resolver cache, don't make the
+                    // request wait for the DOI resolvers
+                    resolverService.resolveAsync(extId.getType(), extId.getValue()).whenComplete((result, t) -> {
+                        if (t != null && t.getCause() instanceof IllegalArgumentException) {
+                            LOGGER.warn("Invalid DOI provided: " + extId.getValue());
+                        }
+                    });
                 }
             }
         }
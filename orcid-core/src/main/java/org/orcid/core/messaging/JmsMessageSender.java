@@ -1,8 +1,16 @@
 package org.orcid.core.messaging;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import javax.annotation.Resource;
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
 
 import org.orcid.utils.listener.LastModifiedMessage;
 import org.orcid.utils.solr.entities.OrgDefinedFundingTypeSolrDocument;
@@ -11,6 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.JmsException;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -33,9 +42,15 @@ import org.springframework.stereotype.Component;
 public class JmsMessageSender {
 
     private static final Logger LOG = LoggerFactory.getLogger(JmsMessageSender.class);
+
+    /**
+     * ActiveMQ delivers the messages of a group in order, to one consumer at a
+     * time, so the messages of a record are never processed concurrently
+     */
+    public static final String GROUP_ID = "JMSXGroupID";
     
     private boolean enabled = false;    
-    private boolean pauseForAWhile = false;
+    private volatile boolean pauseForAWhile = false;
     
     @Resource
     private JmsTemplate jmsTemplate;
@@ -67,7 +82,8 @@ public class JmsMessageSender {
         return false;                
     }
     
-    /**Sends a LastModifiedMessage to the selected queue
+    /**Sends a LastModifiedMessage to the selected queue, in the message group
+     * of its orcid
      * 
      * @param mess the message
      * @param d the destination queue
@@ -75,7 +91,12 @@ public class JmsMessageSender {
      */
     public boolean send(LastModifiedMessage mess, String destination){
         try{
-            return this.sendMap(mess.getMap(), destination);                             
+            if (isEnabled() && !pauseForAWhile){
+                jmsTemplate.convertAndSend(destination, mess.getMap(), message -> setGroup(message, mess));
+                return true;
+            }
+            LOG.info("Not sending message: isEnabled="+isEnabled()+" pauseForAWhile="+pauseForAWhile);
+            return false;
         } catch(JmsException e) {
             //TODO: How we unflag the problem?
             LOG.error("Couldnt send " + mess.getOrcid() + " to the message queue", e);
@@ -83,6 +104,56 @@ public class JmsMessageSender {
         return false;
     }
     
+    /**Sends every LastModifiedMessage to every one of the selected queues in
+     * a single JMS transaction, so either the whole batch is sent or none of
+     * it is. Each message is sent in the message group of its orcid. The connection and session are opened once for the batch instead
+     * of once per message. If the batch can't be sent, messaging is paused
+     * until the next timer run, as with any other connection problem.
+     * 
+     * @param messages the messages
+     * @param destinations the destination queues
+     * @return true if the batch was sent successfully 
+     */
+    public boolean send(List<LastModifiedMessage> messages, Collection<String> destinations){
+        if (!isEnabled() || pauseForAWhile){
+            LOG.info("Not sending messages: isEnabled="+isEnabled()+" pauseForAWhile="+pauseForAWhile);
+            return false;
+        }
+        if (messages.isEmpty() || destinations.isEmpty()) {
+            return true;
+        }
+        Connection connection = null;
+        Session session = null;
+        MessageProducer producer = null;
+        try {
+            connection = jmsTemplate.getConnectionFactory().createConnection();
+            session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            producer = session.createProducer(null);
+            for (String destinationName : destinations) {
+                Destination destination = jmsTemplate.getDestinationResolver().resolveDestinationName(session, destinationName, jmsTemplate.isPubSubDomain());
+                for (LastModifiedMessage mess : messages) {
+                    producer.send(destination, setGroup(jmsTemplate.getMessageConverter().toMessage(mess.getMap(), session), mess));
+                }
+            }
+            session.commit();
+            return true;
+        } catch(JMSException | JmsException e) {
+            // Closing the session rolls back whatever was sent in it
+            LOG.error("Couldnt send batch of " + messages.size() + " messages to " + destinations, e);
+            flagConnectionProblem(e);
+        } finally {
+            JmsUtils.closeMessageProducer(producer);
+            JmsUtils.closeSession(session);
+            JmsUtils.closeConnection(connection);
+        }
+        return false;
+    }
+    
+    private Message setGroup(Message message, LastModifiedMessage mess) throws JMSException {
+        message.setStringProperty(GROUP_ID, mess.getOrcid());
+        return message;
+    }
+    
     /**Sends a OrgDisambiguatedSolrDocument to the selected queue
      * 
      * @param mess the message
@@ -0,0 +1,132 @@
+package org.orcid.core.messaging;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+
+import org.apache.commons.lang3.StringUtils;
+import org.orcid.persistence.aop.ProfileLastModifiedCache;
+import org.orcid.persistence.aop.ProfileLastModifiedListener;
+import org.orcid.utils.listener.LastModifiedMessage;
+import org.orcid.utils.listener.MessageConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+
+/**
+ * Broadcasts (orcid, last modified) pairs on a JMS topic every time this node
+ * updates a record, and drops stale entries from the local
+ * {@link ProfileLastModifiedCache} when another node does.
+ * 
+ * Every node subscribes to the same topic, so updates made elsewhere are seen
+ * before the cache time to live. Messages sent by this node are ignored on
+ * receipt, its own caches are invalidated by the aspect that made the update.
+ * The time to live still bounds how long a date read from a lagging replica
+ * is kept.
+ * 
+ * Updates are sent on the given executor, after the transaction commits, so
+ * the request thread never waits on the broker. If the broker can't be
+ * reached, or the executor is saturated, the update is not broadcast and the
+ * other nodes fall back to the cache time to live.
+ * 
+ * Updates received from other nodes are also dropped from the cache of the
+ * dates read from the replica, when there is one.
+ */
+public class ProfileLastModifiedBus implements ProfileLastModifiedListener, MessageListener, InitializingBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProfileLastModifiedBus.class);
+
+    private final String node = UUID.randomUUID().toString();
+
+    private boolean enabled = false;
+
+    private String topic;
+
+    private JmsTemplate jmsTemplate;
+
+    private Executor executor;
+
+    private ProfileLastModifiedCache profileLastModifiedCache;
+
+    private ProfileLastModifiedCache readOnlyProfileLastModifiedCache;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public void setJmsTemplate(JmsTemplate jmsTemplate) {
+        this.jmsTemplate = jmsTemplate;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void setProfileLastModifiedCache(ProfileLastModifiedCache profileLastModifiedCache) {
+        this.profileLastModifiedCache = profileLastModifiedCache;
+    }
+
+    public void setReadOnlyProfileLastModifiedCache(ProfileLastModifiedCache readOnlyProfileLastModifiedCache) {
+        this.readOnlyProfileLastModifiedCache = readOnlyProfileLastModifiedCache;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            profileLastModifiedCache.addListener(this);
+        }
+    }
+
+    @Override
+    public void profileLastModifiedUpdated(String orcid, Date lastModified) {
+        Map<String, String> map = new HashMap<>(new LastModifiedMessage(orcid, lastModified).getMap());
+        map.put(MessageConstants.NODE.value, node);
+        try {
+            executor.execute(() -> send(orcid, map));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Too many pending last modified broadcasts, not broadcasting " + orcid);
+        }
+    }
+
+    private void send(String orcid, Map<String, String> map) {
+        try {
+            jmsTemplate.convertAndSend(topic, map);
+        } catch (JmsException e) {
+            LOG.error("Couldnt broadcast last modified for " + orcid, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        try {
+            MapMessage mapMessage = (MapMessage) message;
+            if (node.equals(mapMessage.getString(MessageConstants.NODE.value))) {
+                return;
+            }
+            String orcid = mapMessage.getString(MessageConstants.ORCID.value);
+            String date = mapMessage.getString(MessageConstants.DATE.value);
+            Date lastModified = StringUtils.isBlank(date) ? null : new Date(Long.valueOf(date));
+            profileLastModifiedCache.invalidateIfOlder(orcid, lastModified);
+            if (readOnlyProfileLastModifiedCache != null) {
+                readOnlyProfileLastModifiedCache.invalidateIfOlder(orcid, lastModified);
+            }
+        } catch (JMSException | ClassCastException | NumberFormatException e) {
+            LOG.error("Unable to process last modified broadcast", e);
+        }
+    }
+
+}
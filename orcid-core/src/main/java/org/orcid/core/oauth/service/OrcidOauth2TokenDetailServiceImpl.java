@@ -30,6 +30,9 @@ public class OrcidOauth2TokenDetailServiceImpl implements OrcidOauth2TokenDetail
 
     @Resource
     private OrcidOauth2TokenDetailDao orcidOauth2TokenDetailDao;
+    
+    @Resource
+    private OrcidTokenCache orcidTokenCache;
 
     @Override
     public void setOrcidOauth2TokenDetailDao(OrcidOauth2TokenDetailDao orcidOauth2TokenDetailDao) {
@@ -66,6 +69,7 @@ public class OrcidOauth2TokenDetailServiceImpl implements OrcidOauth2TokenDetail
     public void saveOrUpdate(OrcidOauth2TokenDetail detail) {
         if (detail.getId() != null) detail = orcidOauth2TokenDetailDao.merge(detail);
         orcidOauth2TokenDetailDao.persist(detail);
+        orcidTokenCache.invalidate(OrcidTokenCache.Field.TOKEN, detail.getTokenValue());
     }
 
     @Override
@@ -87,6 +91,7 @@ public class OrcidOauth2TokenDetailServiceImpl implements OrcidOauth2TokenDetail
     @Transactional
     public void removeByRefreshTokenValue(String refreshToken) {
         orcidOauth2TokenDetailDao.removeByRefreshTokenValue(refreshToken);
+        orcidTokenCache.invalidate(OrcidTokenCache.Field.REFRESH_TOKEN, refreshToken);
     }
 
     @Override
@@ -136,12 +141,14 @@ public class OrcidOauth2TokenDetailServiceImpl implements OrcidOauth2TokenDetail
     @Transactional
     public void disableAccessToken(String accessToken) {
         orcidOauth2TokenDetailDao.disableAccessToken(accessToken);
+        orcidTokenCache.invalidate(OrcidTokenCache.Field.TOKEN, accessToken);
     }
     
     @Override
     @Transactional
     public void revokeAccessToken(String accessToken) {
         orcidOauth2TokenDetailDao.revokeAccessToken(accessToken);
+        orcidTokenCache.invalidate(OrcidTokenCache.Field.TOKEN, accessToken);
     }
     
     /**
@@ -172,6 +179,7 @@ public class OrcidOauth2TokenDetailServiceImpl implements OrcidOauth2TokenDetail
                     Set<ScopePathType> tokenScopes = ScopePathType.getScopesFromSpaceSeparatedString(token.getScope());
                     if(scopesToDisable.equals(tokenScopes)) {
                         orcidOauth2TokenDetailDao.disableAccessTokenById(token.getId(), userOrcid);
+                        orcidTokenCache.invalidate(OrcidTokenCache.Field.TOKEN, token.getTokenValue());
                     }                
                 }            
             }
@@ -189,6 +197,7 @@ public class OrcidOauth2TokenDetailServiceImpl implements OrcidOauth2TokenDetail
     @Transactional
     public void disableAccessTokenByRefreshToken(String refreshTokenValue) {
         orcidOauth2TokenDetailDao.disableAccessTokenByRefreshToken(refreshTokenValue);
+        orcidTokenCache.invalidate(OrcidTokenCache.Field.REFRESH_TOKEN, refreshTokenValue);
     }
 
     @Override
@@ -234,18 +243,25 @@ public class OrcidOauth2TokenDetailServiceImpl implements OrcidOauth2TokenDetail
     @Override
     @Transactional
     public int disableAccessTokenByCodeAndClient(String authorizationCode, String clientID, RevokeReason reason) {
-        return orcidOauth2TokenDetailDao.disableAccessTokenByCodeAndClient(authorizationCode, clientID, reason.name());
+        int disabled = orcidOauth2TokenDetailDao.disableAccessTokenByCodeAndClient(authorizationCode, clientID, reason.name());
+        if (disabled > 0) {
+            // The cache doesn't know the codes, drop all the client tokens
+            orcidTokenCache.invalidate(OrcidTokenCache.Field.CLIENT, clientID);
+        }
+        return disabled;
     }
 
     @Override
     @Transactional
     public void disableAccessTokenByUserOrcid(String userOrcid, RevokeReason reason) {
         orcidOauth2TokenDetailDao.disableAccessTokenByUserOrcid(userOrcid, reason.name());
+        orcidTokenCache.invalidate(OrcidTokenCache.Field.USER, userOrcid);
     }
 
     @Override
     @Transactional
     public void disableClientAccess(String clientDetailsId, String userOrcid) {
         orcidOauth2TokenDetailDao.disableClientAccessTokensByUserOrcid(userOrcid, clientDetailsId);
+        orcidTokenCache.invalidate(OrcidTokenCache.Field.USER, userOrcid);
     }        
 }
@@ -82,6 +82,9 @@ public class OrcidRandomValueTokenServicesImpl extends DefaultTokenServices impl
     @Resource
     private OrcidOauth2TokenDetailDao orcidOauth2TokenDetailDao;
     
+    @Resource
+    private OrcidTokenCache orcidTokenCache;
+    
     @Resource
     private ProfileEntityManager profileEntityManager;
     
@@ -376,6 +379,7 @@ public class OrcidRandomValueTokenServicesImpl extends DefaultTokenServices impl
         // Revoke the old token when required
         if (revokeOld) {
             orcidOauth2TokenDetailDao.disableAccessToken(parentTokenValue);
+            orcidTokenCache.invalidate(OrcidTokenCache.Field.TOKEN, parentTokenValue);
         }
 
         // Save the changes
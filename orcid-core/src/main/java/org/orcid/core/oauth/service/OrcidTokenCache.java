@@ -0,0 +1,355 @@
+package org.orcid.core.oauth.service;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+
+import org.apache.commons.lang.StringUtils;
+import org.orcid.persistence.jpa.entities.OrcidOauth2TokenDetail;
+import org.orcid.utils.listener.MessageConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * JVM wide cache of the non disabled access tokens, keyed by token value, so
+ * the member API doesn't have to look them up on every request. Only an
+ * immutable snapshot of the token is cached, never the entity, which would
+ * hold lazy associations of a closed session and be shared between threads.
+ * The client and the user of the token are not cached here, callers retrieve
+ * them on every request.
+ *
+ * Tokens are never served once expired, and entries live at most the configured time to
+ * live. They are invalidated whenever tokens are disabled or revoked, once
+ * more when the transaction doing it completes, and on the other nodes
+ * through a JMS topic. Without broadcasting a token revoked on another node
+ * would stay valid here, so nothing is cached when broadcasting is disabled.
+ *
+ * Tokens read while an invalidation happens are not cached, so a token being
+ * disabled can't be put back by a concurrent read of its old state.
+ */
+public class OrcidTokenCache implements MessageListener, InitializingBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrcidTokenCache.class);
+
+    private static final String FIELD = "f";
+
+    private static final String VALUE = "v";
+
+    public enum Field {
+        TOKEN("t", TokenSnapshot::getTokenValue),
+        REFRESH_TOKEN("r", TokenSnapshot::getRefreshTokenValue),
+        USER("u", TokenSnapshot::getOrcid),
+        CLIENT("c", TokenSnapshot::getClientDetailsId);
+
+        private final String value;
+
+        private final Function<TokenSnapshot, String> getter;
+
+        Field(String value, Function<TokenSnapshot, String> getter) {
+            this.value = value;
+            this.getter = getter;
+        }
+
+        static Field fromValue(String value) {
+            for (Field field : values()) {
+                if (field.value.equals(value)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown token field " + value);
+        }
+    }
+
+    /**
+     * Immutable copy of the fields of a token needed to authenticate requests
+     * made with it. The profile of the user is only referenced by its id
+     */
+    public static final class TokenSnapshot {
+
+        private final String tokenValue;
+
+        private final String tokenType;
+
+        private final String scope;
+
+        private final String resourceId;
+
+        private final String clientDetailsId;
+
+        private final String orcid;
+
+        private final boolean approved;
+
+        private final boolean persistent;
+
+        private final long version;
+
+        private final Long tokenExpiration;
+
+        private final Long dateCreated;
+
+        private final String refreshTokenValue;
+
+        private final Long refreshTokenExpiration;
+
+        public TokenSnapshot(OrcidOauth2TokenDetail tokenDetail) {
+            this.tokenValue = tokenDetail.getTokenValue();
+            this.tokenType = tokenDetail.getTokenType();
+            this.scope = tokenDetail.getScope();
+            this.resourceId = tokenDetail.getResourceId();
+            this.clientDetailsId = tokenDetail.getClientDetailsId();
+            // Only the id of the profile is read, which doesn't initialize it
+            // if it is a lazy proxy
+            this.orcid = tokenDetail.getProfile() == null ? null : tokenDetail.getProfile().getId();
+            this.approved = tokenDetail.isApproved();
+            this.persistent = tokenDetail.isPersistent();
+            this.version = tokenDetail.getVersion();
+            this.tokenExpiration = toTime(tokenDetail.getTokenExpiration());
+            this.dateCreated = toTime(tokenDetail.getDateCreated());
+            this.refreshTokenValue = tokenDetail.getRefreshTokenValue();
+            this.refreshTokenExpiration = toTime(tokenDetail.getRefreshTokenExpiration());
+        }
+
+        public String getTokenValue() {
+            return tokenValue;
+        }
+
+        public String getTokenType() {
+            return tokenType;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public String getResourceId() {
+            return resourceId;
+        }
+
+        public String getClientDetailsId() {
+            return clientDetailsId;
+        }
+
+        public String getOrcid() {
+            return orcid;
+        }
+
+        public boolean isApproved() {
+            return approved;
+        }
+
+        public boolean isPersistent() {
+            return persistent;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public Date getTokenExpiration() {
+            return toDate(tokenExpiration);
+        }
+
+        public Date getDateCreated() {
+            return toDate(dateCreated);
+        }
+
+        public String getRefreshTokenValue() {
+            return refreshTokenValue;
+        }
+
+        public Date getRefreshTokenExpiration() {
+            return toDate(refreshTokenExpiration);
+        }
+
+        boolean isExpired() {
+            return tokenExpiration != null && tokenExpiration <= System.currentTimeMillis();
+        }
+
+        private static Long toTime(Date date) {
+            return date == null ? null : date.getTime();
+        }
+
+        private static Date toDate(Long time) {
+            return time == null ? null : new Date(time);
+        }
+    }
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private int maxElements = 10000;
+
+    private int timeToLiveSeconds = 60;
+
+    private boolean broadcast = false;
+
+    private String topic;
+
+    private JmsTemplate jmsTemplate;
+
+    private Cache<String, TokenSnapshot> cache;
+
+    public void setMaxElements(int maxElements) {
+        this.maxElements = maxElements;
+    }
+
+    public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public void setBroadcast(boolean broadcast) {
+        this.broadcast = broadcast;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public void setJmsTemplate(JmsTemplate jmsTemplate) {
+        this.jmsTemplate = jmsTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!broadcast) {
+            LOG.warn("Token invalidation broadcast is disabled, access tokens won't be cached");
+        }
+        int maximumSize = broadcast ? maxElements : 0;
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * @return the cached token, or null if it is not cached or it already
+     *         expired
+     */
+    public TokenSnapshot get(String tokenValue) {
+        if (tokenValue == null) {
+            return null;
+        }
+        TokenSnapshot cached = cache.getIfPresent(tokenValue);
+        if (cached != null && cached.isExpired()) {
+            cache.invalidate(tokenValue);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Marks the beginning of a read of a token from the DB. The returned value
+     * must be given back to {@link #put(long, OrcidOauth2TokenDetail)}
+     */
+    public long startRead() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches a snapshot of the given token, unless it expired or tokens were
+     * invalidated since it was read
+     */
+    public void put(long readStart, OrcidOauth2TokenDetail tokenDetail) {
+        if (tokenDetail == null || StringUtils.isBlank(tokenDetail.getTokenValue())) {
+            return;
+        }
+        TokenSnapshot snapshot = new TokenSnapshot(tokenDetail);
+        if (Boolean.TRUE.equals(tokenDetail.getTokenDisabled()) || snapshot.isExpired()) {
+            return;
+        }
+        cache.put(snapshot.getTokenValue(), snapshot);
+        if (invalidations.get() != readStart) {
+            // An invalidation raced with the read, it might have missed this
+            // entry
+            cache.invalidate(tokenDetail.getTokenValue());
+        }
+    }
+
+    /**
+     * Drops the tokens with the given value in the given field, on this node
+     * right away, and once the current transaction completes on this node and
+     * on the others
+     */
+    public void invalidate(Field field, String value) {
+        if (value == null) {
+            return;
+        }
+        invalidateLocally(field, value);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcast(field, value);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidateLocally(field, value);
+                if (status == STATUS_COMMITTED) {
+                    broadcast(field, value);
+                }
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        try {
+            MapMessage mapMessage = (MapMessage) message;
+            if (node.equals(mapMessage.getString(MessageConstants.NODE.value))) {
+                return;
+            }
+            invalidateLocally(Field.fromValue(mapMessage.getString(FIELD)), mapMessage.getString(VALUE));
+        } catch (JMSException | ClassCastException | IllegalArgumentException e) {
+            LOG.error("Unable to process token invalidation broadcast", e);
+        }
+    }
+
+    private void invalidateLocally(Field field, String value) {
+        if (value == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        if (Field.TOKEN.equals(field)) {
+            cache.invalidate(value);
+        } else {
+            cache.asMap().values().removeIf(cached -> Objects.equals(value, field.getter.apply(cached)));
+        }
+    }
+
+    private void broadcast(Field field, String value) {
+        if (!broadcast) {
+            return;
+        }
+        Map<String, String> map = new HashMap<>();
+        map.put(MessageConstants.NODE.value, node);
+        map.put(FIELD, field.value);
+        map.put(VALUE, value);
+        try {
+            jmsTemplate.convertAndSend(topic, map);
+        } catch (JmsException e) {
+            LOG.error("Couldn't broadcast token invalidation", e);
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ import org.orcid.core.manager.ProfileEntityCacheManager;
 import org.orcid.core.oauth.OrcidOAuth2Authentication;
 import org.orcid.core.oauth.OrcidOauth2TokenDetailService;
 import org.orcid.core.oauth.OrcidOauth2UserAuthentication;
+import org.orcid.core.oauth.service.OrcidTokenCache.TokenSnapshot;
 import org.orcid.persistence.jpa.entities.ClientDetailsEntity;
 import org.orcid.persistence.jpa.entities.OrcidOauth2TokenDetail;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
@@ -63,6 +64,9 @@ public class OrcidTokenStoreServiceImpl implements TokenStore {
     
     @Resource
     private AuthenticationKeyGenerator authenticationKeyGenerator;
+    
+    @Resource
+    private OrcidTokenCache orcidTokenCache;
 
     /**
      * Read the authentication stored under the specified token value.
@@ -74,8 +78,8 @@ public class OrcidTokenStoreServiceImpl implements TokenStore {
     @Override
     @Transactional
     public OAuth2Authentication readAuthentication(String token) {
-        OrcidOauth2TokenDetail detail = orcidOauthTokenDetailService.findNonDisabledByTokenValue(token);
-        return getOAuth2AuthenticationFromDetails(detail);
+        TokenSnapshot snapshot = findNonDisabledByTokenValue(token);
+        return getOAuth2AuthenticationFromSnapshot(snapshot);
     }
 
     @Override
@@ -113,8 +117,33 @@ public class OrcidTokenStoreServiceImpl implements TokenStore {
             return null;
         }
 
+        TokenSnapshot snapshot = findNonDisabledByTokenValue(tokenValue);
+        return getOauth2AccessTokenFromSnapshot(snapshot);
+    }
+    
+    /**
+     * Looks the non disabled token up in the token cache first, so hot tokens
+     * are validated without going to the DB. The client and the user are not
+     * cached along with the token, they are still retrieved on every call, so
+     * changes to them apply right away
+     * 
+     * @return a snapshot of the token, or null if it doesn't exist or is
+     *         disabled
+     */
+    private TokenSnapshot findNonDisabledByTokenValue(String tokenValue) {
+        TokenSnapshot snapshot = orcidTokenCache.get(tokenValue);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long readStart = orcidTokenCache.startRead();
         OrcidOauth2TokenDetail detail = orcidOauthTokenDetailService.findNonDisabledByTokenValue(tokenValue);
-        return getOauth2AccessTokenFromDetails(detail);
+        if (detail == null) {
+            return null;
+        }
+        if (!PojoUtil.isEmpty(detail.getClientDetailsId())) {
+            orcidTokenCache.put(readStart, detail);
+        }
+        return new TokenSnapshot(detail);
     }
 
     /**
@@ -261,6 +290,10 @@ public class OrcidTokenStoreServiceImpl implements TokenStore {
     }
 
     private OAuth2AccessToken getOauth2AccessTokenFromDetails(OrcidOauth2TokenDetail detail) {
+        return detail == null ? null : getOauth2AccessTokenFromSnapshot(new TokenSnapshot(detail));
+    }
+
+    private OAuth2AccessToken getOauth2AccessTokenFromSnapshot(TokenSnapshot detail) {
         DefaultOAuth2AccessToken token = null;
         if (detail != null && StringUtils.isNotBlank(detail.getTokenValue())) {
             token = new DefaultOAuth2AccessToken(detail.getTokenValue());
@@ -277,10 +310,10 @@ public class OrcidTokenStoreServiceImpl implements TokenStore {
                 }
                 token.setRefreshToken(rt);
             }
-            ProfileEntity profile = detail.getProfile();                        
-            if (profile != null) {
+            String orcid = detail.getOrcid();
+            if (orcid != null) {
                 Map<String, Object> additionalInfo = new HashMap<String, Object>();
-                additionalInfo.put(OrcidOauth2Constants.ORCID, profile.getId());
+                additionalInfo.put(OrcidOauth2Constants.ORCID, orcid);
                 additionalInfo.put(OrcidOauth2Constants.PERSISTENT, detail.isPersistent());
                 additionalInfo.put(OrcidOauth2Constants.DATE_CREATED, detail.getDateCreated());
                 additionalInfo.put(OrcidOauth2Constants.TOKEN_VERSION, detail.getVersion());
@@ -304,6 +337,15 @@ public class OrcidTokenStoreServiceImpl implements TokenStore {
     }
 
     private OAuth2Authentication getOAuth2AuthenticationFromDetails(OrcidOauth2TokenDetail details) {
+        return getOAuth2AuthenticationFromSnapshot(details == null ? null : new TokenSnapshot(details));
+    }
+
+    /**
+     * Builds the authentication from a snapshot of the token, the profile of
+     * the user is retrieved on every call, so the authentication never holds
+     * lazy associations of a closed session
+     */
+    private OAuth2Authentication getOAuth2AuthenticationFromSnapshot(TokenSnapshot details) {
         if (details != null) {
             ClientDetailsEntity clientDetailsEntity = clientDetailsEntityCacheManager.retrieve(details.getClientDetailsId());
             Authentication authentication = null;
@@ -318,8 +360,8 @@ public class OrcidTokenStoreServiceImpl implements TokenStore {
                 resourceIds.add(details.getResourceId());
                 request.setResourceIds(resourceIds);
                 request.setApproved(details.isApproved());
-                ProfileEntity profile = details.getProfile();
-                if (profile != null) {
+                if (details.getOrcid() != null) {
+                    ProfileEntity profile = profileEntityCacheManager.retrieve(details.getOrcid());
                     authentication = new OrcidOauth2UserAuthentication(profile, details.isApproved());
                 }
             }
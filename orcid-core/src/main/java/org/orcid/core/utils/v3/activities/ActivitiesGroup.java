@@ -11,6 +11,9 @@ import org.orcid.jaxb.model.v3.release.record.GroupableActivity;
 public class ActivitiesGroup {
     private Set<GroupAble> groupKeys;
     private Set<GroupableActivity> activities;
+    // Group ids of the group keys, so adding an activity doesn't need to go
+    // through all the keys
+    private Set<String> groupIds;
 
     public ActivitiesGroup(GroupableActivity activity) {
         groupKeys = new HashSet<GroupAble>();
@@ -27,6 +30,15 @@ public class ActivitiesGroup {
         activities.add(activity);
     }
 
+    /**
+     * Restores a group that was already built, with the given keys and
+     * activities
+     */
+    public ActivitiesGroup(Set<GroupAble> groupKeys, Set<GroupableActivity> activities) {
+        this.groupKeys = groupKeys;
+        this.activities = activities;
+    }
+
     public Set<GroupAble> getGroupKeys() {
         if (groupKeys == null)
             groupKeys = new HashSet<GroupAble>();
@@ -48,12 +60,12 @@ public class ActivitiesGroup {
                 // Dont add grouping keys that dont pass the grouping
                 // validation
                 if (extId.isGroupAble()) {
-                    boolean hasId = false;
-                    for (GroupAble groupKey : groupKeys)
-                        if (groupKey.getGroupId() != null && groupKey.getGroupId().equals(extId.getGroupId()))
-                            hasId = true;
-                    if (!hasId)
+                    String groupId = extId.getGroupId();
+                    if (groupId == null || !getGroupIds().contains(groupId)) {
                         groupKeys.add(extId);
+                        if (groupId != null)
+                            groupIds.add(groupId);
+                    }
                 }
             }
         }
@@ -131,8 +143,11 @@ public class ActivitiesGroup {
         // should not merge empty activities
         // Merge group keys
         for (GroupAble otherKey : otherKeys) {
-            if (!groupKeys.contains(otherKey))
+            if (!groupKeys.contains(otherKey)) {
                 groupKeys.add(otherKey);
+                if (otherKey.getGroupId() != null)
+                    getGroupIds().add(otherKey.getGroupId());
+            }
         }
 
         // Merge activities
@@ -143,11 +158,17 @@ public class ActivitiesGroup {
     }
 
     private boolean containsKey(GroupAble key) {
-        for (GroupAble existingKey : groupKeys)
-            if (existingKey.getGroupId() != null)
-                if (existingKey.getGroupId().equals(key.getGroupId()))
-                    return true;
-        return false;
+        return key.getGroupId() != null && getGroupIds().contains(key.getGroupId());
+    }
+
+    private Set<String> getGroupIds() {
+        if (groupIds == null) {
+            groupIds = new HashSet<String>();
+            for (GroupAble groupKey : getGroupKeys())
+                if (groupKey.getGroupId() != null)
+                    groupIds.add(groupKey.getGroupId());
+        }
+        return groupIds;
     }
 
 }
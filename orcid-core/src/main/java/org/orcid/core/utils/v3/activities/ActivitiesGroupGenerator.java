@@ -2,77 +2,189 @@ package org.orcid.core.utils.v3.activities;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.orcid.jaxb.model.v3.release.record.GroupAble;
 import org.orcid.jaxb.model.v3.release.record.GroupableActivity;
 
-public class ActivitiesGroupGenerator {    
+/**
+ * Groups activities that share a groupable external identifier.
+ *
+ * Groups are kept in a union-find structure: when an activity joins several
+ * groups, the smaller groups are merged into the biggest one and point to it,
+ * so the lookup entries of their keys don't need to be updated. An activity
+ * can also be removed, in which case the rest of its group is grouped again.
+ */
+public class ActivitiesGroupGenerator {
+
+    protected Set<ActivitiesGroup> groups = new LinkedHashSet<ActivitiesGroup>();
 
-    protected List<ActivitiesGroup> groups = new ArrayList<ActivitiesGroup>();
-    
     private Map<GroupAble, ActivitiesGroup> lookup = new HashMap<GroupAble, ActivitiesGroup>();
-    
+
+    // Group each merged group was merged into
+    private Map<ActivitiesGroup, ActivitiesGroup> mergedInto = new IdentityHashMap<ActivitiesGroup, ActivitiesGroup>();
+
+    // Group each activity was added to, it might have been merged since
+    private Map<GroupableActivity, ActivitiesGroup> activityGroups = new HashMap<GroupableActivity, ActivitiesGroup>();
+
     public void group(GroupableActivity activity) {
-        if(groups.isEmpty()) {
-            //If it is the first activity, create a new group for it
+        //Check which groups it belongs to
+        List<ActivitiesGroup> belongsTo = generateBelongsToList(activity);
+
+        //If it doesnt belong to any group, create a new group for it
+        if(belongsTo.isEmpty()) {
             createNewGroup(activity);
-        } else {            
-            //If it is not the first activity, check which groups it belongs to
-            List<ActivitiesGroup> belongsTo = generateBelongsToList(activity);
-            
-            //If it doesnt belong to any group, create a new group for it
-            if(belongsTo.isEmpty()) {
-                createNewGroup(activity);
-            } else {
-                //Get the first group it belongs to
-                ActivitiesGroup firstGroup = belongsTo.get(0);
-                firstGroup.add(activity);
-                
-                //If it belongs to other groups, merge them into the first one
-                if(belongsTo.size() > 1) {
-                    for(int i = 1; i < belongsTo.size(); i++){
-                        mergeAndRemoveGroup(firstGroup, belongsTo.get(i));
-                    }                        
+        } else {
+            //Get the first group it belongs to, which is the biggest one
+            ActivitiesGroup firstGroup = belongsTo.get(0);
+            addToGroup(firstGroup, activity);
+
+            //If it belongs to other groups, merge them into the first one
+            if(belongsTo.size() > 1) {
+                for(int i = 1; i < belongsTo.size(); i++){
+                    mergeAndRemoveGroup(firstGroup, belongsTo.get(i));
                 }
-                updateLookupKeys(firstGroup);
             }
+            updateLookupKeys(firstGroup, activity);
         }
     }
-    
+
+    /**
+     * Removes an activity that was grouped before. The other activities of its
+     * group are grouped again, as they might not be related without it.
+     */
+    public void remove(GroupableActivity activity) {
+        ActivitiesGroup group = getGroup(activity);
+        if (group == null) {
+            return;
+        }
+        activityGroups.remove(activity);
+        groups.remove(group);
+        for (GroupAble key : group.getGroupKeys()) {
+            lookup.remove(key);
+        }
+        for (GroupableActivity other : group.getActivities()) {
+            if (!other.equals(activity)) {
+                group(other);
+            }
+        }
+    }
+
+    /**
+     * Replaces an activity that was grouped before with its new version
+     */
+    public void update(GroupableActivity existing, GroupableActivity updated) {
+        remove(existing);
+        group(updated);
+    }
+
     public List<ActivitiesGroup> getGroups() {
-        return groups;
+        return new ArrayList<ActivitiesGroup>(groups);
     }
-    
+
+    /**
+     * @return the group the given activity belongs to, or null if it hasn't
+     *         been grouped
+     */
+    protected ActivitiesGroup getGroup(GroupableActivity activity) {
+        ActivitiesGroup group = activityGroups.get(activity);
+        return group == null ? null : find(group);
+    }
+
     protected ActivitiesGroup createNewGroup(GroupableActivity activity) {
         ActivitiesGroup newGroup = new ActivitiesGroup(activity);
         groups.add(newGroup);
+        activityGroups.put(activity, newGroup);
         updateLookupKeys(newGroup);
         return newGroup;
     }
-    
+
+    protected void addToGroup(ActivitiesGroup group, GroupableActivity activity) {
+        group.add(activity);
+        activityGroups.put(activity, group);
+    }
+
+    /**
+     * @return the distinct groups the activity belongs to, the biggest one
+     *         first
+     */
     protected List<ActivitiesGroup> generateBelongsToList(GroupableActivity activity) {
         List<ActivitiesGroup> belongsTo = new ArrayList<ActivitiesGroup>();
         ActivitiesGroup thisGroup = new ActivitiesGroup(activity);
+        int biggest = 0;
         for (GroupAble g :thisGroup.getGroupKeys()){
-            if (lookup.containsKey(g)) {
-                belongsTo.add(lookup.get(g));
+            ActivitiesGroup group = lookup.get(g);
+            if (group != null) {
+                group = find(group);
+                if (!containsGroup(belongsTo, group)) {
+                    belongsTo.add(group);
+                    if (group.getActivities().size() > belongsTo.get(biggest).getActivities().size()) {
+                        biggest = belongsTo.size() - 1;
+                    }
+                }
             }
         }
+        if (biggest > 0) {
+            belongsTo.add(0, belongsTo.remove(biggest));
+        }
         return belongsTo;
     }
-    
+
     protected void mergeAndRemoveGroup(ActivitiesGroup keep, ActivitiesGroup discard) {
         if (keep != discard){
             keep.merge(discard);
-            groups.remove(discard);                            
+            groups.remove(discard);
+            mergedInto.put(discard, keep);
         }
     }
-    
+
     protected void updateLookupKeys(ActivitiesGroup group) {
         for (GroupAble g : group.getGroupKeys()){
             lookup.put(g, group);
         }
     }
+
+    /**
+     * Adds the lookup entries of the keys the activity brought into the group.
+     * Keys of groups merged into it keep pointing to the merged groups, which
+     * resolve to this one.
+     */
+    protected void updateLookupKeys(ActivitiesGroup group, GroupableActivity activity) {
+        if (activity.getExternalIdentifiers() == null) {
+            return;
+        }
+        for (GroupAble g : activity.getExternalIdentifiers().getExternalIdentifier()) {
+            if (g.isGroupAble() && !lookup.containsKey(g) && group.getGroupKeys().contains(g)) {
+                lookup.put(g, group);
+            }
+        }
+    }
+
+    private ActivitiesGroup find(ActivitiesGroup group) {
+        ActivitiesGroup root = group;
+        ActivitiesGroup parent;
+        while ((parent = mergedInto.get(root)) != null) {
+            root = parent;
+        }
+        // Path compression
+        while (group != root) {
+            ActivitiesGroup next = mergedInto.get(group);
+            mergedInto.put(group, root);
+            group = next;
+        }
+        return root;
+    }
+
+    private boolean containsGroup(List<ActivitiesGroup> list, ActivitiesGroup group) {
+        for (ActivitiesGroup existing : list) {
+            if (existing == group) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -2,8 +2,10 @@ package org.orcid.core.utils.v3.activities;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.orcid.jaxb.model.v3.release.record.ExternalID;
 import org.orcid.jaxb.model.v3.release.record.GroupableActivity;
@@ -19,44 +21,53 @@ public class WorkGroupAndGroupingSuggestionGenerator extends ActivitiesGroupGene
 
     private Map<String, List<ActivitiesGroup>> potentialGroupingSuggestions = new HashMap<>();
 
+    // Titles each group is mapped to, so merged and removed groups can be
+    // unmapped without going through all the titles
+    private Map<ActivitiesGroup, Set<String>> titlesByGroup = new HashMap<>();
+
+    @Override
     public void group(GroupableActivity activity) {
         if (!(activity instanceof WorkSummary)) {
             throw new IllegalArgumentException("Argument must be of type WorkSummary");
         }
-        WorkSummary workSummary = (WorkSummary) activity;
-        
-        if (groups.isEmpty()) {
-            // If it is the first activity, create a new group for it
-            ActivitiesGroup newGroup = createNewGroup(activity);
-            mapGroupToTitle(newGroup, workSummary);
-        } else {
-            // If it is not the first activity, check which groups it belongs to
-            List<ActivitiesGroup> belongsTo = generateBelongsToList(activity);
-
-            // If it doesnt belong to any group, create a new group for it
-            if (belongsTo.isEmpty()) {
-                ActivitiesGroup newGroup = createNewGroup(activity);
-                mapGroupToTitle(newGroup, workSummary);
-            } else {
-                // Get the first group it belongs to
-                ActivitiesGroup firstGroup = belongsTo.get(0);
-                firstGroup.add(activity);
-                mapGroupToTitle(firstGroup, workSummary);
-
-                // If it belongs to other groups, merge them into the first one
-                if (belongsTo.size() > 1) {
-                    for (int i = 1; i < belongsTo.size(); i++) {
-                        // Merge the group
-                        mergeAndRemoveGroup(firstGroup, belongsTo.get(i));
-                        switchGroup(belongsTo.get(i), firstGroup);
-                    }
-                }
-                updateLookupKeys(firstGroup);
-            }
+        super.group(activity);
+    }
+
+    @Override
+    public void remove(GroupableActivity activity) {
+        ActivitiesGroup group = getGroup(activity);
+        if (group != null) {
+            unmapGroup(group);
+        }
+        super.remove(activity);
+    }
+
+    @Override
+    protected ActivitiesGroup createNewGroup(GroupableActivity activity) {
+        ActivitiesGroup newGroup = super.createNewGroup(activity);
+        mapGroupToTitle(newGroup, (WorkSummary) activity);
+        return newGroup;
+    }
+
+    @Override
+    protected void addToGroup(ActivitiesGroup group, GroupableActivity activity) {
+        super.addToGroup(group, activity);
+        mapGroupToTitle(group, (WorkSummary) activity);
+    }
+
+    @Override
+    protected void mergeAndRemoveGroup(ActivitiesGroup keep, ActivitiesGroup discard) {
+        super.mergeAndRemoveGroup(keep, discard);
+        if (keep != discard) {
+            switchGroup(discard, keep);
         }
     }
 
     public List<WorkGroupingSuggestion> getGroupingSuggestions(String orcid) {
+        return getGroupingSuggestions(orcid, potentialGroupingSuggestions);
+    }
+
+    private static List<WorkGroupingSuggestion> getGroupingSuggestions(String orcid, Map<String, List<ActivitiesGroup>> potentialGroupingSuggestions) {
         List<WorkGroupingSuggestion> suggestions = new ArrayList<>();
         for (String title : potentialGroupingSuggestions.keySet()) {
             List<ActivitiesGroup> groups = potentialGroupingSuggestions.get(title);
@@ -92,18 +103,42 @@ public class WorkGroupAndGroupingSuggestionGenerator extends ActivitiesGroupGene
     }
 
     private void switchGroup(ActivitiesGroup oldGroup, ActivitiesGroup newGroup) {
-        for (String title : potentialGroupingSuggestions.keySet()) {
+        Set<String> titles = titlesByGroup.remove(oldGroup);
+        if (titles == null) {
+            return;
+        }
+        for (String title : titles) {
             List<ActivitiesGroup> mappedGroups = potentialGroupingSuggestions.get(title);
-            if (mappedGroups.contains(oldGroup)) {
-                mappedGroups.remove(oldGroup);
-                if (!mappedGroups.contains(newGroup)) {
-                    mappedGroups.add(newGroup);
-                }
+            mappedGroups.remove(oldGroup);
+            if (!mappedGroups.contains(newGroup)) {
+                mappedGroups.add(newGroup);
+            }
+        }
+        titlesByGroup.computeIfAbsent(newGroup, k -> new HashSet<>()).addAll(titles);
+    }
+
+    private void unmapGroup(ActivitiesGroup group) {
+        Set<String> titles = titlesByGroup.remove(group);
+        if (titles == null) {
+            return;
+        }
+        for (String title : titles) {
+            List<ActivitiesGroup> mappedGroups = potentialGroupingSuggestions.get(title);
+            mappedGroups.remove(group);
+            if (mappedGroups.isEmpty()) {
+                potentialGroupingSuggestions.remove(title);
             }
         }
     }
 
     private void mapGroupToTitle(ActivitiesGroup group, WorkSummary workSummary) {
+        mapGroupToTitle(potentialGroupingSuggestions, group, workSummary);
+        if (!workTitleEmpty(workSummary.getTitle())) {
+            titlesByGroup.computeIfAbsent(group, k -> new HashSet<>()).add(transformForTitleComparison(workSummary.getTitle().getTitle().getContent()));
+        }
+    }
+
+    private static void mapGroupToTitle(Map<String, List<ActivitiesGroup>> potentialGroupingSuggestions, ActivitiesGroup group, WorkSummary workSummary) {
         if (!workTitleEmpty(workSummary.getTitle())) {
             String title = transformForTitleComparison(workSummary.getTitle().getTitle().getContent());
             List<ActivitiesGroup> groups = potentialGroupingSuggestions.get(title);
@@ -117,16 +152,12 @@ public class WorkGroupAndGroupingSuggestionGenerator extends ActivitiesGroupGene
         }
     }
 
-    private String transformForTitleComparison(String titleContent) {
+    private static String transformForTitleComparison(String titleContent) {
         return titleContent.toLowerCase().replaceAll("\\s", "");
     }
 
-    private boolean workTitleEmpty(WorkTitle workTitle) {
+    private static boolean workTitleEmpty(WorkTitle workTitle) {
         return workTitle == null || workTitle.getTitle() == null || workTitle.getTitle().getContent() == null || workTitle.getTitle().getContent().isEmpty();
     }
 
-    public List<ActivitiesGroup> getGroups() {
-        return groups;
-    }
-
 }
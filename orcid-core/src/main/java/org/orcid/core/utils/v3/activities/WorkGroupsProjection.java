@@ -0,0 +1,176 @@
+package org.orcid.core.utils.v3.activities;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.orcid.jaxb.model.v3.release.record.ExternalID;
+import org.orcid.jaxb.model.v3.release.record.GroupAble;
+import org.orcid.jaxb.model.v3.release.record.GroupableActivity;
+import org.orcid.jaxb.model.v3.release.record.summary.WorkSummary;
+
+/**
+ * The group membership of the works of a record, kept from one grouping to
+ * the next so only the groups touched by a change have to be grouped again.
+ *
+ * Grouping only depends on the groupable external identifiers of each work,
+ * so a work has changed when its put code is new, gone, or its groupable
+ * external identifiers are different. A group is regrouped when it contains
+ * a changed work, or when one of its works shares an external identifier with
+ * the new version of a changed work. Every other group is kept as it was,
+ * with the current summaries of its works.
+ *
+ * Instances are not modified once built, so they can be shared between
+ * threads.
+ */
+public class WorkGroupsProjection implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Long, Set<ExternalID>> keysByPutCode = new HashMap<>();
+
+    private final List<GroupProjection> groups = new ArrayList<>();
+
+    private WorkGroupsProjection() {
+
+    }
+
+    /**
+     * Groups the given works from scratch
+     */
+    public static List<ActivitiesGroup> group(List<WorkSummary> summaries) {
+        ActivitiesGroupGenerator generator = new ActivitiesGroupGenerator();
+        for (WorkSummary summary : summaries) {
+            generator.group(summary);
+        }
+        return generator.getGroups();
+    }
+
+    /**
+     * Builds the projection of the given work groups
+     */
+    public static WorkGroupsProjection of(List<ActivitiesGroup> groups) {
+        WorkGroupsProjection projection = new WorkGroupsProjection();
+        for (ActivitiesGroup group : groups) {
+            List<Long> putCodes = new ArrayList<>(group.getActivities().size());
+            for (GroupableActivity activity : group.getActivities()) {
+                WorkSummary summary = (WorkSummary) activity;
+                putCodes.add(summary.getPutCode());
+                projection.keysByPutCode.put(summary.getPutCode(), getGroupableKeys(summary));
+            }
+            List<ExternalID> keys = new ArrayList<>(group.getGroupKeys().size());
+            for (GroupAble key : group.getGroupKeys()) {
+                keys.add(((ExternalID) key).clone());
+            }
+            projection.groups.add(new GroupProjection(putCodes, keys));
+        }
+        return projection;
+    }
+
+    /**
+     * Groups the given works, which are the current works of the record this
+     * projection was built for, reusing every group the changes don't touch
+     */
+    public List<ActivitiesGroup> regroup(List<WorkSummary> summaries) {
+        Map<Long, WorkSummary> current = new HashMap<>(summaries.size() * 2);
+        Set<Long> changed = new HashSet<>();
+        Set<ExternalID> changedKeys = new HashSet<>();
+        for (WorkSummary summary : summaries) {
+            current.put(summary.getPutCode(), summary);
+            Set<ExternalID> keys = getGroupableKeys(summary);
+            if (!keys.equals(keysByPutCode.get(summary.getPutCode()))) {
+                changed.add(summary.getPutCode());
+                changedKeys.addAll(keys);
+            }
+        }
+        for (Long putCode : keysByPutCode.keySet()) {
+            if (!current.containsKey(putCode)) {
+                changed.add(putCode);
+            }
+        }
+
+        List<ActivitiesGroup> result = new ArrayList<>(groups.size());
+        if (changed.isEmpty()) {
+            for (GroupProjection group : groups) {
+                result.add(group.toActivitiesGroup(current));
+            }
+            return result;
+        }
+
+        ActivitiesGroupGenerator generator = new ActivitiesGroupGenerator();
+        for (GroupProjection group : groups) {
+            if (isAffected(group, changed, changedKeys)) {
+                for (Long putCode : group.putCodes) {
+                    if (!changed.contains(putCode)) {
+                        generator.group(current.get(putCode));
+                    }
+                }
+            } else {
+                result.add(group.toActivitiesGroup(current));
+            }
+        }
+        for (WorkSummary summary : summaries) {
+            if (changed.contains(summary.getPutCode())) {
+                generator.group(summary);
+            }
+        }
+        result.addAll(generator.getGroups());
+        return result;
+    }
+
+    private boolean isAffected(GroupProjection group, Set<Long> changed, Set<ExternalID> changedKeys) {
+        for (Long putCode : group.putCodes) {
+            if (changed.contains(putCode)) {
+                return true;
+            }
+            if (!changedKeys.isEmpty() && !Collections.disjoint(keysByPutCode.get(putCode), changedKeys)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<ExternalID> getGroupableKeys(WorkSummary summary) {
+        Set<ExternalID> keys = new HashSet<>();
+        if (summary.getExternalIdentifiers() != null) {
+            for (ExternalID extId : summary.getExternalIdentifiers().getExternalIdentifier()) {
+                if (extId.isGroupAble()) {
+                    keys.add(extId.clone());
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static class GroupProjection implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Long> putCodes;
+
+        private final List<ExternalID> keys;
+
+        private GroupProjection(List<Long> putCodes, List<ExternalID> keys) {
+            this.putCodes = putCodes;
+            this.keys = keys;
+        }
+
+        private ActivitiesGroup toActivitiesGroup(Map<Long, WorkSummary> current) {
+            Set<GroupableActivity> activities = new HashSet<>(putCodes.size() * 2);
+            for (Long putCode : putCodes) {
+                activities.add(current.get(putCode));
+            }
+            Set<GroupAble> groupKeys = new HashSet<>(keys.size() * 2);
+            for (ExternalID key : keys) {
+                groupKeys.add(key.clone());
+            }
+            return new ActivitiesGroup(groupKeys, activities);
+        }
+    }
+
+}
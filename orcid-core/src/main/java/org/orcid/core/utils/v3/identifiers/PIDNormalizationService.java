@@ -9,6 +9,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,6 +17,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.validator.routines.UrlValidator;
 import org.orcid.core.manager.IdentifierTypeManager;
 import org.orcid.core.utils.v3.identifiers.normalizers.Normalizer;
@@ -24,6 +26,9 @@ import org.orcid.pojo.IdentifierType;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.stereotype.Component;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 @Component("PIDNormalizationService")
 public class PIDNormalizationService {
     
@@ -35,6 +40,13 @@ public class PIDNormalizationService {
 
     Map<String, LinkedList<Normalizer>> map = new HashMap<String, LinkedList<Normalizer>>();
 
+    //normalising goes through a list of regex based normalizers, and it is done for every external id every time a work is read,
+    //so we remember the results for the most common (type, value) pairs. Normalised values only depend on the normalizers.
+    Cache<Pair<String, String>, String> normalisedValues = CacheBuilder.newBuilder().maximumSize(100000).build();
+
+    //URLs also include the resolution prefix of the identifier type, which can be edited, so they expire along with the identifier types cache
+    Cache<Pair<String, String>, String> normalisedURLs = CacheBuilder.newBuilder().maximumSize(100000).expireAfterWrite(15, TimeUnit.MINUTES).build();
+
     @PostConstruct
     public void init() {
         Collections.sort(normalizers, AnnotationAwareOrderComparator.INSTANCE);
@@ -67,6 +79,17 @@ public class PIDNormalizationService {
     public String normalise(String apiTypeName, String value) {
         if (apiTypeName == null || value == null || !map.containsKey(apiTypeName))
             return value;
+        Pair<String, String> key = Pair.of(apiTypeName, value);
+        String returnValue = normalisedValues.getIfPresent(key);
+        if (returnValue == null) {
+            returnValue = doNormalise(apiTypeName, value);
+            if (returnValue != null)
+                normalisedValues.put(key, returnValue);
+        }
+        return returnValue;
+    }
+
+    private String doNormalise(String apiTypeName, String value) {
         String returnValue = value;
         for (Normalizer n : map.get(apiTypeName)) {
             returnValue = n.normalise(apiTypeName, returnValue);
@@ -87,6 +110,20 @@ public class PIDNormalizationService {
     public String generateNormalisedURL(String apiTypeName, String value){
         if (apiTypeName == null)
             return value;
+        if (value == null)
+            return doGenerateNormalisedURL(apiTypeName, value);
+        Pair<String, String> key = Pair.of(apiTypeName, value);
+        String url = normalisedURLs.getIfPresent(key);
+        if (url == null) {
+            //exceptions are not cached, the next call will try again
+            url = doGenerateNormalisedURL(apiTypeName, value);
+            if (url != null)
+                normalisedURLs.put(key, url);
+        }
+        return url;
+    }
+
+    private String doGenerateNormalisedURL(String apiTypeName, String value){
         String norm = value;
         
         //generate normalized value (some have additional transform here)
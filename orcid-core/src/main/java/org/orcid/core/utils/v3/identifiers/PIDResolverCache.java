@@ -3,13 +3,18 @@ package org.orcid.core.utils.v3.identifiers;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.orcid.core.exception.UnexpectedResponseCodeException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.google.common.cache.CacheBuilder;
@@ -31,6 +36,8 @@ public class PIDResolverCache {
             String loc = con.getHeaderField("Location");
             
             HttpURLConnection conRedirect = (HttpURLConnection) new URL(loc).openConnection();
+            conRedirect.setConnectTimeout(con.getConnectTimeout());
+            conRedirect.setReadTimeout(con.getReadTimeout());
             conRedirect.setRequestMethod(con.getRequestMethod());
             for (String key : requestProperties.keySet()) {
                 for (String value : requestProperties.get(key)) {
@@ -43,20 +50,36 @@ public class PIDResolverCache {
         return con;
     }
     
+    @Value("${org.orcid.core.pidResolver.connectTimeoutMillis:5000}")
+    private int connectTimeout = 5000;
+
+    @Value("${org.orcid.core.pidResolver.readTimeoutMillis:10000}")
+    private int readTimeout = 10000;
+
+    @Value("${org.orcid.core.pidResolver.maxConcurrentRequestsPerHost:5}")
+    private int maxConcurrentRequestsPerHost = 5;
+
+    //limits the requests made at the same time to each host, so a slow host doesn't take all the threads resolving links
+    private ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<String, Semaphore>();
+
     //these caches ensure we only attempt to resolve once if multiple requests to resolve are made.
+    //links that don't resolve are cached too, so we don't keep checking them.
     //checks for a 200 at the end of a redirect chain (does not handle cookies!)
     LoadingCache<String, Boolean> is200 = CacheBuilder.newBuilder().expireAfterWrite(20, TimeUnit.MINUTES).maximumSize(10000).build(
             new CacheLoader<String, Boolean>() {
-                public Boolean load(String url){
+                public Boolean load(String url) throws IOException, InterruptedException {
+                    Semaphore permits = acquire(url);
                     try {
-                        HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+                        HttpURLConnection con = openConnection(url);
                         con.setRequestMethod("HEAD");
                         con.setInstanceFollowRedirects(true);
                         con = doProtocolRedirect(con, 0);
                         return (con.getResponseCode() == HttpURLConnection.HTTP_OK);            
                     } catch (IOException e) {
                         //nothing
-                    }  
+                    } finally {
+                        release(permits);
+                    }
                     return false;
                 }
               });
@@ -64,15 +87,18 @@ public class PIDResolverCache {
     //checks the link resolves directly to a 303
     LoadingCache<String, Boolean> is303 = CacheBuilder.newBuilder().expireAfterWrite(20, TimeUnit.MINUTES).maximumSize(10000).build(
             new CacheLoader<String, Boolean>() {
-                public Boolean load(String url){
+                public Boolean load(String url) throws IOException, InterruptedException {
+                    Semaphore permits = acquire(url);
                     try {
-                        HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+                        HttpURLConnection con = openConnection(url);
                         con.setRequestMethod("HEAD");
                         con.setInstanceFollowRedirects(false);
                         return (con.getResponseCode() == HttpURLConnection.HTTP_SEE_OTHER);
                     } catch (IOException e) {
                         //nope.
-                    }  
+                    } finally {
+                        release(permits);
+                    }
                     return false;
                 }
             });
@@ -80,16 +106,19 @@ public class PIDResolverCache {
     //checks the link resolves directly to metadata via content negotiation.
     LoadingCache<String, Boolean> isValidDOI = CacheBuilder.newBuilder().expireAfterWrite(20, TimeUnit.MINUTES).maximumSize(10000).build(
             new CacheLoader<String, Boolean>() {
-                public Boolean load(String url){
+                public Boolean load(String url) throws IOException, InterruptedException {
+                    Semaphore permits = acquire(url);
                     try {
-                        HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+                        HttpURLConnection con = openConnection(url);
                         con.addRequestProperty("Accept", "application/vnd.citationstyles.csl+json");
                         con.setRequestMethod("HEAD");
                         con.setInstanceFollowRedirects(false);
                         return (con.getResponseCode() == HttpURLConnection.HTTP_SEE_OTHER || con.getResponseCode() == HttpURLConnection.HTTP_MOVED_TEMP || con.getResponseCode() == HttpURLConnection.HTTP_MOVED_PERM);
                     } catch (IOException e) {
                         //nope.
-                    }  
+                    } finally {
+                        release(permits);
+                    }
                     return false;
                 }
             });
@@ -119,7 +148,7 @@ public class PIDResolverCache {
     }
     
     public InputStream get(String url, String accept) throws IOException {
-        HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+        HttpURLConnection con = openConnection(url);
         con.addRequestProperty("Accept", accept);
         con.setRequestMethod("GET");
         con.setInstanceFollowRedirects(true);
@@ -130,4 +159,37 @@ public class PIDResolverCache {
         
         throw new UnexpectedResponseCodeException(con.getResponseCode());
     }
+
+    private HttpURLConnection openConnection(String url) throws IOException {
+        HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+        con.setConnectTimeout(connectTimeout);
+        con.setReadTimeout(readTimeout);
+        return con;
+    }
+
+    /**
+     * Waits for a free request slot for the host of the given url. Loads that
+     * can't get one fail without caching a result, so they are tried again on
+     * the next request.
+     */
+    private Semaphore acquire(String url) throws IOException, InterruptedException {
+        String host;
+        try {
+            host = new URL(url).getHost();
+        } catch (MalformedURLException e) {
+            // Nothing to limit, opening the connection will fail
+            return null;
+        }
+        Semaphore permits = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxConcurrentRequestsPerHost));
+        if (!permits.tryAcquire(connectTimeout + readTimeout, TimeUnit.MILLISECONDS)) {
+            throw new IOException("Too many concurrent requests to " + host);
+        }
+        return permits;
+    }
+
+    private void release(Semaphore permits) {
+        if (permits != null) {
+            permits.release();
+        }
+    }
 }
@@ -7,6 +7,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
@@ -34,6 +38,9 @@ public class PIDResolverService {
     @Resource
     IdentifierTypeManager idman;
 
+    @Resource(name = "pidResolverTaskExecutor")
+    Executor resolverExecutor;
+
     Map<String, LinkedList<LinkResolver>> linkResolverMap = new HashMap<String, LinkedList<LinkResolver>>();
     Map<String, LinkedList<MetadataResolver>> metaResolverMap = new HashMap<String, LinkedList<MetadataResolver>>();
 
@@ -100,6 +107,15 @@ public class PIDResolverService {
         return result;
     }
 
+    /**
+     * Same as {@link #resolve(String, String)}, but the resolution is done by
+     * the resolver thread pool, so the caller doesn't wait for the remote
+     * hosts. If the pool is too busy to take the resolution the future fails.
+     */
+    public CompletableFuture<PIDResolutionResult> resolveAsync(String apiTypeName, String value) {
+        return supplyAsync(() -> resolve(apiTypeName, value));
+    }
+
     /**
      * Returns a Work populated with metadata attached to the PID NOTE: may only
      * be semi-populated. Ensure this is the API type name, not the DB type
@@ -122,6 +138,24 @@ public class PIDResolverService {
         return null;
     }
 
+    /**
+     * Same as {@link #resolveMetadata(String, String)}, but the resolution is
+     * done by the resolver thread pool.
+     */
+    public CompletableFuture<Work> resolveMetadataAsync(String apiTypeName, String value) {
+        return supplyAsync(() -> resolveMetadata(apiTypeName, value));
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, resolverExecutor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> rejected = new CompletableFuture<T>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
     private Work checkWorkAndIdentifierTypes(Work work) {
         if (WorkType.BOOK_CHAPTER.equals(work.getWorkType())) {
             for (ExternalID externalID : work.getExternalIdentifiers().getExternalIdentifier()) {
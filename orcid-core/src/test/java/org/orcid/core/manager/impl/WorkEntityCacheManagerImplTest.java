@@ -0,0 +1,111 @@
+package org.orcid.core.manager.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ehcache.Cache;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.orcid.persistence.jpa.entities.MinimizedWorkEntity;
+import org.orcid.persistence.jpa.entities.WorkBaseEntity;
+import org.orcid.utils.ReleaseNameUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class WorkEntityCacheManagerImplTest {
+
+    @Mock
+    private Cache<WorkCacheKey, WorkBaseEntity> workCache;
+
+    private WorkEntityCacheManagerImpl workEntityCacheManager;
+
+    private String releaseName = ReleaseNameUtils.getReleaseName();
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        workEntityCacheManager = new WorkEntityCacheManagerImpl(10, 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRetrieveWorkListUsesBulkCacheOperations() {
+        Date now = new Date();
+        Date before = new Date(now.getTime() - 1000);
+        MinimizedWorkEntity cached = getWork(1L, now);
+        MinimizedWorkEntity stale = getWork(2L, before);
+        MinimizedWorkEntity refreshed2 = getWork(2L, now);
+        MinimizedWorkEntity refreshed3 = getWork(3L, now);
+
+        Map<WorkCacheKey, WorkBaseEntity> cachedWorks = new HashMap<>();
+        cachedWorks.put(new WorkCacheKey(1L, releaseName), cached);
+        cachedWorks.put(new WorkCacheKey(2L, releaseName), stale);
+        cachedWorks.put(new WorkCacheKey(3L, releaseName), null);
+        Mockito.when(workCache.getAll(Mockito.anySet())).thenReturn(cachedWorks);
+
+        Map<Long, Date> workIdsWithLastModified = new LinkedHashMap<>();
+        workIdsWithLastModified.put(1L, now);
+        workIdsWithLastModified.put(2L, now);
+        workIdsWithLastModified.put(3L, now);
+
+        List<MinimizedWorkEntity> works = workEntityCacheManager.retrieveWorkList("orcid", workIdsWithLastModified, workCache, ids -> {
+            assertEquals(Arrays.asList(2L, 3L), ids);
+            // The DB doesn't return them in order
+            return Arrays.asList(refreshed3, refreshed2);
+        });
+
+        assertEquals(3, works.size());
+        assertSame(cached, works.get(0));
+        assertSame(refreshed2, works.get(1));
+        assertSame(refreshed3, works.get(2));
+
+        ArgumentCaptor<Set<WorkCacheKey>> keys = ArgumentCaptor.forClass(Set.class);
+        Mockito.verify(workCache, Mockito.times(1)).getAll(keys.capture());
+        assertEquals(3, keys.getValue().size());
+        ArgumentCaptor<Map<WorkCacheKey, WorkBaseEntity>> put = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(workCache, Mockito.times(1)).putAll(put.capture());
+        assertEquals(2, put.getValue().size());
+        assertSame(refreshed2, put.getValue().get(new WorkCacheKey(2L, releaseName)));
+        assertSame(refreshed3, put.getValue().get(new WorkCacheKey(3L, releaseName)));
+        Mockito.verify(workCache, Mockito.never()).get(Mockito.any());
+        Mockito.verify(workCache, Mockito.never()).put(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testRetrieveWorkListAllCached() {
+        Date now = new Date();
+        MinimizedWorkEntity cached = getWork(1L, now);
+        Map<WorkCacheKey, WorkBaseEntity> cachedWorks = new HashMap<>();
+        cachedWorks.put(new WorkCacheKey(1L, releaseName), cached);
+        Mockito.when(workCache.getAll(Mockito.anySet())).thenReturn(cachedWorks);
+
+        Map<Long, Date> workIdsWithLastModified = new LinkedHashMap<>();
+        workIdsWithLastModified.put(1L, now);
+        List<MinimizedWorkEntity> works = workEntityCacheManager.retrieveWorkList("orcid", workIdsWithLastModified, workCache, ids -> {
+            throw new AssertionError("Nothing should be fetched from the DB");
+        });
+
+        assertEquals(1, works.size());
+        assertSame(cached, works.get(0));
+        Mockito.verify(workCache, Mockito.never()).putAll(Mockito.anyMap());
+    }
+
+    private MinimizedWorkEntity getWork(Long id, Date lastModified) {
+        MinimizedWorkEntity work = new MinimizedWorkEntity();
+        work.setId(id);
+        ReflectionTestUtils.setField(work, "lastModified", lastModified);
+        return work;
+    }
+
+}
@@ -4,9 +4,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -17,9 +20,13 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.orcid.core.exception.MissingGroupableExternalIDException;
 import org.orcid.core.manager.v3.impl.GroupingSuggestionManagerImpl;
+import org.orcid.core.togglz.Features;
 import org.orcid.persistence.dao.RejectedGroupingSuggestionDao;
 import org.orcid.persistence.jpa.entities.RejectedGroupingSuggestionEntity;
 import org.orcid.pojo.grouping.WorkGroupingSuggestion;
+import org.togglz.core.context.FeatureContext;
+import org.togglz.testing.TestFeatureManager;
+import org.togglz.testing.TestFeatureManagerProvider;
 
 public class GroupingSuggestionManagerTest {
 
@@ -37,16 +44,29 @@ public class GroupingSuggestionManagerTest {
     
     @Captor
     private ArgumentCaptor<List<WorkGroupingSuggestion>> suggestionListCaptor;
+    
+    private TestFeatureManager featureManager = new TestFeatureManager(Features.class);
+    
+    private List<Runnable> scheduledTasks = new ArrayList<>();
 
     @Before
     public void beforeClass() {
         MockitoAnnotations.initMocks(this);
+        groupingSuggestionManager.setGroupingSuggestionsExecutor(scheduledTasks::add);
+        TestFeatureManagerProvider.setFeatureManager(featureManager);
+        FeatureContext.clearCache();
+    }
+    
+    @After
+    public void after() {
+        TestFeatureManagerProvider.setFeatureManager(null);
+        FeatureContext.clearCache();
     }
 
     @Test
     public void testCacheGroupingSuggestionsNoRejection() {
         Mockito.when(groupingSuggestionDao.findGroupingSuggestionIdAndOrcid(Mockito.eq("orcid"), Mockito.eq("1,2"))).thenReturn(null);
-        Mockito.doNothing().when(groupingSuggestionsCacheManager).putGroupingSuggestions(Mockito.eq("orcid"), suggestionListCaptor.capture());
+        Mockito.doNothing().when(groupingSuggestionsCacheManager).putGroupingSuggestions(Mockito.eq("orcid"), Mockito.anyLong(), suggestionListCaptor.capture());
         
         WorkGroupingSuggestion suggestion = getWorkGroupingSuggestion(new Long[] { 1L, 2L });
         groupingSuggestionManager.cacheGroupingSuggestions("orcid", Arrays.asList(suggestion));
@@ -61,7 +81,7 @@ public class GroupingSuggestionManagerTest {
     public void testCacheGroupingSuggestionsOneRejection() {
         Mockito.when(groupingSuggestionDao.findGroupingSuggestionIdAndOrcid(Mockito.eq("orcid"), Mockito.eq("1,2"))).thenReturn(getRejectedGroupingSuggestion("orcid", "1,2"));
         Mockito.when(groupingSuggestionDao.findGroupingSuggestionIdAndOrcid(Mockito.eq("orcid"), Mockito.eq("3,4"))).thenReturn(null);
-        Mockito.doNothing().when(groupingSuggestionsCacheManager).putGroupingSuggestions(Mockito.eq("orcid"), suggestionListCaptor.capture());
+        Mockito.doNothing().when(groupingSuggestionsCacheManager).putGroupingSuggestions(Mockito.eq("orcid"), Mockito.anyLong(), suggestionListCaptor.capture());
         
         WorkGroupingSuggestion first = getWorkGroupingSuggestion(new Long[] { 1L, 2L });
         WorkGroupingSuggestion second = getWorkGroupingSuggestion(new Long[] { 3L, 4L });
@@ -75,7 +95,7 @@ public class GroupingSuggestionManagerTest {
     
     @Test
     public void testCacheGroupingSuggestionsAllRejected() {
-        Mockito.doNothing().when(groupingSuggestionsCacheManager).putGroupingSuggestions(Mockito.eq("orcid"), suggestionListCaptor.capture());
+        Mockito.doNothing().when(groupingSuggestionsCacheManager).putGroupingSuggestions(Mockito.eq("orcid"), Mockito.anyLong(), suggestionListCaptor.capture());
         Mockito.when(groupingSuggestionDao.findGroupingSuggestionIdAndOrcid(Mockito.eq("orcid"), Mockito.eq("1,2"))).thenReturn(getRejectedGroupingSuggestion("orcid", "1,2"));
         Mockito.when(groupingSuggestionDao.findGroupingSuggestionIdAndOrcid(Mockito.eq("orcid"), Mockito.eq("3,4"))).thenReturn(getRejectedGroupingSuggestion("orcid", "3,4"));
         Mockito.when(groupingSuggestionDao.findGroupingSuggestionIdAndOrcid(Mockito.eq("orcid"), Mockito.eq("5,6"))).thenReturn(getRejectedGroupingSuggestion("orcid", "5,6"));
@@ -119,7 +139,7 @@ public class GroupingSuggestionManagerTest {
     
     @Test
     public void testCacheGroupingSuggestions() {
-        Mockito.doNothing().when(groupingSuggestionsCacheManager).putGroupingSuggestions(Mockito.eq("orcid"), suggestionListCaptor.capture());
+        Mockito.doNothing().when(groupingSuggestionsCacheManager).putGroupingSuggestions(Mockito.eq("orcid"), Mockito.anyLong(), suggestionListCaptor.capture());
         Mockito.when(groupingSuggestionDao.findGroupingSuggestionIdAndOrcid(Mockito.eq("orcid"), Mockito.eq("1,2,3"))).thenReturn(getRejectedGroupingSuggestion("orcid", "1,2,3"));
         Mockito.when(groupingSuggestionDao.findGroupingSuggestionIdAndOrcid(Mockito.eq("orcid"), Mockito.eq("4,5,6"))).thenReturn(null);
         
@@ -132,6 +152,80 @@ public class GroupingSuggestionManagerTest {
         assertEquals("4,5,6", suggestions.get(0).getPutCodesAsString());
     }
 
+    @Test
+    public void testScheduleGroupingSuggestionsGenerationFeatureDisabled() {
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration("orcid");
+        assertTrue(scheduledTasks.isEmpty());
+    }
+    
+    @Test
+    public void testScheduleGroupingSuggestionsGenerationIsDedupedPerOrcid() {
+        featureManager.enable(Features.GROUPING_SUGGESTIONS);
+        Mockito.when(workManager.getWorksSummaryList(Mockito.anyString())).thenReturn(new ArrayList<>());
+        
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration("orcid");
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration("orcid");
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration("other");
+        assertEquals(2, scheduledTasks.size());
+        
+        scheduledTasks.forEach(Runnable::run);
+        Mockito.verify(workManager, Mockito.times(1)).getWorksSummaryList(Mockito.eq("orcid"));
+        Mockito.verify(workManager, Mockito.times(1)).getWorksSummaryList(Mockito.eq("other"));
+        Mockito.verify(groupingSuggestionsCacheManager, Mockito.times(1)).putGroupingSuggestions(Mockito.eq("orcid"), Mockito.anyLong(), Mockito.anyList());
+        
+        // Once generated, the record can be scheduled again
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration("orcid");
+        assertEquals(3, scheduledTasks.size());
+    }
+    
+    @Test
+    public void testChangesWhileGeneratingGenerateAgain() {
+        featureManager.enable(Features.GROUPING_SUGGESTIONS);
+        AtomicInteger generations = new AtomicInteger();
+        Mockito.when(workManager.getWorksSummaryList(Mockito.eq("orcid"))).thenAnswer(invocation -> {
+            if (generations.incrementAndGet() == 1) {
+                groupingSuggestionManager.scheduleGroupingSuggestionsGeneration("orcid");
+            }
+            return new ArrayList<>();
+        });
+        
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration("orcid");
+        assertEquals(1, scheduledTasks.size());
+        scheduledTasks.get(0).run();
+        
+        // The change is picked up by the running generation
+        assertEquals(1, scheduledTasks.size());
+        Mockito.verify(workManager, Mockito.times(2)).getWorksSummaryList(Mockito.eq("orcid"));
+        Mockito.verify(groupingSuggestionsCacheManager, Mockito.times(2)).putGroupingSuggestions(Mockito.eq("orcid"), Mockito.anyLong(), Mockito.anyList());
+    }
+    
+    @Test
+    public void testSuggestionsAreStoredUnderTheWorksLastModifiedTheyWereGeneratedFrom() {
+        featureManager.enable(Features.GROUPING_SUGGESTIONS);
+        AtomicInteger worksLastModified = new AtomicInteger(1000);
+        Mockito.when(groupingSuggestionsCacheManager.getWorksLastModified(Mockito.eq("orcid"))).thenAnswer(invocation -> (long) worksLastModified.get());
+        Mockito.when(workManager.getWorksSummaryList(Mockito.eq("orcid"))).thenAnswer(invocation -> {
+            // Works changed by another node while grouping
+            worksLastModified.set(2000);
+            return new ArrayList<>();
+        });
+        
+        groupingSuggestionManager.scheduleGroupingSuggestionsGeneration("orcid");
+        scheduledTasks.get(0).run();
+        Mockito.verify(groupingSuggestionsCacheManager, Mockito.times(1)).putGroupingSuggestions(Mockito.eq("orcid"), Mockito.eq(1000L), Mockito.anyList());
+    }
+    
+    @Test
+    public void testScheduleGroupingSuggestionsGenerationIfMissing() {
+        featureManager.enable(Features.GROUPING_SUGGESTIONS);
+        Mockito.when(groupingSuggestionsCacheManager.containsGroupingSuggestions(Mockito.eq("orcid"))).thenReturn(true);
+        groupingSuggestionManager.scheduleGroupingSuggestionsGenerationIfMissing("orcid");
+        assertTrue(scheduledTasks.isEmpty());
+        
+        groupingSuggestionManager.scheduleGroupingSuggestionsGenerationIfMissing("other");
+        assertEquals(1, scheduledTasks.size());
+    }
+
     private WorkGroupingSuggestion getWorkGroupingSuggestion(Long[] putCodes) {
         WorkGroupingSuggestion suggestion = new WorkGroupingSuggestion(Arrays.asList(putCodes));
         suggestion.setOrcid("orcid");
@@ -0,0 +1,135 @@
+package org.orcid.core.manager.v3.read_only.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ehcache.Cache;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.orcid.core.manager.impl.ActivitySectionCacheKey;
+import org.orcid.core.manager.v3.read_only.AffiliationsManagerReadOnly;
+import org.orcid.core.manager.v3.read_only.PeerReviewManagerReadOnly;
+import org.orcid.core.manager.v3.read_only.ProfileFundingManagerReadOnly;
+import org.orcid.core.manager.v3.read_only.ResearchResourceManagerReadOnly;
+import org.orcid.core.manager.v3.read_only.WorkManagerReadOnly;
+import org.orcid.jaxb.model.v3.release.record.summary.ActivitiesSummary;
+import org.orcid.jaxb.model.v3.release.record.summary.Fundings;
+import org.orcid.jaxb.model.v3.release.record.summary.PeerReviews;
+import org.orcid.jaxb.model.v3.release.record.summary.ResearchResources;
+import org.orcid.jaxb.model.v3.release.record.summary.Works;
+import org.orcid.persistence.aop.ProfileLastModifiedAspect;
+import org.orcid.persistence.jpa.entities.RecordSection;
+
+public class ActivitiesSummaryManagerReadOnlyImplTest {
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    @Mock
+    private AffiliationsManagerReadOnly affiliationsManager;
+
+    @Mock
+    private ProfileFundingManagerReadOnly fundingManager;
+
+    @Mock
+    private PeerReviewManagerReadOnly peerReviewManager;
+
+    @Mock
+    private WorkManagerReadOnly workManager;
+
+    @Mock
+    private ResearchResourceManagerReadOnly researchResourceManager;
+
+    @Mock
+    private ProfileLastModifiedAspect profileLastModifiedAspect;
+
+    @Mock
+    private Cache<ActivitySectionCacheKey, Serializable> activitySectionsCache;
+
+    private Map<ActivitySectionCacheKey, Serializable> cached = new HashMap<>();
+
+    private ActivitiesSummaryManagerReadOnlyImpl activitiesSummaryManager;
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        activitiesSummaryManager = new ActivitiesSummaryManagerReadOnlyImpl();
+        activitiesSummaryManager.setAffiliationsManager(affiliationsManager);
+        activitiesSummaryManager.setFundingManager(fundingManager);
+        activitiesSummaryManager.setPeerReviewManager(peerReviewManager);
+        activitiesSummaryManager.setWorkManager(workManager);
+        activitiesSummaryManager.setResearchResourceManager(researchResourceManager);
+        activitiesSummaryManager.setProfileLastModifiedAspect(profileLastModifiedAspect);
+        activitiesSummaryManager.setActivitySectionsCache(activitySectionsCache);
+
+        Mockito.when(activitySectionsCache.get(Mockito.any())).thenAnswer(invocation -> cached.get(invocation.getArgument(0)));
+        Mockito.doAnswer(invocation -> cached.put(invocation.getArgument(0), invocation.getArgument(1))).when(activitySectionsCache).put(Mockito.any(), Mockito.any());
+
+        Mockito.when(profileLastModifiedAspect.retrieveLastModifiedDate(Mockito.eq(ORCID), Mockito.any(RecordSection.class))).thenReturn(new Date(1000L));
+        Mockito.when(affiliationsManager.groupAffiliations(Mockito.anyList(), Mockito.anyBoolean())).thenReturn(new ArrayList<>());
+        Mockito.when(fundingManager.groupFundings(Mockito.anyList(), Mockito.anyBoolean())).thenReturn(new Fundings());
+        Mockito.when(peerReviewManager.groupPeerReviews(Mockito.anyList(), Mockito.anyBoolean())).thenReturn(new PeerReviews());
+        Mockito.when(workManager.groupWorks(Mockito.anyList(), Mockito.anyBoolean())).thenReturn(new Works());
+        Mockito.when(researchResourceManager.groupResearchResources(Mockito.anyList(), Mockito.anyBoolean())).thenReturn(new ResearchResources());
+    }
+
+    @Test
+    public void testSectionsAreGroupedOncePerLastModified() {
+        ActivitiesSummary activities = activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false);
+        assertNotNull(activities.getEmployments());
+        assertNotNull(activities.getWorks());
+        activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false);
+        Mockito.verify(workManager, Mockito.times(1)).groupWorks(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(fundingManager, Mockito.times(1)).groupFundings(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(affiliationsManager, Mockito.times(7)).groupAffiliations(Mockito.anyList(), Mockito.eq(true));
+
+        Mockito.when(profileLastModifiedAspect.retrieveLastModifiedDate(Mockito.eq(ORCID), Mockito.any(RecordSection.class))).thenReturn(new Date(2000L));
+        activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false);
+        Mockito.verify(workManager, Mockito.times(2)).groupWorks(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(affiliationsManager, Mockito.times(14)).groupAffiliations(Mockito.anyList(), Mockito.eq(true));
+    }
+
+    @Test
+    public void testOnlyTheUpdatedSectionIsGroupedAgain() {
+        activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false);
+        Mockito.when(profileLastModifiedAspect.retrieveLastModifiedDate(ORCID, RecordSection.WORKS)).thenReturn(new Date(2000L));
+        activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false);
+        Mockito.verify(workManager, Mockito.times(2)).groupWorks(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(fundingManager, Mockito.times(1)).groupFundings(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(peerReviewManager, Mockito.times(1)).groupPeerReviews(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(affiliationsManager, Mockito.times(7)).groupAffiliations(Mockito.anyList(), Mockito.eq(true));
+    }
+
+    @Test
+    public void testPublicAndFilteredSectionsAreCachedApart() {
+        activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false);
+        activitiesSummaryManager.getActivitiesSummary(ORCID, false);
+        Mockito.verify(workManager, Mockito.times(1)).groupWorks(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(workManager, Mockito.times(1)).groupWorks(Mockito.anyList(), Mockito.eq(false));
+
+        // Only the works and research resources depend on the filter
+        activitiesSummaryManager.getPublicActivitiesSummary(ORCID, true);
+        Mockito.verify(workManager, Mockito.times(2)).groupWorks(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(researchResourceManager, Mockito.times(2)).groupResearchResources(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(fundingManager, Mockito.times(1)).groupFundings(Mockito.anyList(), Mockito.eq(true));
+        assertEquals(24, cached.size());
+    }
+
+    @Test
+    public void testWithoutCache() {
+        activitiesSummaryManager.setActivitySectionsCache(null);
+        activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false);
+        activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false);
+        Mockito.verify(workManager, Mockito.times(2)).groupWorks(Mockito.anyList(), Mockito.eq(true));
+        Mockito.verify(profileLastModifiedAspect, Mockito.never()).retrieveLastModifiedDate(Mockito.eq(ORCID), Mockito.any(RecordSection.class));
+    }
+
+}
@@ -0,0 +1,160 @@
+package org.orcid.core.manager.v3.read_only.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.orcid.core.exception.OrcidNotFoundException;
+import org.orcid.core.manager.ProfileEntityCacheManager;
+import org.orcid.core.manager.impl.OrcidUrlManager;
+import org.orcid.core.manager.v3.read_only.ActivitiesSummaryManagerReadOnly;
+import org.orcid.core.manager.v3.read_only.EmailManagerReadOnly;
+import org.orcid.core.manager.v3.read_only.PersonDetailsManagerReadOnly;
+import org.orcid.jaxb.model.common.OrcidType;
+import org.orcid.jaxb.model.v3.release.record.Email;
+import org.orcid.jaxb.model.v3.release.record.Emails;
+import org.orcid.jaxb.model.v3.release.record.Person;
+import org.orcid.jaxb.model.v3.release.record.Record;
+import org.orcid.jaxb.model.v3.release.record.summary.ActivitiesSummary;
+import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class RecordManagerReadOnlyImplTest {
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    @Mock
+    private OrcidUrlManager orcidUrlManager;
+
+    @Mock
+    private ProfileEntityCacheManager profileEntityCacheManager;
+
+    @Mock
+    private EmailManagerReadOnly emailManager;
+
+    @Mock
+    private ActivitiesSummaryManagerReadOnly activitiesSummaryManager;
+
+    @Mock
+    private PersonDetailsManagerReadOnly personDetailsManager;
+
+    @InjectMocks
+    private RecordManagerReadOnlyImpl recordManager;
+
+    private ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        recordManager.setProfileEntityCacheManager(profileEntityCacheManager);
+        recordManager.setEmailManager(emailManager);
+        recordManager.setActivitiesSummaryManager(activitiesSummaryManager);
+        recordManager.setPersonDetailsManager(personDetailsManager);
+        recordManager.setRecordSectionsExecutor(executor);
+
+        ProfileEntity profile = new ProfileEntity(ORCID);
+        profile.setOrcidType(OrcidType.USER.name());
+        profile.setClaimed(true);
+        Mockito.when(profileEntityCacheManager.retrieve(ORCID)).thenReturn(profile);
+        Mockito.when(orcidUrlManager.getBaseHost()).thenReturn("orcid.org");
+        Mockito.when(orcidUrlManager.getBaseUrl()).thenReturn("https://orcid.org");
+    }
+
+    @After
+    public void after() {
+        RequestContextHolder.resetRequestAttributes();
+        LocaleContextHolder.resetLocaleContext();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testGetPublicRecordFetchesSectionsConcurrently() {
+        Thread caller = Thread.currentThread();
+        RequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+
+        ActivitiesSummary activitiesSummary = new ActivitiesSummary();
+        Person person = new Person();
+        Mockito.when(activitiesSummaryManager.getPublicActivitiesSummary(ORCID, true)).thenAnswer(invocation -> {
+            assertNotEquals(caller, Thread.currentThread());
+            assertSame(requestAttributes, RequestContextHolder.getRequestAttributes());
+            assertEquals(Locale.FRENCH, LocaleContextHolder.getLocale());
+            return activitiesSummary;
+        });
+        Mockito.when(personDetailsManager.getPublicPersonDetails(ORCID)).thenAnswer(invocation -> {
+            assertNotEquals(caller, Thread.currentThread());
+            assertSame(requestAttributes, RequestContextHolder.getRequestAttributes());
+            assertEquals(Locale.FRENCH, LocaleContextHolder.getLocale());
+            return person;
+        });
+        Mockito.when(emailManager.getEmails(ORCID)).thenReturn(getEmails());
+
+        Record record = recordManager.getPublicRecord(ORCID, true);
+        assertSame(activitiesSummary, record.getActivitiesSummary());
+        assertSame(person, record.getPerson());
+        assertEquals(OrcidType.USER, record.getOrcidType());
+        assertEquals(ORCID, record.getOrcidIdentifier().getPath());
+        assertTrue(record.getHistory().getClaimed());
+        assertTrue(record.getHistory().isVerifiedEmail());
+        assertTrue(record.getHistory().isVerifiedPrimaryEmail());
+        assertNotNull(record.getPreferences());
+
+        Mockito.verify(profileEntityCacheManager, Mockito.times(1)).retrieve(ORCID);
+    }
+
+    @Test
+    public void testGetPublicRecordWithoutExecutor() {
+        recordManager.setRecordSectionsExecutor(null);
+        Thread caller = Thread.currentThread();
+        ActivitiesSummary activitiesSummary = new ActivitiesSummary();
+        Mockito.when(activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false)).thenAnswer(invocation -> {
+            assertSame(caller, Thread.currentThread());
+            return activitiesSummary;
+        });
+        Mockito.when(personDetailsManager.getPublicPersonDetails(ORCID)).thenReturn(new Person());
+
+        Record record = recordManager.getPublicRecord(ORCID, false);
+        assertSame(activitiesSummary, record.getActivitiesSummary());
+        Mockito.verify(profileEntityCacheManager, Mockito.times(1)).retrieve(ORCID);
+    }
+
+    @Test
+    public void testSectionExceptionIsRethrown() {
+        Mockito.when(activitiesSummaryManager.getPublicActivitiesSummary(ORCID, false)).thenThrow(OrcidNotFoundException.newInstance(ORCID));
+        try {
+            recordManager.getPublicRecord(ORCID, false);
+            fail();
+        } catch (OrcidNotFoundException e) {
+            // Thrown as if the section was fetched on the calling thread
+        }
+    }
+
+    private Emails getEmails() {
+        Email email = new Email();
+        email.setVerified(true);
+        email.setPrimary(true);
+        Emails emails = new Emails();
+        emails.getEmails().add(email);
+        return emails;
+    }
+
+}
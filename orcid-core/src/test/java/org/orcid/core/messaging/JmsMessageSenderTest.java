@@ -0,0 +1,75 @@
+package org.orcid.core.messaging;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.Message;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.orcid.utils.listener.LastModifiedMessage;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JmsMessageSenderTest {
+
+    @Mock
+    private JmsTemplate jmsTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private JmsMessageSender jmsMessageSender;
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        jmsMessageSender = new JmsMessageSender();
+        jmsMessageSender.setEnabled(true);
+        ReflectionTestUtils.setField(jmsMessageSender, "jmsTemplate", jmsTemplate);
+        when(jmsTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+    }
+
+    @Test
+    public void testBatchFailurePausesMessaging() throws JMSException {
+        when(connectionFactory.createConnection()).thenThrow(new JMSException("broker down"));
+        LastModifiedMessage message = new LastModifiedMessage("0000-0000-0000-0001", new Date());
+        assertFalse(jmsMessageSender.send(Arrays.asList(message), Arrays.asList("queue")));
+
+        // Paused, nothing else is sent until the timer runs
+        assertFalse(jmsMessageSender.send(message, "queue"));
+        verify(jmsTemplate, never()).convertAndSend(anyString(), any(Object.class), any(MessagePostProcessor.class));
+
+        jmsMessageSender.timer();
+        assertTrue(jmsMessageSender.send(message, "queue"));
+    }
+
+    @Test
+    public void testMessagesAreSentInTheGroupOfTheirOrcid() throws JMSException {
+        LastModifiedMessage message = new LastModifiedMessage("0000-0000-0000-0001", new Date());
+        assertTrue(jmsMessageSender.send(message, "queue"));
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(jmsTemplate).convertAndSend(eq("queue"), eq(message.getMap()), postProcessor.capture());
+
+        Message jmsMessage = mock(Message.class);
+        postProcessor.getValue().postProcessMessage(jmsMessage);
+        verify(jmsMessage).setStringProperty(JmsMessageSender.GROUP_ID, "0000-0000-0000-0001");
+    }
+
+}
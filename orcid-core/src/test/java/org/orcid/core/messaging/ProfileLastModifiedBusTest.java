@@ -0,0 +1,136 @@
+package org.orcid.core.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.jms.MapMessage;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.orcid.persistence.aop.ProfileLastModifiedCache;
+import org.orcid.utils.listener.MessageConstants;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.JmsTemplate;
+
+public class ProfileLastModifiedBusTest {
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    private static final String TOPIC = "profileLastModified";
+
+    @Mock
+    private JmsTemplate jmsTemplate;
+
+    @Mock
+    private ProfileLastModifiedCache profileLastModifiedCache;
+
+    @Mock
+    private ProfileLastModifiedCache readOnlyProfileLastModifiedCache;
+
+    private ProfileLastModifiedBus profileLastModifiedBus;
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        profileLastModifiedBus = new ProfileLastModifiedBus();
+        profileLastModifiedBus.setEnabled(true);
+        profileLastModifiedBus.setTopic(TOPIC);
+        profileLastModifiedBus.setJmsTemplate(jmsTemplate);
+        profileLastModifiedBus.setExecutor(Runnable::run);
+        profileLastModifiedBus.setProfileLastModifiedCache(profileLastModifiedCache);
+        profileLastModifiedBus.setReadOnlyProfileLastModifiedCache(readOnlyProfileLastModifiedCache);
+        profileLastModifiedBus.afterPropertiesSet();
+    }
+
+    @Test
+    public void testRegistersWithCacheWhenEnabled() {
+        verify(profileLastModifiedCache).addListener(profileLastModifiedBus);
+    }
+
+    @Test
+    public void testDoesNotRegisterWhenDisabled() {
+        ProfileLastModifiedCache cache = mock(ProfileLastModifiedCache.class);
+        ProfileLastModifiedBus bus = new ProfileLastModifiedBus();
+        bus.setProfileLastModifiedCache(cache);
+        bus.afterPropertiesSet();
+        verify(cache, never()).addListener(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBroadcastsUpdate() {
+        profileLastModifiedBus.profileLastModifiedUpdated(ORCID, new Date(1000));
+        ArgumentCaptor<Map<String, String>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(jmsTemplate).convertAndSend(eq(TOPIC), captor.capture());
+        Map<String, String> map = captor.getValue();
+        assertEquals(ORCID, map.get(MessageConstants.ORCID.value));
+        assertEquals("1000", map.get(MessageConstants.DATE.value));
+    }
+
+    @Test
+    public void testBroadcastFailureIsSwallowed() {
+        doThrow(new UncategorizedJmsException("broker down")).when(jmsTemplate).convertAndSend(anyString(), any(Object.class));
+        profileLastModifiedBus.profileLastModifiedUpdated(ORCID, new Date(1000));
+    }
+
+    @Test
+    public void testBroadcastIsHandedToTheExecutor() {
+        Executor executor = mock(Executor.class);
+        profileLastModifiedBus.setExecutor(executor);
+        profileLastModifiedBus.profileLastModifiedUpdated(ORCID, new Date(1000));
+        verify(executor).execute(any(Runnable.class));
+        verify(jmsTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    public void testSaturatedExecutorIsSwallowed() {
+        profileLastModifiedBus.setExecutor(command -> {
+            throw new RejectedExecutionException();
+        });
+        profileLastModifiedBus.profileLastModifiedUpdated(ORCID, new Date(1000));
+        verify(jmsTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    public void testInvalidatesOnMessageFromOtherNode() throws Exception {
+        MapMessage message = mock(MapMessage.class);
+        when(message.getString(MessageConstants.NODE.value)).thenReturn("another-node");
+        when(message.getString(MessageConstants.ORCID.value)).thenReturn(ORCID);
+        when(message.getString(MessageConstants.DATE.value)).thenReturn("1000");
+        profileLastModifiedBus.onMessage(message);
+        verify(profileLastModifiedCache).invalidateIfOlder(ORCID, new Date(1000));
+        verify(readOnlyProfileLastModifiedCache).invalidateIfOlder(ORCID, new Date(1000));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testIgnoresOwnMessages() throws Exception {
+        profileLastModifiedBus.profileLastModifiedUpdated(ORCID, new Date(1000));
+        ArgumentCaptor<Map<String, String>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(jmsTemplate).convertAndSend(eq(TOPIC), captor.capture());
+        String node = captor.getValue().get(MessageConstants.NODE.value);
+
+        MapMessage message = mock(MapMessage.class);
+        when(message.getString(MessageConstants.NODE.value)).thenReturn(node);
+        when(message.getString(MessageConstants.ORCID.value)).thenReturn(ORCID);
+        when(message.getString(MessageConstants.DATE.value)).thenReturn("1000");
+        profileLastModifiedBus.onMessage(message);
+        verify(profileLastModifiedCache, never()).invalidateIfOlder(anyString(), any());
+    }
+
+}
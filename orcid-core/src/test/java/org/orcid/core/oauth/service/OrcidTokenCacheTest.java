@@ -0,0 +1,128 @@
+package org.orcid.core.oauth.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.orcid.core.oauth.service.OrcidTokenCache.Field;
+import org.orcid.core.oauth.service.OrcidTokenCache.TokenSnapshot;
+import org.orcid.persistence.jpa.entities.ClientDetailsEntity;
+import org.orcid.persistence.jpa.entities.OrcidOauth2TokenDetail;
+import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.springframework.jms.core.JmsTemplate;
+
+public class OrcidTokenCacheTest {
+
+    private OrcidTokenCache orcidTokenCache;
+
+    private JmsTemplate jmsTemplate = Mockito.mock(JmsTemplate.class);
+
+    private ClientDetailsEntity clientDetails = new ClientDetailsEntity("APP-0000000000000001");
+
+    @Before
+    public void before() {
+        orcidTokenCache = new OrcidTokenCache();
+        orcidTokenCache.setBroadcast(true);
+        orcidTokenCache.setTopic("tokenInvalidation");
+        orcidTokenCache.setJmsTemplate(jmsTemplate);
+        orcidTokenCache.afterPropertiesSet();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        OrcidOauth2TokenDetail token = getToken("token-1", "refresh-1", "0000-0000-0000-0001", 60000);
+        orcidTokenCache.put(orcidTokenCache.startRead(), token);
+        TokenSnapshot cached = orcidTokenCache.get("token-1");
+        assertEquals("token-1", cached.getTokenValue());
+        assertEquals("refresh-1", cached.getRefreshTokenValue());
+        assertEquals("0000-0000-0000-0001", cached.getOrcid());
+        assertEquals(clientDetails.getId(), cached.getClientDetailsId());
+        assertEquals(token.getTokenExpiration(), cached.getTokenExpiration());
+        assertNull(orcidTokenCache.get("token-2"));
+
+        // Changes to the entity don't reach the cached snapshot
+        token.setScope("/activities/update");
+        token.getTokenExpiration().setTime(0);
+        assertNotNull(orcidTokenCache.get("token-1"));
+        assertNull(orcidTokenCache.get("token-1").getScope());
+    }
+
+    @Test
+    public void testNothingIsCachedWithoutBroadcast() {
+        orcidTokenCache = new OrcidTokenCache();
+        orcidTokenCache.afterPropertiesSet();
+        orcidTokenCache.put(orcidTokenCache.startRead(), getToken("token-1", "refresh-1", "0000-0000-0000-0001", 60000));
+        assertNull(orcidTokenCache.get("token-1"));
+    }
+
+    @Test
+    public void testExpiredAndDisabledTokensAreNotCached() {
+        orcidTokenCache.put(orcidTokenCache.startRead(), getToken("expired", "refresh-1", "0000-0000-0000-0001", -1000));
+        assertNull(orcidTokenCache.get("expired"));
+
+        OrcidOauth2TokenDetail disabled = getToken("disabled", "refresh-2", "0000-0000-0000-0001", 60000);
+        disabled.setTokenDisabled(true);
+        orcidTokenCache.put(orcidTokenCache.startRead(), disabled);
+        assertNull(orcidTokenCache.get("disabled"));
+    }
+
+    @Test
+    public void testTokenExpiredWhileCachedIsNotServed() throws InterruptedException {
+        orcidTokenCache.put(orcidTokenCache.startRead(), getToken("token-1", "refresh-1", "0000-0000-0000-0001", 50));
+        assertNotNull(orcidTokenCache.get("token-1"));
+        Thread.sleep(100);
+        assertNull(orcidTokenCache.get("token-1"));
+    }
+
+    @Test
+    public void testInvalidate() {
+        orcidTokenCache.put(orcidTokenCache.startRead(), getToken("token-1", "refresh-1", "0000-0000-0000-0001", 60000));
+        orcidTokenCache.put(orcidTokenCache.startRead(), getToken("token-2", "refresh-2", "0000-0000-0000-0001", 60000));
+        orcidTokenCache.put(orcidTokenCache.startRead(), getToken("token-3", "refresh-3", "0000-0000-0000-0002", 60000));
+        orcidTokenCache.put(orcidTokenCache.startRead(), getToken("token-4", "refresh-4", null, 60000));
+
+        orcidTokenCache.invalidate(Field.TOKEN, "token-4");
+        assertNull(orcidTokenCache.get("token-4"));
+        assertNotNull(orcidTokenCache.get("token-3"));
+
+        orcidTokenCache.invalidate(Field.REFRESH_TOKEN, "refresh-3");
+        assertNull(orcidTokenCache.get("token-3"));
+        assertNotNull(orcidTokenCache.get("token-1"));
+
+        orcidTokenCache.invalidate(Field.USER, "0000-0000-0000-0001");
+        assertNull(orcidTokenCache.get("token-1"));
+        assertNull(orcidTokenCache.get("token-2"));
+
+        Mockito.verify(jmsTemplate, Mockito.times(3)).convertAndSend(Mockito.eq("tokenInvalidation"), Mockito.any(Map.class));
+    }
+
+    @Test
+    public void testTokenReadDuringInvalidationIsNotCached() {
+        long readStart = orcidTokenCache.startRead();
+        orcidTokenCache.invalidate(Field.USER, "0000-0000-0000-0001");
+        orcidTokenCache.put(readStart, getToken("token-1", "refresh-1", "0000-0000-0000-0001", 60000));
+        assertNull(orcidTokenCache.get("token-1"));
+
+        orcidTokenCache.put(orcidTokenCache.startRead(), getToken("token-1", "refresh-1", "0000-0000-0000-0001", 60000));
+        assertNotNull(orcidTokenCache.get("token-1"));
+    }
+
+    private OrcidOauth2TokenDetail getToken(String tokenValue, String refreshTokenValue, String orcid, long expiresInMillis) {
+        OrcidOauth2TokenDetail token = new OrcidOauth2TokenDetail();
+        token.setTokenValue(tokenValue);
+        token.setRefreshTokenValue(refreshTokenValue);
+        token.setClientDetailsId(clientDetails.getId());
+        token.setTokenExpiration(new Date(System.currentTimeMillis() + expiresInMillis));
+        if (orcid != null) {
+            token.setProfile(new ProfileEntity(orcid));
+        }
+        return token;
+    }
+
+}
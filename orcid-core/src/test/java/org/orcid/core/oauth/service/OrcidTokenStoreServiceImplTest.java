@@ -0,0 +1,137 @@
+package org.orcid.core.oauth.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.orcid.core.constants.OrcidOauth2Constants;
+import org.orcid.core.manager.ClientDetailsEntityCacheManager;
+import org.orcid.core.manager.ProfileEntityCacheManager;
+import org.orcid.core.oauth.OrcidOauth2TokenDetailService;
+import org.orcid.persistence.jpa.entities.ClientDetailsEntity;
+import org.orcid.persistence.jpa.entities.OrcidGrantedAuthority;
+import org.orcid.persistence.jpa.entities.OrcidOauth2TokenDetail;
+import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class OrcidTokenStoreServiceImplTest {
+
+    private static final String TOKEN = "token-1";
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    private static final String CLIENT_ID = "APP-0000000000000001";
+
+    @Mock
+    private OrcidOauth2TokenDetailService orcidOauthTokenDetailService;
+
+    @Mock
+    private ProfileEntityCacheManager profileEntityCacheManager;
+
+    @Mock
+    private ClientDetailsEntityCacheManager clientDetailsEntityCacheManager;
+
+    @Mock
+    private OrcidOAuth2RequestValidator orcidOAuth2RequestValidator;
+
+    @Mock
+    private ClientDetailsEntity clientDetails;
+
+    private OrcidTokenStoreServiceImpl orcidTokenStoreService;
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        OrcidTokenCache orcidTokenCache = new OrcidTokenCache();
+        orcidTokenCache.setBroadcast(true);
+        orcidTokenCache.setTopic("tokenInvalidation");
+        orcidTokenCache.setJmsTemplate(Mockito.mock(JmsTemplate.class));
+        orcidTokenCache.afterPropertiesSet();
+
+        orcidTokenStoreService = new OrcidTokenStoreServiceImpl();
+        ReflectionTestUtils.setField(orcidTokenStoreService, "orcidOauthTokenDetailService", orcidOauthTokenDetailService);
+        ReflectionTestUtils.setField(orcidTokenStoreService, "profileEntityCacheManager", profileEntityCacheManager);
+        ReflectionTestUtils.setField(orcidTokenStoreService, "clientDetailsEntityCacheManager", clientDetailsEntityCacheManager);
+        ReflectionTestUtils.setField(orcidTokenStoreService, "orcidOAuth2RequestValidator", orcidOAuth2RequestValidator);
+        ReflectionTestUtils.setField(orcidTokenStoreService, "orcidTokenCache", orcidTokenCache);
+
+        Mockito.when(clientDetails.getClientId()).thenReturn(CLIENT_ID);
+        Mockito.when(clientDetails.getAuthorities()).thenReturn(Collections.emptyList());
+        Mockito.when(clientDetailsEntityCacheManager.retrieve(CLIENT_ID)).thenReturn(clientDetails);
+        Mockito.when(orcidOauthTokenDetailService.findNonDisabledByTokenValue(TOKEN)).thenReturn(getDetachedToken());
+        Mockito.when(profileEntityCacheManager.retrieve(ORCID)).thenAnswer(invocation -> getProfile());
+    }
+
+    @Test
+    public void testReadAuthenticationFromCachedToken() {
+        OAuth2Authentication first = orcidTokenStoreService.readAuthentication(TOKEN);
+        OAuth2Authentication second = orcidTokenStoreService.readAuthentication(TOKEN);
+        Mockito.verify(orcidOauthTokenDetailService, Mockito.times(1)).findNonDisabledByTokenValue(TOKEN);
+
+        // The profile is resolved on every call, never read from the detached
+        // token
+        Mockito.verify(profileEntityCacheManager, Mockito.times(2)).retrieve(ORCID);
+        assertNotSame(first.getUserAuthentication(), second.getUserAuthentication());
+        assertEquals(ORCID, ((ProfileEntity) second.getPrincipal()).getId());
+        assertEquals(1, second.getUserAuthentication().getAuthorities().size());
+        assertEquals(CLIENT_ID, second.getOAuth2Request().getClientId());
+        assertEquals(Collections.singleton("/read-limited"), second.getOAuth2Request().getScope());
+        assertEquals(Collections.singleton("orcid"), second.getOAuth2Request().getResourceIds());
+    }
+
+    @Test
+    public void testReadAccessTokenFromCachedToken() {
+        orcidTokenStoreService.readAccessToken(TOKEN);
+        OAuth2AccessToken token = orcidTokenStoreService.readAccessToken(TOKEN);
+        Mockito.verify(orcidOauthTokenDetailService, Mockito.times(1)).findNonDisabledByTokenValue(TOKEN);
+        assertEquals(TOKEN, token.getValue());
+        assertEquals(ORCID, token.getAdditionalInformation().get(OrcidOauth2Constants.ORCID));
+        assertEquals(CLIENT_ID, token.getAdditionalInformation().get(OrcidOauth2Constants.CLIENT_ID));
+        assertEquals(Collections.singleton("/read-limited"), token.getScope());
+
+        assertNull(orcidTokenStoreService.readAccessToken("token-2"));
+    }
+
+    /**
+     * Token as returned outside of a transaction, with a lazy profile that
+     * can't be initialized anymore
+     */
+    private OrcidOauth2TokenDetail getDetachedToken() {
+        ProfileEntity lazyProfile = Mockito.mock(ProfileEntity.class);
+        Mockito.when(lazyProfile.getId()).thenReturn(ORCID);
+        Mockito.when(lazyProfile.getAuthorities()).thenThrow(new LazyInitializationException("could not initialize proxy - no Session"));
+
+        OrcidOauth2TokenDetail token = new OrcidOauth2TokenDetail();
+        token.setTokenValue(TOKEN);
+        token.setTokenType("bearer");
+        token.setScope("/read-limited");
+        token.setResourceId("orcid");
+        token.setApproved(true);
+        token.setClientDetailsId(CLIENT_ID);
+        token.setProfile(lazyProfile);
+        token.setTokenExpiration(new Date(System.currentTimeMillis() + 60000));
+        return token;
+    }
+
+    private ProfileEntity getProfile() {
+        ProfileEntity profile = new ProfileEntity(ORCID);
+        OrcidGrantedAuthority authority = new OrcidGrantedAuthority();
+        authority.setAuthority("ROLE_USER");
+        profile.setAuthorities(Arrays.asList(authority));
+        return profile;
+    }
+
+}
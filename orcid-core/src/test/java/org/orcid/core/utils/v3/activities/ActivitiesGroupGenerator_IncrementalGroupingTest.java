@@ -0,0 +1,156 @@
+package org.orcid.core.utils.v3.activities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.orcid.jaxb.model.v3.release.common.Title;
+import org.orcid.jaxb.model.v3.release.record.ExternalID;
+import org.orcid.jaxb.model.v3.release.record.ExternalIDs;
+import org.orcid.jaxb.model.v3.release.record.WorkTitle;
+import org.orcid.jaxb.model.v3.release.record.summary.WorkSummary;
+
+public class ActivitiesGroupGenerator_IncrementalGroupingTest extends ActivitiesGroupGeneratorBaseTest {
+
+    @Test
+    public void testChainOfWorksEndsInOneGroup() {
+        ActivitiesGroupGenerator generator = new ActivitiesGroupGenerator();
+        List<WorkSummary> works = new ArrayList<>();
+        // Every work shares a doi with the previous one
+        for (int i = 0; i < 1000; i++) {
+            WorkSummary work = getWorkSummary((long) i, "title " + i, "doi-" + i, "doi-" + (i + 1));
+            works.add(work);
+            generator.group(work);
+        }
+        List<ActivitiesGroup> groups = generator.getGroups();
+        assertEquals(1, groups.size());
+        assertEquals(1000, groups.get(0).getActivities().size());
+        assertEquals(1001, groups.get(0).getGroupKeys().size());
+        for (WorkSummary work : works) {
+            checkActivityIsOnGroups(work, groups);
+        }
+    }
+
+    @Test
+    public void testMergeManyGroups() {
+        ActivitiesGroupGenerator generator = new ActivitiesGroupGenerator();
+        for (int i = 0; i < 10; i++) {
+            generator.group(getWorkSummary((long) i, "title " + i, "doi-" + i));
+        }
+        generator.group(getWorkSummary(10L, "title 10", "doi-1", "doi-2"));
+        generator.group(getWorkSummary(11L, "title 11", "doi-3", "doi-4"));
+        assertEquals(8, generator.getGroups().size());
+        WorkSummary bridge = getWorkSummary(12L, "title 12", "doi-2", "doi-3", "doi-7");
+        generator.group(bridge);
+        List<ActivitiesGroup> groups = generator.getGroups();
+        assertEquals(6, groups.size());
+        ActivitiesGroup merged = getGroupThatContainsActivity(groups, bridge);
+        assertEquals(8, merged.getActivities().size());
+        assertEquals(5, merged.getGroupKeys().size());
+    }
+
+    @Test
+    public void testRemoveSplitsGroup() {
+        ActivitiesGroupGenerator generator = new ActivitiesGroupGenerator();
+        WorkSummary first = getWorkSummary(1L, "first", "doi-1");
+        WorkSummary second = getWorkSummary(2L, "second", "doi-2");
+        WorkSummary bridge = getWorkSummary(3L, "bridge", "doi-1", "doi-2");
+        generator.group(first);
+        generator.group(second);
+        generator.group(bridge);
+        assertEquals(1, generator.getGroups().size());
+
+        generator.remove(bridge);
+        List<ActivitiesGroup> groups = generator.getGroups();
+        assertEquals(2, groups.size());
+        checkActivitiesDontBelongsToTheSameGroup(groups, first, second);
+        for (ActivitiesGroup group : groups) {
+            assertEquals(1, group.getActivities().size());
+            assertEquals(1, group.getGroupKeys().size());
+        }
+
+        // Removed activities are not grouped anymore, so a new one with the
+        // same key joins the remaining group
+        WorkSummary another = getWorkSummary(4L, "another", "doi-1");
+        generator.group(another);
+        groups = generator.getGroups();
+        assertEquals(2, groups.size());
+        checkActivitiesBelongsToTheSameGroup(groups, first, another);
+    }
+
+    @Test
+    public void testRemoveWorkWithoutExternalIds() {
+        ActivitiesGroupGenerator generator = new ActivitiesGroupGenerator();
+        WorkSummary first = getWorkSummary(1L, "first");
+        WorkSummary second = getWorkSummary(2L, "second", "doi-1");
+        generator.group(first);
+        generator.group(second);
+        generator.remove(first);
+        List<ActivitiesGroup> groups = generator.getGroups();
+        assertEquals(1, groups.size());
+        assertTrue(groups.get(0).getActivities().contains(second));
+
+        // Removing an activity that wasn't grouped does nothing
+        generator.remove(first);
+        assertEquals(1, generator.getGroups().size());
+    }
+
+    @Test
+    public void testUpdateMovesWorkToAnotherGroup() {
+        ActivitiesGroupGenerator generator = new ActivitiesGroupGenerator();
+        WorkSummary first = getWorkSummary(1L, "first", "doi-1");
+        WorkSummary second = getWorkSummary(2L, "second", "doi-1");
+        WorkSummary third = getWorkSummary(3L, "third", "doi-2");
+        generator.group(first);
+        generator.group(second);
+        generator.group(third);
+        assertEquals(2, generator.getGroups().size());
+
+        WorkSummary updated = getWorkSummary(2L, "second", "doi-2");
+        generator.update(second, updated);
+        List<ActivitiesGroup> groups = generator.getGroups();
+        assertEquals(2, groups.size());
+        checkActivitiesBelongsToTheSameGroup(groups, third, updated);
+        assertEquals(1, getGroupThatContainsActivity(groups, first).getActivities().size());
+    }
+
+    @Test
+    public void testRemoveUpdatesGroupingSuggestions() {
+        WorkGroupAndGroupingSuggestionGenerator generator = new WorkGroupAndGroupingSuggestionGenerator();
+        WorkSummary first = getWorkSummary(1L, "a title", "doi-1");
+        WorkSummary second = getWorkSummary(2L, "A TITLE", "doi-2");
+        WorkSummary third = getWorkSummary(3L, "other title", "doi-2", "doi-3");
+        generator.group(first);
+        generator.group(second);
+        generator.group(third);
+        assertEquals(1, generator.getGroupingSuggestions("orcid").size());
+
+        generator.remove(second);
+        assertEquals(2, generator.getGroups().size());
+        assertEquals(0, generator.getGroupingSuggestions("orcid").size());
+
+        generator.group(second);
+        assertEquals(1, generator.getGroupingSuggestions("orcid").size());
+    }
+
+    private WorkSummary getWorkSummary(Long putCode, String title, String... dois) {
+        WorkSummary summary = new WorkSummary();
+        summary.setPutCode(putCode);
+        WorkTitle workTitle = new WorkTitle();
+        workTitle.setTitle(new Title(title));
+        summary.setTitle(workTitle);
+        ExternalIDs ids = new ExternalIDs();
+        for (String doi : dois) {
+            ExternalID id = new ExternalID();
+            id.setType("doi");
+            id.setValue(doi);
+            ids.getExternalIdentifier().add(id);
+        }
+        summary.setExternalIdentifiers(ids);
+        return summary;
+    }
+
+}
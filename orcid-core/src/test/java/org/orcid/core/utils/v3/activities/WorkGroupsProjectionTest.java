@@ -0,0 +1,109 @@
+package org.orcid.core.utils.v3.activities;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.orcid.jaxb.model.v3.release.common.Title;
+import org.orcid.jaxb.model.v3.release.record.ExternalID;
+import org.orcid.jaxb.model.v3.release.record.ExternalIDs;
+import org.orcid.jaxb.model.v3.release.record.GroupableActivity;
+import org.orcid.jaxb.model.v3.release.record.WorkTitle;
+import org.orcid.jaxb.model.v3.release.record.summary.WorkSummary;
+
+public class WorkGroupsProjectionTest {
+
+    @Test
+    public void testRegroupWithoutChanges() {
+        List<WorkSummary> summaries = Arrays.asList(getWorkSummary(1L, "doi1"), getWorkSummary(2L, "doi1"), getWorkSummary(3L, "doi2"), getWorkSummary(4L));
+        WorkGroupsProjection projection = WorkGroupsProjection.of(WorkGroupsProjection.group(summaries));
+        List<ActivitiesGroup> groups = projection.regroup(summaries);
+        assertEquals(partition(WorkGroupsProjection.group(summaries)), partition(groups));
+        assertEquals(3, groups.size());
+    }
+
+    @Test
+    public void testRegroupNewWorkMergesGroups() {
+        List<WorkSummary> summaries = new ArrayList<>(Arrays.asList(getWorkSummary(1L, "doi1"), getWorkSummary(2L, "doi2"), getWorkSummary(3L, "doi3")));
+        WorkGroupsProjection projection = WorkGroupsProjection.of(WorkGroupsProjection.group(summaries));
+        summaries.add(getWorkSummary(4L, "doi1", "doi2"));
+        List<ActivitiesGroup> groups = projection.regroup(summaries);
+        assertEquals(partition(WorkGroupsProjection.group(summaries)), partition(groups));
+        assertEquals(2, groups.size());
+    }
+
+    @Test
+    public void testRegroupRemovedWorkSplitsGroup() {
+        List<WorkSummary> summaries = new ArrayList<>(Arrays.asList(getWorkSummary(1L, "doi1"), getWorkSummary(2L, "doi2"), getWorkSummary(3L, "doi1", "doi2")));
+        WorkGroupsProjection projection = WorkGroupsProjection.of(WorkGroupsProjection.group(summaries));
+        assertEquals(1, WorkGroupsProjection.group(summaries).size());
+        summaries.remove(2);
+        List<ActivitiesGroup> groups = projection.regroup(summaries);
+        assertEquals(partition(WorkGroupsProjection.group(summaries)), partition(groups));
+        assertEquals(2, groups.size());
+    }
+
+    @Test
+    public void testRegroupUpdatedWorkMovesToAnotherGroup() {
+        List<WorkSummary> summaries = new ArrayList<>(Arrays.asList(getWorkSummary(1L, "doi1"), getWorkSummary(2L, "doi1"), getWorkSummary(3L, "doi2")));
+        WorkGroupsProjection projection = WorkGroupsProjection.of(WorkGroupsProjection.group(summaries));
+        summaries.set(1, getWorkSummary(2L, "doi2"));
+        List<ActivitiesGroup> groups = projection.regroup(summaries);
+        assertEquals(partition(WorkGroupsProjection.group(summaries)), partition(groups));
+        Set<Set<Long>> expected = new HashSet<>();
+        expected.add(new HashSet<>(Arrays.asList(1L)));
+        expected.add(new HashSet<>(Arrays.asList(2L, 3L)));
+        assertEquals(expected, partition(groups));
+    }
+
+    @Test
+    public void testRegroupUsesCurrentSummaries() {
+        List<WorkSummary> summaries = new ArrayList<>(Arrays.asList(getWorkSummary(1L, "doi1"), getWorkSummary(2L, "doi2")));
+        WorkGroupsProjection projection = WorkGroupsProjection.of(WorkGroupsProjection.group(summaries));
+        WorkSummary renamed = getWorkSummary(2L, "doi2");
+        renamed.getTitle().setTitle(new Title("new title"));
+        summaries.set(1, renamed);
+        for (ActivitiesGroup group : projection.regroup(summaries)) {
+            for (GroupableActivity activity : group.getActivities()) {
+                if (((WorkSummary) activity).getPutCode().equals(2L)) {
+                    assertEquals("new title", ((WorkSummary) activity).getTitle().getTitle().getContent());
+                }
+            }
+        }
+    }
+
+    private Set<Set<Long>> partition(List<ActivitiesGroup> groups) {
+        Set<Set<Long>> partition = new HashSet<>();
+        for (ActivitiesGroup group : groups) {
+            Set<Long> putCodes = new HashSet<>();
+            for (GroupableActivity activity : group.getActivities()) {
+                putCodes.add(((WorkSummary) activity).getPutCode());
+            }
+            partition.add(putCodes);
+        }
+        return partition;
+    }
+
+    private WorkSummary getWorkSummary(Long putCode, String... dois) {
+        WorkSummary summary = new WorkSummary();
+        summary.setPutCode(putCode);
+        WorkTitle workTitle = new WorkTitle();
+        workTitle.setTitle(new Title("title " + putCode));
+        summary.setTitle(workTitle);
+        ExternalIDs ids = new ExternalIDs();
+        for (String doi : dois) {
+            ExternalID id = new ExternalID();
+            id.setType("doi");
+            id.setValue(doi);
+            ids.getExternalIdentifier().add(id);
+        }
+        summary.setExternalIdentifiers(ids);
+        return summary;
+    }
+
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 
 import javax.annotation.Resource;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.orcid.core.utils.v3.identifiers.PIDNormalizationService;
@@ -94,4 +95,20 @@ public class PIDNormalizationServiceTest {
         assertEquals(normed,id1);
     }
 
+    @Test
+    public void checkNormalisedValuesAreCached(){
+        String value = "https://doi.org/10.1/CACHED";
+        assertEquals("10.1/cached", norm.normalise("doi", value));
+        assertEquals("10.1/cached", norm.normalisedValues.getIfPresent(Pair.of("doi", value)));
+        assertEquals("10.1/cached", norm.normalise("doi", value));
+
+        String url = norm.generateNormalisedURL("doi", value);
+        assertEquals(url, norm.normalisedURLs.getIfPresent(Pair.of("doi", value)));
+        assertEquals(url, norm.generateNormalisedURL("doi", value));
+
+        //values that can't be normalised are cached too
+        assertEquals("", norm.normalise("doi", "not a doi"));
+        assertEquals("", norm.normalisedValues.getIfPresent(Pair.of("doi", "not a doi")));
+    }
+
 }
@@ -8,6 +8,12 @@ import static org.junit.Assert.assertTrue;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Resource;
 
@@ -302,6 +308,40 @@ public class PIDResolverServiceTest {
         assertEquals(Relationship.PART_OF, work.getExternalIdentifiers().getExternalIdentifier().get(0).getRelationship());
     }
 
+    @Test
+    public void testResolveMetadataAsync() throws Exception {
+        resolverService = new PIDResolverService();
+
+        MetadataResolver resolver = Mockito.mock(MetadataResolver.class);
+        Mockito.when(resolver.resolveMetadata(Mockito.eq("doi"), Mockito.eq("blah"))).thenReturn(getBookChapterWorkWithISBNExternalIdentifier());
+        Map<String, LinkedList<MetadataResolver>> resolverMap = new HashMap<>();
+        LinkedList<MetadataResolver> resolversList = new LinkedList<>();
+        resolversList.add(resolver);
+        resolverMap.put("doi", resolversList);
+        ReflectionTestUtils.setField(resolverService, "metaResolverMap", resolverMap);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(resolverService, "resolverExecutor", executor);
+
+        try {
+            Work work = resolverService.resolveMetadataAsync("doi", "blah").get(10, TimeUnit.SECONDS);
+            assertEquals(WorkType.BOOK_CHAPTER, work.getWorkType());
+            assertEquals(Relationship.PART_OF, work.getExternalIdentifiers().getExternalIdentifier().get(0).getRelationship());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testResolveAsyncWhenPoolIsBusy() {
+        resolverService = new PIDResolverService();
+        ReflectionTestUtils.setField(resolverService, "resolverExecutor", (Executor) command -> {
+            throw new RejectedExecutionException();
+        });
+
+        CompletableFuture<PIDResolutionResult> future = resolverService.resolveAsync("doi", "10.1/blah");
+        assertTrue(future.isCompletedExceptionally());
+    }
+
     private Work getBookChapterWorkWithISBNExternalIdentifier() {
         Work work = new Work();
         work.setWorkType(WorkType.BOOK_CHAPTER);
@@ -16,8 +16,10 @@
  */
 package org.orcid.listener;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import javax.jms.JMSException;
@@ -30,11 +32,32 @@ import org.orcid.utils.listener.LastModifiedMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Hands the record messages of a queue to its processor. Producers send the
+ * messages of a record in the message group of its orcid, so they are
+ * delivered in order to one consumer at a time and never processed
+ * concurrently.
+ * 
+ * Pending duplicates are coalesced: a message that is not newer than the last
+ * one processed by this listener for the same orcid is acknowledged without
+ * processing it, as that processing already fetched the record in the state
+ * the message is about.
+ */
 public class BaseListener <T extends Consumer<LastModifiedMessage>> implements MessageListener {
     
     Logger LOG = LoggerFactory.getLogger(BaseListener.class);
     
+    private static final long MAX_PROCESSED = 100000;
+
+    private static final long PROCESSED_EXPIRY_MINUTES = 10;
+
     private T processor;
+
+    private final Cache<String, Long> lastProcessed = CacheBuilder.newBuilder().maximumSize(MAX_PROCESSED)
+            .expireAfterWrite(PROCESSED_EXPIRY_MINUTES, TimeUnit.MINUTES).build();
     
     /** Note the processor param is used by spring to create the correct beans.
      * 
@@ -64,12 +87,38 @@ public class BaseListener <T extends Consumer<LastModifiedMessage>> implements M
         Map<String, String> map = getMapFromMessage(message);
         LastModifiedMessage lastModifiedMessage = new LastModifiedMessage(map);
         String orcid = lastModifiedMessage.getOrcid();
-        try {
-            LOG.info("Recieved " + message.getJMSDestination() + " message for orcid " + orcid + " " + lastModifiedMessage.getLastUpdated());
-        } catch (JMSException e) {
-            throw new RuntimeException(e);
+        if (LOG.isDebugEnabled()) {
+            try {
+                LOG.debug("Recieved " + message.getJMSDestination() + " message for orcid " + orcid + " " + lastModifiedMessage.getLastUpdated());
+            } catch (JMSException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        Long lastUpdated = getLastUpdated(lastModifiedMessage);
+        if (lastUpdated != null) {
+            Long processed = lastProcessed.getIfPresent(orcid);
+            if (processed != null && processed >= lastUpdated) {
+                LOG.debug("Skipping message for orcid " + orcid + ", a message as recent was already processed");
+                return;
+            }
         }
         getProcessor().accept(lastModifiedMessage);
+        if (lastUpdated != null) {
+            lastProcessed.asMap().merge(orcid, lastUpdated, Math::max);
+        }
+    }
+
+    /**
+     * @return the last modified date of the message, or null for messages
+     *         without one, which are always processed
+     */
+    private Long getLastUpdated(LastModifiedMessage message) {
+        try {
+            Date lastUpdated = message.getLastUpdated();
+            return lastUpdated == null ? null : lastUpdated.getTime();
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
     
     public T getProcessor() {
@@ -3,13 +3,13 @@ package org.orcid.listener.orcid;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Resource;
 import javax.ws.rs.core.MediaType;
 
 import org.orcid.jaxb.model.error_v2.OrcidError;
 import org.orcid.jaxb.model.record.summary_v2.ActivitiesSummary;
+import org.orcid.jaxb.model.record.summary_v2.WorkGroup;
 import org.orcid.jaxb.model.record_v2.Affiliation;
 import org.orcid.jaxb.model.record_v2.AffiliationType;
 import org.orcid.jaxb.model.record_v2.Education;
@@ -25,11 +25,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
@@ -45,40 +43,58 @@ public class Orcid20ManagerAPIImpl implements Orcid20Manager {
     protected final URI baseUri;
     protected final String accessToken;
 
-    //loads on read.
-    private final LoadingCache<BaseMessage, RecordContainer> v2ThreadSharedCache = CacheBuilder.newBuilder().expireAfterAccess(5, TimeUnit.MINUTES).maximumSize(100).build(
-            new CacheLoader<BaseMessage, RecordContainer>() {
-                public RecordContainer load(BaseMessage message){
-                    RecordContainer container = new RecordContainer();
-                    WebResource webResource = jerseyClient.resource(baseUri).path(message.getOrcid() + "/record");
-                    webResource.getProperties().put(ClientConfig.PROPERTY_FOLLOW_REDIRECTS, false);
-                    Builder builder = webResource.accept(MediaType.APPLICATION_XML).header("Authorization", "Bearer " + accessToken);
-                    ClientResponse response = builder.get(ClientResponse.class);
-                    if (response.getStatus() != 200) {
-                        container.status = response.getStatus();
-                        container.error = response.getEntity(OrcidError.class);
-                        return container;
-                    }
-                    container.status = 200;
-                    container.record = response.getEntity(Record.class);
-                    return container;
-                }
-              });
-    
+    // Shared by the processors that fetch the same record
+    private final RecordFetchCache<RecordContainer> recordCache;
+
     @Autowired
     public Orcid20ManagerAPIImpl(@Value("${org.orcid.message-listener.api20BaseURI}") String baseUri,
-            @Value("${org.orcid.message-listener.api.read_public_access_token}") String accessToken) throws URISyntaxException {
+            @Value("${org.orcid.message-listener.api.read_public_access_token}") String accessToken,
+            @Value("${org.orcid.message-listener.record_cache.max_weight:50000}") long recordCacheMaxWeight,
+            @Value("${org.orcid.message-listener.record_cache.expire_seconds:300}") long recordCacheExpireSeconds) throws URISyntaxException {
         LOG.info("Creating Orcid20APIClient with baseUri = " + baseUri);
         this.baseUri = new URI(baseUri);
         this.accessToken = accessToken;
+        this.recordCache = new RecordFetchCache<RecordContainer>("API 2.0", recordCacheMaxWeight, recordCacheExpireSeconds, Orcid20ManagerAPIImpl::weigh);
+    }
+
+    private RecordContainer loadRecord(String orcid) {
+        RecordContainer container = new RecordContainer();
+        WebResource webResource = jerseyClient.resource(baseUri).path(orcid + "/record");
+        webResource.getProperties().put(ClientConfig.PROPERTY_FOLLOW_REDIRECTS, false);
+        Builder builder = webResource.accept(MediaType.APPLICATION_XML).header("Authorization", "Bearer " + accessToken);
+        ClientResponse response = builder.get(ClientResponse.class);
+        if (response.getStatus() != 200) {
+            container.status = response.getStatus();
+            container.error = response.getEntity(OrcidError.class);
+            return container;
+        }
+        container.status = 200;
+        container.record = response.getEntity(Record.class);
+        return container;
+    }
+
+    // Works are most of the size of a record
+    private static int weigh(RecordContainer container) {
+        int weight = 1;
+        if (container.record != null && container.record.getActivitiesSummary() != null && container.record.getActivitiesSummary().getWorks() != null) {
+            for (WorkGroup group : container.record.getActivitiesSummary().getWorks().getWorkGroup()) {
+                weight += group.getWorkSummary().size();
+            }
+        }
+        return weight;
+    }
+
+    @Scheduled(fixedDelayString = "${org.orcid.message-listener.record_cache.stats_interval_ms:300000}")
+    public void logRecordCacheStats() {
+        recordCache.logStats();
     }
 
-    /**uses the loading cache to fetch records.  blocks concurrent requests for same message until first has returned.
+    /**uses the record cache to fetch records.  blocks concurrent requests for the same orcid and last modified date until first has returned.
      * 
      */
     @Override
     public Record fetchPublicRecord(BaseMessage message) throws LockedRecordException, DeprecatedRecordException, ExecutionException {
-        RecordContainer container = v2ThreadSharedCache.get(message);
+        RecordContainer container = recordCache.get(message, this::loadRecord);
         if (container.status != 200) {
             switch (container.status) {
             case 301:
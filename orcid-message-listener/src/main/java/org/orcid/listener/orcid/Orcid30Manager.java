@@ -1,5 +1,6 @@
 package org.orcid.listener.orcid;
 
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import org.orcid.jaxb.model.v3.release.record.Affiliation;
@@ -45,7 +46,50 @@ public interface Orcid30Manager {
     PeerReview fetchPeerReview(String orcid, Long putCode);
     
     ResearchResource fetchResearchResource(String orcid, Long putCode);
+
+    /**
+     * Fetches the detailed research resources for the given put codes,
+     * running a bounded number of requests for the record in parallel
+     * 
+     * @param orcid
+     * @param putCodes
+     * @return the research resources, in the same order as the put codes,
+     *         without the ones that couldn't be fetched
+     */
+    List<ResearchResource> fetchResearchResources(String orcid, List<Long> putCodes);
     
     ResearchResources fetchResearchResources(String orcid);
 
+    /**
+     * Fetches the given works with a single request to the works bulk
+     * endpoint, so the number of put codes must not exceed its limit
+     * 
+     * @param orcid
+     * @param putCodes
+     * @return the works, in the order returned by the API, without the ones
+     *         that couldn't be fetched
+     */
+    List<Work> fetchWorks(String orcid, List<Long> putCodes);
+
+    /**
+     * Fetches the given affiliations, running a bounded number of requests for
+     * the record in parallel, as the API has no bulk endpoint for them.
+     * Affiliations that can't be fetched are left out.
+     */
+    List<Affiliation> fetchAffiliations(String orcid, List<Long> putCodes, AffiliationType type);
+
+    /**
+     * Fetches the given fundings, running a bounded number of requests for
+     * the record in parallel, as the API has no bulk endpoint for them.
+     * Fundings that can't be fetched are left out.
+     */
+    List<Funding> fetchFundings(String orcid, List<Long> putCodes);
+
+    /**
+     * Fetches the given peer reviews, running a bounded number of requests for
+     * the record in parallel, as the API has no bulk endpoint for them. Peer
+     * reviews that can't be fetched are left out.
+     */
+    List<PeerReview> fetchPeerReviews(String orcid, List<Long> putCodes);
+
 }
\ No newline at end of file
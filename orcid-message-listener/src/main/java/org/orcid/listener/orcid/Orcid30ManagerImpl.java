@@ -2,12 +2,24 @@ package org.orcid.listener.orcid;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import javax.ws.rs.core.MediaType;
 
+import org.orcid.jaxb.model.record.bulk.BulkElement;
 import org.orcid.jaxb.model.v3.release.error.OrcidError;
 import org.orcid.jaxb.model.v3.release.record.Activity;
 import org.orcid.jaxb.model.v3.release.record.Affiliation;
@@ -24,8 +36,10 @@ import org.orcid.jaxb.model.v3.release.record.Record;
 import org.orcid.jaxb.model.v3.release.record.ResearchResource;
 import org.orcid.jaxb.model.v3.release.record.Service;
 import org.orcid.jaxb.model.v3.release.record.Work;
+import org.orcid.jaxb.model.v3.release.record.WorkBulk;
 import org.orcid.jaxb.model.v3.release.record.summary.ActivitiesSummary;
 import org.orcid.jaxb.model.v3.release.record.summary.ResearchResources;
+import org.orcid.jaxb.model.v3.release.record.summary.WorkGroup;
 import org.orcid.listener.exception.DeprecatedRecordException;
 import org.orcid.listener.exception.LockedRecordException;
 import org.orcid.utils.listener.BaseMessage;
@@ -33,11 +47,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
@@ -53,42 +65,84 @@ public class Orcid30ManagerImpl implements Orcid30Manager {
     protected final URI baseUri;
     protected final String accessToken;
 
-    // loads on read.
-    private final LoadingCache<BaseMessage, RecordContainer> v3ThreadSharedCache = CacheBuilder.newBuilder().expireAfterAccess(5, TimeUnit.MINUTES).maximumSize(100)
-            .build(new CacheLoader<BaseMessage, RecordContainer>() {
-                public RecordContainer load(BaseMessage message) {
-                    RecordContainer container = new RecordContainer();
-                    WebResource webResource = jerseyClient.resource(baseUri).path(message.getOrcid() + "/record");
-                    webResource.getProperties().put(ClientConfig.PROPERTY_FOLLOW_REDIRECTS, false);
-                    Builder builder = webResource.accept(MediaType.APPLICATION_XML).header("Authorization", "Bearer " + accessToken);
-                    ClientResponse response = builder.get(ClientResponse.class);
-                    if (response.getStatus() != 200) {
-                        container.status = response.getStatus();
-                        container.error = response.getEntity(OrcidError.class);
-                        return container;
-                    }
-                    container.status = 200;
-                    container.record = response.getEntity(Record.class);
-                    return container;
-                }
-            });
+    // Activity requests run here so a record with many activities doesn't
+    // fetch them one by one. Connections are reused through the JDK keep
+    // alive cache, so the per record limit should stay within http.maxConnections
+    private final ExecutorService activityFetchExecutor;
+    private final int activityFetchConcurrencyPerRecord;
+
+    // Shared by the processors that fetch the same record
+    private final RecordFetchCache<RecordContainer> recordCache;
 
     @Autowired
     public Orcid30ManagerImpl(@Value("${org.orcid.message-listener.api30BaseURI}") String baseUri,
-            @Value("${org.orcid.message-listener.api.read_public_access_token}") String accessToken) throws URISyntaxException {
+            @Value("${org.orcid.message-listener.api.read_public_access_token}") String accessToken,
+            @Value("${org.orcid.message-listener.api30.activity_fetch.pool_size:16}") int activityFetchPoolSize,
+            @Value("${org.orcid.message-listener.api30.activity_fetch.concurrency_per_record:4}") int activityFetchConcurrencyPerRecord,
+            @Value("${org.orcid.message-listener.record_cache.max_weight:50000}") long recordCacheMaxWeight,
+            @Value("${org.orcid.message-listener.record_cache.expire_seconds:300}") long recordCacheExpireSeconds) throws URISyntaxException {
         LOG.info("Creating Orcid30APIClient with baseUri = " + baseUri);
         this.baseUri = new URI(baseUri);
         this.accessToken = accessToken;
+        this.recordCache = new RecordFetchCache<RecordContainer>("API 3.0", recordCacheMaxWeight, recordCacheExpireSeconds, Orcid30ManagerImpl::weigh);
+        this.activityFetchExecutor = Executors.newFixedThreadPool(Math.max(1, activityFetchPoolSize), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "api30-activity-fetch-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.activityFetchConcurrencyPerRecord = Math.max(1, activityFetchConcurrencyPerRecord);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        activityFetchExecutor.shutdownNow();
+    }
+
+    private RecordContainer loadRecord(String orcid) {
+        RecordContainer container = new RecordContainer();
+        WebResource webResource = jerseyClient.resource(baseUri).path(orcid + "/record");
+        webResource.getProperties().put(ClientConfig.PROPERTY_FOLLOW_REDIRECTS, false);
+        Builder builder = webResource.accept(MediaType.APPLICATION_XML).header("Authorization", "Bearer " + accessToken);
+        ClientResponse response = builder.get(ClientResponse.class);
+        if (response.getStatus() != 200) {
+            container.status = response.getStatus();
+            container.error = response.getEntity(OrcidError.class);
+            return container;
+        }
+        container.status = 200;
+        container.record = response.getEntity(Record.class);
+        return container;
+    }
+
+    // Works are most of the size of a record
+    private static int weigh(RecordContainer container) {
+        int weight = 1;
+        if (container.record != null && container.record.getActivitiesSummary() != null && container.record.getActivitiesSummary().getWorks() != null) {
+            for (WorkGroup group : container.record.getActivitiesSummary().getWorks().getWorkGroup()) {
+                weight += group.getWorkSummary().size();
+            }
+        }
+        return weight;
+    }
+
+    @Scheduled(fixedDelayString = "${org.orcid.message-listener.record_cache.stats_interval_ms:300000}")
+    public void logRecordCacheStats() {
+        recordCache.logStats();
     }
 
     /**
-     * uses the loading cache to fetch records. blocks concurrent requests for
-     * same message until first has returned.
+     * uses the record cache to fetch records. blocks concurrent requests for
+     * the same orcid and last modified date until first has returned.
      * 
      */
     @Override
     public Record fetchPublicRecord(BaseMessage message) throws DeprecatedRecordException, LockedRecordException, ExecutionException {
-        RecordContainer container = v3ThreadSharedCache.get(message);
+        RecordContainer container = recordCache.get(message, this::loadRecord);
         if (container.status != 200) {
             switch (container.status) {
             case 301:
@@ -171,6 +225,114 @@ public class Orcid30ManagerImpl implements Orcid30Manager {
         return (ResearchResource) fetchEntity(orcid, putCode, "research-resource", ResearchResource.class);
     }
 
+    @Override
+    public List<ResearchResource> fetchResearchResources(String orcid, List<Long> putCodes) {
+        return fetchEntities(putCodes, putCode -> fetchResearchResource(orcid, putCode));
+    }
+
+    @Override
+    public List<Affiliation> fetchAffiliations(String orcid, List<Long> putCodes, AffiliationType type) {
+        return fetchEntities(putCodes, putCode -> fetchAffiliation(orcid, putCode, type));
+    }
+
+    @Override
+    public List<Funding> fetchFundings(String orcid, List<Long> putCodes) {
+        return fetchEntities(putCodes, putCode -> fetchFunding(orcid, putCode));
+    }
+
+    @Override
+    public List<PeerReview> fetchPeerReviews(String orcid, List<Long> putCodes) {
+        return fetchEntities(putCodes, putCode -> fetchPeerReview(orcid, putCode));
+    }
+
+    @Override
+    public List<Work> fetchWorks(String orcid, List<Long> putCodes) {
+        List<Work> works = new ArrayList<>(putCodes.size());
+        if (putCodes.isEmpty()) {
+            return works;
+        }
+        String putCodesParam = putCodes.stream().map(String::valueOf).collect(Collectors.joining(","));
+        WebResource webResource = jerseyClient.resource(baseUri).path(orcid + "/works/" + putCodesParam);
+        webResource.getProperties().put(ClientConfig.PROPERTY_FOLLOW_REDIRECTS, false);
+        Builder builder = webResource.accept(MediaType.APPLICATION_XML).header("Authorization", "Bearer " + accessToken);
+        ClientResponse response = builder.get(ClientResponse.class);
+        if (response.getStatus() != 200) {
+            LOG.error("Unable to fetch works " + putCodesParam + " from record " + orcid + " on API 3.0 HTTP error code: " + response.getStatus());
+            throw new RuntimeException("Failed : HTTP error code : " + response.getStatus());
+        }
+        WorkBulk workBulk = response.getEntity(WorkBulk.class);
+        if (workBulk.getBulk() != null) {
+            for (BulkElement element : workBulk.getBulk()) {
+                if (element instanceof Work) {
+                    works.add((Work) element);
+                } else {
+                    // e.g. the work was deleted after the record was fetched,
+                    // only that work is dropped
+                    String developerMessage = (element instanceof OrcidError) ? ((OrcidError) element).getDeveloperMessage() : String.valueOf(element);
+                    LOG.error("Unable to fetch a work of " + putCodesParam + " from record " + orcid + " on API 3.0: " + developerMessage);
+                }
+            }
+        }
+        return works;
+    }
+
+    /**
+     * Splits the put codes into at most activityFetchConcurrencyPerRecord
+     * lanes, each fetched sequentially on the shared executor, and waits for
+     * all of them. Put codes that can't be fetched are left out of the
+     * results.
+     */
+    private <T> List<T> fetchEntities(List<Long> putCodes, Function<Long, T> fetcher) {
+        int size = putCodes.size();
+        if (size <= 1 || activityFetchConcurrencyPerRecord == 1) {
+            List<T> results = new ArrayList<>(size);
+            for (Long putCode : putCodes) {
+                T result = fetchOrNull(putCode, fetcher);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            return results;
+        }
+        @SuppressWarnings("unchecked")
+        T[] results = (T[]) new Object[size];
+        int lanes = Math.min(size, activityFetchConcurrencyPerRecord);
+        List<Future<?>> futures = new ArrayList<>(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            final int firstIndex = lane;
+            futures.add(activityFetchExecutor.submit(() -> {
+                for (int i = firstIndex; i < size; i += lanes) {
+                    results[i] = fetchOrNull(putCodes.get(i), fetcher);
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while fetching activities", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return Arrays.stream(results).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private <T> T fetchOrNull(Long putCode, Function<Long, T> fetcher) {
+        try {
+            return fetcher.apply(putCode);
+        } catch (RuntimeException e) {
+            // Already logged by fetchEntity
+            return null;
+        }
+    }
+
     private Activity fetchEntity(String orcid, Long putCode, String endpoint, Class<? extends Activity> c) {
         WebResource webResource = jerseyClient.resource(baseUri).path(orcid + "/" + endpoint + "/" + putCode);
         webResource.getProperties().put(ClientConfig.PROPERTY_FOLLOW_REDIRECTS, false);
@@ -0,0 +1,89 @@
+package org.orcid.listener.orcid;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.orcid.utils.listener.BaseMessage;
+import org.orcid.utils.listener.MessageConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Shares the fetch and parse of a record between the processors that get a
+ * message for it. Entries are keyed by orcid and last modified date, not by
+ * the whole message, so the Solr and S3 processors get the same record for
+ * an update. Concurrent requests for the same key wait for a single fetch.
+ * 
+ * Messages without a last modified date, e.g. the retries sent by
+ * ResendFailedMessages, always fetch the record, as a cached copy could be
+ * older than the update being retried.
+ * 
+ * The size is bounded by weight, given by the weigher, rather than by number
+ * of records, so a few huge records don't take the memory of thousands of
+ * small ones.
+ */
+public class RecordFetchCache<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecordFetchCache.class);
+
+    private final String name;
+
+    private final Cache<Key, T> cache;
+
+    public RecordFetchCache(String name, long maxWeight, long expireAfterWriteSeconds, ToIntFunction<T> weigher) {
+        this.name = name;
+        this.cache = CacheBuilder.newBuilder().maximumWeight(maxWeight).weigher((Key k, T v) -> Math.max(1, weigher.applyAsInt(v)))
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS).recordStats().build();
+    }
+
+    public T get(BaseMessage message, Function<String, T> loader) throws ExecutionException {
+        String orcid = message.getOrcid();
+        String lastModified = message.getMap().get(MessageConstants.DATE.value);
+        if (lastModified == null) {
+            return loader.apply(orcid);
+        }
+        return cache.get(new Key(orcid, lastModified), () -> loader.apply(orcid));
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public void logStats() {
+        CacheStats stats = cache.stats();
+        LOG.info("{} record cache: size={}, hitRate={}, loads={}, evictions={}, averageLoadMillis={}", name, cache.size(), String.format("%.3f", stats.hitRate()),
+                stats.loadCount(), stats.evictionCount(), String.format("%.1f", stats.averageLoadPenalty() / 1000000));
+    }
+
+    private static final class Key {
+        private final String orcid;
+        private final String lastModified;
+
+        private Key(String orcid, String lastModified) {
+            this.orcid = orcid;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(orcid, lastModified);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equals(orcid, other.orcid) && Objects.equals(lastModified, other.lastModified);
+        }
+    }
+
+}
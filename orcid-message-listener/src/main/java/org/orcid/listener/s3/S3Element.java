@@ -0,0 +1,72 @@
+package org.orcid.listener.s3;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.commons.io.output.DeferredFileOutputStream;
+
+import com.amazonaws.util.BinaryUtils;
+
+/**
+ * Content of an element about to be sent to S3. It is kept in memory up to
+ * the given threshold and moved to a temp file beyond it. The MD5 of the
+ * content is computed while it is written, so it can be compared with the
+ * ETag of the existing object without reading the content again.
+ * 
+ * Closing the element deletes the temp file, if any.
+ */
+class S3Element implements Closeable {
+
+    private final DeferredFileOutputStream content;
+
+    private final MessageDigest digest;
+
+    private String md5Hex;
+
+    S3Element(int inMemoryThreshold) {
+        this.content = new DeferredFileOutputStream(inMemoryThreshold, "s3-element-", ".xml", null);
+        try {
+            this.digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    OutputStream getOutputStream() {
+        return new DigestOutputStream(content, digest);
+    }
+
+    boolean isInMemory() {
+        return content.isInMemory();
+    }
+
+    byte[] getData() {
+        return content.getData();
+    }
+
+    File getFile() {
+        return content.getFile();
+    }
+
+    /**
+     * Only valid once the output stream has been closed
+     */
+    String getMd5Hex() {
+        if (md5Hex == null) {
+            md5Hex = BinaryUtils.toHex(digest.digest());
+        }
+        return md5Hex;
+    }
+
+    @Override
+    public void close() {
+        File file = content.getFile();
+        if (file != null && file.exists()) {
+            file.delete();
+        }
+    }
+}
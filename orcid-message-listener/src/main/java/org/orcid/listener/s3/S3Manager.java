@@ -16,7 +16,9 @@
  */
 package org.orcid.listener.s3;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -51,7 +53,6 @@ import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.module.jaxb.JaxbAnnotationModule;
 
 @Component
@@ -73,11 +74,16 @@ public class S3Manager {
     @Value("${org.orcid.message-listener.index.s3.search.max_elements:3000}")
     private Integer maxElements;
 
+    // Elements bigger than this are buffered on disk rather than in memory
+    @Value("${org.orcid.message-listener.s3.in_memory_threshold_bytes:1048576}")
+    private int inMemoryThreshold = 1048576;
+
+    private final ThreadLocal<Map<JAXBContext, Marshaller>> marshallers = ThreadLocal.withInitial(HashMap::new);
+
     public S3Manager() throws JAXBException {
         mapper = new ObjectMapper();
         JaxbAnnotationModule module = new JaxbAnnotationModule();
         mapper.registerModule(module);
-        mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
         // Initialize JAXBContext
         this.jaxbContext_2_0_api = JAXBContext.newInstance(Record.class, ActivitiesSummary.class, OrcidError.class);
         this.jaxbContext_2_0_activities_api = JAXBContext.newInstance(Education.class, Employment.class, Funding.class, Work.class, PeerReview.class);
@@ -104,7 +110,6 @@ public class S3Manager {
         mapper = new ObjectMapper();
         JaxbAnnotationModule module = new JaxbAnnotationModule();
         mapper.registerModule(module);
-        mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
 
         // Initialize JAXBContext
         this.jaxbContext_2_0_api = JAXBContext.newInstance(Record.class, ActivitiesSummary.class, OrcidError.class);
@@ -123,22 +128,22 @@ public class S3Manager {
         this.s3MessagingService = s3MessagingService;
     }
 
-    @Deprecated
-    private byte[] toXML(Object object) throws JAXBException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        Marshaller marshaller = null;
-        Class<?> c = object.getClass();
+    public void setInMemoryThreshold(int inMemoryThreshold) {
+        this.inMemoryThreshold = inMemoryThreshold;
+    }
+
+    private JAXBContext getContext(Class<?> c) {
         if (org.orcid.jaxb.model.record_v2.Record.class.isAssignableFrom(c) || org.orcid.jaxb.model.record.summary_v2.ActivitiesSummary.class.isAssignableFrom(c)
                 || org.orcid.jaxb.model.error_v2.OrcidError.class.isAssignableFrom(c)) {
-            marshaller = jaxbContext_2_0_api.createMarshaller();
+            return jaxbContext_2_0_api;
         } else if (org.orcid.jaxb.model.record_v2.Education.class.isAssignableFrom(c) || org.orcid.jaxb.model.record_v2.Employment.class.isAssignableFrom(c)
                 || org.orcid.jaxb.model.record_v2.Funding.class.isAssignableFrom(c) || org.orcid.jaxb.model.record_v2.Work.class.isAssignableFrom(c)
                 || org.orcid.jaxb.model.record_v2.PeerReview.class.isAssignableFrom(c)) {
-            marshaller = jaxbContext_2_0_activities_api.createMarshaller();
+            return jaxbContext_2_0_activities_api;
         } else if (org.orcid.jaxb.model.v3.release.record.Record.class.isAssignableFrom(c)
                 || org.orcid.jaxb.model.v3.release.record.summary.ActivitiesSummary.class.isAssignableFrom(c)
                 || org.orcid.jaxb.model.v3.release.error.OrcidError.class.isAssignableFrom(c)) {
-            marshaller = jaxbContext_3_0_api.createMarshaller();
+            return jaxbContext_3_0_api;
         } else if (org.orcid.jaxb.model.v3.release.record.Distinction.class.isAssignableFrom(c)
                 || org.orcid.jaxb.model.v3.release.record.Education.class.isAssignableFrom(c)
                 || org.orcid.jaxb.model.v3.release.record.Employment.class.isAssignableFrom(c) 
@@ -150,45 +155,121 @@ public class S3Manager {
                 || org.orcid.jaxb.model.v3.release.record.ResearchResource.class.isAssignableFrom(c)
                 || org.orcid.jaxb.model.v3.release.record.Service.class.isAssignableFrom(c) 
                 || org.orcid.jaxb.model.v3.release.record.Work.class.isAssignableFrom(c)) {
-            marshaller = jaxbContext_3_0_activities_api.createMarshaller();
-        } else {
-            throw new IllegalArgumentException("Unable to unmarshall class " + c);
+            return jaxbContext_3_0_activities_api;
+        }
+        throw new IllegalArgumentException("Unable to unmarshall class " + c);
+    }
+
+    /**
+     * Marshallers are not thread safe, so each listener thread keeps its own
+     * one per context instead of creating a new one per element
+     */
+    private Marshaller getMarshaller(JAXBContext context) throws JAXBException {
+        Map<JAXBContext, Marshaller> threadMarshallers = marshallers.get();
+        Marshaller marshaller = threadMarshallers.get(context);
+        if (marshaller == null) {
+            marshaller = context.createMarshaller();
+            threadMarshallers.put(context, marshaller);
+        }
+        return marshaller;
+    }
+
+    /**
+     * Marshals the object as compact XML. Small elements stay in memory,
+     * bigger ones are written to a temp file while they are marshalled, so a
+     * huge record never needs to fit in the heap.
+     */
+    private S3Element toXML(Object object) throws JAXBException {
+        Marshaller marshaller = getMarshaller(getContext(object.getClass()));
+        S3Element element = new S3Element(inMemoryThreshold);
+        try (OutputStream os = element.getOutputStream()) {
+            marshaller.marshal(object, os);
+        } catch (IOException e) {
+            element.close();
+            throw new UncheckedIOException(e);
+        } catch (JAXBException | RuntimeException e) {
+            element.close();
+            throw e;
+        }
+        return element;
+    }
+
+    private void sendV2Item(String elementName, S3Element element, Date lastModified, boolean isActivity) throws AmazonClientException, AmazonServiceException {
+        try {
+            if (element.isInMemory()) {
+                s3MessagingService.sendV2Item(elementName, element.getData(), MediaType.APPLICATION_XML, lastModified, isActivity);
+            } else {
+                s3MessagingService.sendV2Item(elementName, element.getFile(), MediaType.APPLICATION_XML, lastModified, isActivity);
+            }
+        } finally {
+            element.close();
+        }
+    }
+
+    private void sendV3Item(String orcid, String elementName, S3Element element, Date lastModified, boolean isActivity) throws AmazonClientException, AmazonServiceException {
+        try {
+            if (element.isInMemory()) {
+                s3MessagingService.sendV3Item(orcid, elementName, element.getData(), MediaType.APPLICATION_XML, lastModified, isActivity);
+            } else {
+                s3MessagingService.sendV3Item(orcid, elementName, element.getFile(), MediaType.APPLICATION_XML, lastModified, isActivity);
+            }
+        } finally {
+            element.close();
         }
-        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-        marshaller.marshal(object, baos);
-        return baos.toByteArray();
     }
 
     public void uploadV2RecordSummary(String orcid, org.orcid.jaxb.model.record_v2.Record record) throws JAXBException, JsonProcessingException, AmazonClientException, AmazonServiceException {
         Date lastModified = DateUtils.convertToDate(record.getHistory().getLastModifiedDate().getValue());
         // Upload XML
         String xmlElementName = getElementName(orcid);
-        byte[] xmlElement = toXML(record);
-        s3MessagingService.sendV2Item(xmlElementName, xmlElement, MediaType.APPLICATION_XML, lastModified, false);
+        sendV2Item(xmlElementName, toXML(record), lastModified, false);
     }
 
     public void uploadV3RecordSummary(String orcid, org.orcid.jaxb.model.v3.release.record.Record record) throws JAXBException, JsonProcessingException,AmazonClientException, AmazonServiceException {
         Date lastModified = DateUtils.convertToDate(record.getHistory().getLastModifiedDate().getValue());
         // Upload XML
         String xmlElementName = getElementName(orcid);
-        byte[] xmlElement = toXML(record);
-        s3MessagingService.sendV3Item(orcid, xmlElementName, xmlElement, MediaType.APPLICATION_XML, lastModified, false);
+        sendV3Item(orcid, xmlElementName, toXML(record), lastModified, false);
     }
 
     public void uploadV2Activity(String orcid, String putCode, org.orcid.jaxb.model.record_v2.Activity activity) throws JAXBException, JsonProcessingException,AmazonClientException, AmazonServiceException {
         Date lastModified = DateUtils.convertToDate(activity.getLastModifiedDate().getValue());
         // Upload XML
         String xmlElementName = getElementName(orcid, putCode, ActivityType.inferFromActivity(activity));
-        byte[] xmlElement = toXML(activity);
-        s3MessagingService.sendV2Item(xmlElementName, xmlElement, MediaType.APPLICATION_XML, lastModified, true);
+        sendV2Item(xmlElementName, toXML(activity), lastModified, true);
     }
 
     public void uploadV3Activity(String orcid, String putCode, org.orcid.jaxb.model.v3.release.record.Activity activity) throws JAXBException, JsonProcessingException, AmazonClientException, AmazonServiceException {
         Date lastModified = DateUtils.convertToDate(activity.getLastModifiedDate().getValue());
         // Upload XML
         String xmlElementName = getElementName(orcid, putCode, ActivityType.inferFromActivity(activity));
-        byte[] xmlElement = toXML(activity);
-        s3MessagingService.sendV3Item(orcid, xmlElementName, xmlElement, MediaType.APPLICATION_XML, lastModified, true);
+        sendV3Item(orcid, xmlElementName, toXML(activity), lastModified, true);
+    }
+
+    /**
+     * Uploads the activity only if its XML differs from the object already on
+     * S3. The MD5 of the generated XML is compared with the ETag returned when
+     * the activities were listed, so unchanged activities cost no request at
+     * all. An ETag that isn't a plain MD5, as the ones of multipart or KMS
+     * encrypted objects, never matches, so those are always uploaded. When the
+     * content didn't change the object is copied in place instead, so its S3
+     * last modified date catches up with the activity one and it isn't
+     * fetched again on the next sync.
+     * 
+     * @return true if the activity was uploaded
+     */
+    public boolean uploadV3ActivityIfChanged(String orcid, String putCode, org.orcid.jaxb.model.v3.release.record.Activity activity, String existingETag)
+            throws JAXBException, JsonProcessingException, AmazonClientException, AmazonServiceException {
+        Date lastModified = DateUtils.convertToDate(activity.getLastModifiedDate().getValue());
+        String xmlElementName = getElementName(orcid, putCode, ActivityType.inferFromActivity(activity));
+        S3Element xmlElement = toXML(activity);
+        if (existingETag != null && existingETag.replace("\"", "").equalsIgnoreCase(xmlElement.getMd5Hex())) {
+            xmlElement.close();
+            s3MessagingService.touchV3Activity(orcid, xmlElementName, MediaType.APPLICATION_XML, lastModified);
+            return false;
+        }
+        sendV3Item(orcid, xmlElementName, xmlElement, lastModified, true);
+        return true;
     }
 
     public void uploadV2OrcidError(String orcid, org.orcid.jaxb.model.error_v2.OrcidError error) throws JAXBException, JsonProcessingException, AmazonClientException, AmazonServiceException {
@@ -196,8 +277,7 @@ public class S3Manager {
 
         // Upload XML
         String xmlElementName = getElementName(orcid);
-        byte[] xmlElement = toXML(error);
-        s3MessagingService.sendV2Item(xmlElementName, xmlElement, MediaType.APPLICATION_XML, lastModified, false);
+        sendV2Item(xmlElementName, toXML(error), lastModified, false);
     }
 
     public void uploadV3OrcidError(String orcid, org.orcid.jaxb.model.v3.release.error.OrcidError error) throws JAXBException, JsonProcessingException, AmazonClientException, AmazonServiceException {
@@ -205,8 +285,7 @@ public class S3Manager {
 
         // Upload XML
         String xmlElementName = getElementName(orcid);
-        byte[] xmlElement = toXML(error);
-        s3MessagingService.sendV3Item(orcid, xmlElementName, xmlElement, MediaType.APPLICATION_XML, lastModified, false);
+        sendV3Item(orcid, xmlElementName, toXML(error), lastModified, false);
     }
 
     public Map<ActivityType, Map<String, S3ObjectSummary>> searchActivities(String orcid, APIVersion version) {
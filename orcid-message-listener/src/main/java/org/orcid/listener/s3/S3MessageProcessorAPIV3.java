@@ -1,12 +1,11 @@
 package org.orcid.listener.s3;
 
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.Resource;
-import javax.xml.bind.JAXBException;
 
 import org.orcid.jaxb.model.v3.release.error.OrcidError;
 import org.orcid.jaxb.model.v3.release.record.Activity;
@@ -57,7 +56,7 @@ import org.springframework.stereotype.Component;
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 
 /**
  * Core logic for listeners
@@ -76,6 +75,10 @@ public class S3MessageProcessorAPIV3 {
     @Value("${org.orcid.message-listener.index.v3:false}")
     private boolean isV3IndexerEnabled;
     
+    // Must not exceed the works bulk read limit of the API
+    @Value("${org.orcid.message-listener.api30.activity_fetch.chunk_size:100}")
+    private int activitiesFetchChunkSize;
+    
     @Resource
     private Orcid30Manager orcid30ApiClient;
     @Resource
@@ -514,8 +517,42 @@ public class S3MessageProcessorAPIV3 {
 
     private boolean processActivities(String orcid, List<? extends Activity> activities, Map<String, S3ObjectSummary> existingElements, ActivityType type) {
         try {
+            List<Long> putCodesToFetch = new ArrayList<Long>();
+            Map<Long, S3ObjectSummary> updatedElements = new HashMap<Long, S3ObjectSummary>();
             for (Activity x : activities) {
-                processActivity(orcid, x, existingElements, type);
+                S3ObjectSummary existingObject = existingElements.get(String.valueOf(x.getPutCode()));
+                if (existingObject == null) {
+                    putCodesToFetch.add(x.getPutCode());
+                } else if (DateUtils.convertToDate(x.getLastModifiedDate().getValue()).after(existingObject.getLastModified())) {
+                    putCodesToFetch.add(x.getPutCode());
+                    updatedElements.put(x.getPutCode(), existingObject);
+                }
+                // Remove it from the existingElements list since it was
+                // already processed
+                existingElements.remove(String.valueOf(x.getPutCode()));
+            }
+            // Fetch and upload one chunk at a time, so a record with
+            // thousands of activities doesn't need one request per activity
+            // nor all of them in memory
+            boolean allFetched = true;
+            for (List<Long> chunk : Lists.partition(putCodesToFetch, activitiesFetchChunkSize)) {
+                List<? extends Activity> fetched = fetchActivities(orcid, chunk, type);
+                if (fetched.size() < chunk.size()) {
+                    // The missing ones are retried with the whole type
+                    allFetched = false;
+                }
+                for (Activity activity : fetched) {
+                    String putCode = String.valueOf(activity.getPutCode());
+                    S3ObjectSummary existingObject = updatedElements.get(activity.getPutCode());
+                    if (existingObject == null) {
+                        s3Manager.uploadV3Activity(orcid, putCode, activity);
+                    } else if (!s3Manager.uploadV3ActivityIfChanged(orcid, putCode, activity, existingObject.getETag())) {
+                        // Last modified changed but the public content
+                        // didn't, e.g. a private field was edited, so only
+                        // its S3 last modified date was refreshed
+                        LOG.debug("Skipping unchanged " + type.getValue() + " " + putCode + " for orcid " + orcid);
+                    }
+                }
             }
             // Remove from S3 all element that still exists on the
             // existingEducations map
@@ -523,64 +560,37 @@ public class S3MessageProcessorAPIV3 {
                 s3Manager.removeV3Activity(orcid, putCode, type);
             }
 
-            return true;
+            return allFetched;
         } catch (Exception e) {
             LOG.error("Unable to fetch activities " + type.getValue() + " for orcid " + orcid, e);
         }
         return false;
     }
 
-    private void processActivity(String orcid, Activity x, Map<String, S3ObjectSummary> existingElements, ActivityType type)
-            throws AmazonClientException, AmazonServiceException, JsonProcessingException, JAXBException {
-        String putCodeString = String.valueOf(x.getPutCode());
-        Activity activity = null;
-        if (existingElements.containsKey(putCodeString)) {
-            S3ObjectSummary existingObject = existingElements.get(putCodeString);
-            Date elementLastModified = DateUtils.convertToDate(x.getLastModifiedDate().getValue());
-            Date s3LastModified = existingObject.getLastModified();
-            if (elementLastModified.after(s3LastModified)) {
-                activity = fetchActivity(orcid, x.getPutCode(), type);
-            }
-            // Remove it from the existingElements list since it was
-            // already processed
-            existingElements.remove(putCodeString);
-        } else {
-            activity = fetchActivity(orcid, x.getPutCode(), type);
-        }
-
-        if (activity != null) {
-            // Upload it to S3
-            s3Manager.uploadV3Activity(orcid, putCodeString, activity);
-            // Remove it from the existingElements list means that the
-            // elements was already processed
-            existingElements.remove(putCodeString);
-        }
-    }
-
-    private Activity fetchActivity(String orcid, Long putCode, ActivityType type) {
+    private List<? extends Activity> fetchActivities(String orcid, List<Long> putCodes, ActivityType type) {
         switch (type) {
         case DISTINCTIONS:
-            return orcid30ApiClient.fetchAffiliation(orcid, putCode, AffiliationType.DISTINCTION);
+            return orcid30ApiClient.fetchAffiliations(orcid, putCodes, AffiliationType.DISTINCTION);
         case EDUCATIONS:
-            return orcid30ApiClient.fetchAffiliation(orcid, putCode, AffiliationType.EDUCATION);
+            return orcid30ApiClient.fetchAffiliations(orcid, putCodes, AffiliationType.EDUCATION);
         case EMPLOYMENTS:
-            return orcid30ApiClient.fetchAffiliation(orcid, putCode, AffiliationType.EMPLOYMENT);
+            return orcid30ApiClient.fetchAffiliations(orcid, putCodes, AffiliationType.EMPLOYMENT);
         case FUNDINGS:
-            return orcid30ApiClient.fetchFunding(orcid, putCode);
+            return orcid30ApiClient.fetchFundings(orcid, putCodes);
         case INVITED_POSITIONS:
-            return orcid30ApiClient.fetchAffiliation(orcid, putCode, AffiliationType.INVITED_POSITION);
+            return orcid30ApiClient.fetchAffiliations(orcid, putCodes, AffiliationType.INVITED_POSITION);
         case MEMBERSHIP:
-            return orcid30ApiClient.fetchAffiliation(orcid, putCode, AffiliationType.MEMBERSHIP);
+            return orcid30ApiClient.fetchAffiliations(orcid, putCodes, AffiliationType.MEMBERSHIP);
         case PEER_REVIEWS:
-            return orcid30ApiClient.fetchPeerReview(orcid, putCode);
+            return orcid30ApiClient.fetchPeerReviews(orcid, putCodes);
         case QUALIFICATIONS:
-            return orcid30ApiClient.fetchAffiliation(orcid, putCode, AffiliationType.QUALIFICATION);
+            return orcid30ApiClient.fetchAffiliations(orcid, putCodes, AffiliationType.QUALIFICATION);
         case RESEARCH_RESOURCES:
-            return orcid30ApiClient.fetchResearchResource(orcid, putCode);
+            return orcid30ApiClient.fetchResearchResources(orcid, putCodes);
         case SERVICES:
-            return orcid30ApiClient.fetchAffiliation(orcid, putCode, AffiliationType.SERVICE);
+            return orcid30ApiClient.fetchAffiliations(orcid, putCodes, AffiliationType.SERVICE);
         case WORKS:
-            return orcid30ApiClient.fetchWork(orcid, putCode);
+            return orcid30ApiClient.fetchWorks(orcid, putCodes);
         default:
             throw new IllegalArgumentException("Invalid type! Imposible: " + type);
         }
@@ -1,6 +1,7 @@
 package org.orcid.listener.s3;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.util.Date;
 
@@ -18,6 +19,7 @@ import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
@@ -28,6 +30,8 @@ public class S3MessagingService {
 
     Logger LOG = LoggerFactory.getLogger(S3MessagingService.class);
 
+    public static final String ACTIVITY_LAST_MODIFIED = "activity-last-modified";
+
     private final AmazonS3 s3;
 
     private final String v2SummariesBucketName;
@@ -127,6 +131,48 @@ public class S3MessagingService {
     }
     
     
+    /**
+     * Same as {@link #sendV2Item(String, byte[], String, Date, boolean)} but
+     * streams the content from a file, for elements too big to keep in memory
+     */
+    public boolean sendV2Item(String elementName, File elementContent, String contentType, Date lastModified, boolean isActivity) throws AmazonClientException, AmazonServiceException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setLastModified(lastModified);
+        String bucketName = isActivity ? this.v2ActivitiesBucketName : this.v2SummariesBucketName;
+        s3.putObject(new PutObjectRequest(bucketName, elementName, elementContent).withMetadata(metadata));
+        return true;
+    }
+
+    /**
+     * Same as {@link #sendV3Item(String, String, byte[], String, Date, boolean)}
+     * but streams the content from a file, for elements too big to keep in
+     * memory
+     */
+    public boolean sendV3Item(String orcid, String elementName, File elementContent, String contentType, Date lastModified, boolean isActivity) throws AmazonClientException, AmazonServiceException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setLastModified(lastModified);
+        String bucketName = isActivity ? this.getV3ActivitiesBucketName(orcid) : this.v3SummariesBucketName;
+        s3.putObject(new PutObjectRequest(bucketName, elementName, elementContent).withMetadata(metadata));
+        return true;
+    }
+
+    /**
+     * Copies the activity onto itself replacing its metadata, so its S3 last
+     * modified date moves forward without uploading the content again. Used
+     * when the activity was modified but its public content didn't change,
+     * otherwise it would be fetched from the API on every sync.
+     */
+    public void touchV3Activity(String orcid, String elementName, String contentType, Date lastModified) throws AmazonClientException, AmazonServiceException {
+        String bucketName = this.getV3ActivitiesBucketName(orcid);
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setLastModified(lastModified);
+        metadata.addUserMetadata(ACTIVITY_LAST_MODIFIED, String.valueOf(lastModified.getTime()));
+        s3.copyObject(new CopyObjectRequest(bucketName, elementName, bucketName, elementName).withNewObjectMetadata(metadata));
+    }
+
     public void removeV2Activity(String elementName) throws AmazonClientException, AmazonServiceException {
         s3.deleteObject(this.v2ActivitiesBucketName, elementName);        
     }
@@ -54,16 +54,20 @@ public class FundingSubTypeMessageProcessor implements Consumer<OrgDefinedFundin
     }
 
     private void process(OrgDefinedFundingTypeSolrDocument t, Integer retryCount) {
-        try {
-            solrUpdater.persist(t);
-        } catch (Exception e) {
-            LOG.error("Unable to persists fundingSubType " + t.getOrgDefinedFundingType() + " in SOLR");
-            LOG.error(e.getMessage(), e);
-            if (retryCount > MAX_RETRY_COUNT) {
-                sendSystemAlert("SOLR Index error: Unable to persist fundingSubType " + t.getOrgDefinedFundingType() + " in SOLR");
-            } else {
-                process(t, retryCount + 1);
+        solrUpdater.persist(t, failure -> {
+            if (failure != null) {
+                retry(t, retryCount, failure);
             }
+        });
+    }
+
+    private void retry(OrgDefinedFundingTypeSolrDocument t, Integer retryCount, Exception e) {
+        LOG.error("Unable to persists fundingSubType " + t.getOrgDefinedFundingType() + " in SOLR");
+        LOG.error(e.getMessage(), e);
+        if (retryCount > MAX_RETRY_COUNT) {
+            sendSystemAlert("SOLR Index error: Unable to persist fundingSubType " + t.getOrgDefinedFundingType() + " in SOLR");
+        } else {
+            process(t, retryCount + 1);
         }
     }
 
@@ -0,0 +1,268 @@
+package org.orcid.listener.solr;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gathers Solr beans and sends them with a single addBeans call once
+ * batchSize documents are pending, or maxDelayMillis after the last flush,
+ * whichever comes first. Documents rely on commitWithin instead of explicit
+ * commits.
+ *
+ * Each document carries a callback that is told whether it made it into
+ * Solr. If a batch fails, its documents are sent one by one so a single bad
+ * document only fails itself. Adding a document with an id that is already
+ * pending replaces the pending bean.
+ *
+ * Deletes go through the same batches, so the deletes of a batch are sent
+ * with a single deleteById call. Only the last add or delete of an id is
+ * kept while pending.
+ *
+ * Callbacks run once the batch is written and the write lock released.
+ * Documents added from a callback, e.g. retries, wait for the next scheduled
+ * flush instead of being written on the flush path.
+ *
+ * A batchSize of 1 writes every document on the calling thread, as before.
+ */
+public class SolrBatchWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SolrBatchWriter.class);
+
+    public interface Callback {
+        /**
+         * @param failure
+         *            null if the document was written
+         */
+        void completed(Exception failure);
+    }
+
+    private final String name;
+
+    private final SolrClient solrClient;
+
+    private final int batchSize;
+
+    private final int commitWithinMs;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Object writeLock = new Object();
+
+    private final ThreadLocal<Boolean> inCallback = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private Map<String, PendingDocument> pending = new LinkedHashMap<>();
+
+    /**
+     * @param commitWithinMs
+     *            -1 to leave commits to the Solr auto commit settings
+     */
+    public SolrBatchWriter(String name, SolrClient solrClient, int batchSize, long maxDelayMillis, int commitWithinMs) {
+        this.name = name;
+        this.solrClient = solrClient;
+        this.batchSize = Math.max(1, batchSize);
+        this.commitWithinMs = commitWithinMs;
+        if (this.batchSize > 1) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "solr-batch-writer-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::flush, maxDelayMillis, maxDelayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public void add(String id, Object bean, Callback callback) {
+        enqueue(id, bean, callback);
+    }
+
+    /**
+     * Queues the delete of the document with the given id for the next batch
+     */
+    public void delete(String id, Callback callback) {
+        enqueue(id, null, callback);
+    }
+
+    private void enqueue(String id, Object bean, Callback callback) {
+        boolean full;
+        synchronized (this) {
+            PendingDocument existing = pending.remove(id);
+            PendingDocument document = new PendingDocument(id, bean);
+            if (existing != null) {
+                document.callbacks.addAll(existing.callbacks);
+            }
+            document.callbacks.add(callback);
+            pending.put(id, document);
+            full = pending.size() >= batchSize;
+        }
+        if (full && (scheduler == null || !inCallback.get())) {
+            flush();
+        }
+    }
+
+    /**
+     * Drops the pending document with the given id, if any, and deletes it
+     * from Solr. The delete waits for any write in progress, so an earlier
+     * version of the document can't be written after it. Callbacks of the
+     * dropped document are told it was written, as it has been superseded.
+     */
+    public void deleteById(String id) throws SolrServerException, IOException {
+        PendingDocument document;
+        synchronized (this) {
+            document = pending.remove(id);
+        }
+        if (document != null) {
+            complete(Collections.singletonList(document));
+        }
+        synchronized (writeLock) {
+            solrClient.deleteById(id, commitWithinMs);
+        }
+    }
+
+    /**
+     * Writes whatever is pending. Writes are serialized, so two versions of
+     * the same document can't reach Solr out of order.
+     */
+    public void flush() {
+        List<PendingDocument> batch;
+        synchronized (writeLock) {
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = drain();
+            }
+            write(batch);
+        }
+        complete(batch);
+    }
+
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        flush();
+    }
+
+    private void complete(List<PendingDocument> batch) {
+        boolean nested = inCallback.get();
+        inCallback.set(Boolean.TRUE);
+        try {
+            for (PendingDocument document : batch) {
+                document.completed();
+            }
+        } finally {
+            inCallback.set(nested);
+        }
+    }
+
+    private List<PendingDocument> drain() {
+        List<PendingDocument> batch = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void write(List<PendingDocument> batch) {
+        List<PendingDocument> adds = new ArrayList<>(batch.size());
+        List<PendingDocument> deletes = new ArrayList<>();
+        for (PendingDocument document : batch) {
+            if (document.bean == null) {
+                deletes.add(document);
+            } else {
+                adds.add(document);
+            }
+        }
+        // A batch holds a single operation per id, so the order between adds
+        // and deletes doesn't matter
+        if (!adds.isEmpty()) {
+            writeAdds(adds);
+        }
+        if (!deletes.isEmpty()) {
+            writeDeletes(deletes);
+        }
+    }
+
+    private void writeAdds(List<PendingDocument> batch) {
+        List<Object> beans = new ArrayList<>(batch.size());
+        for (PendingDocument document : batch) {
+            beans.add(document.bean);
+        }
+        try {
+            solrClient.addBeans(beans, commitWithinMs);
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).failure = e;
+                return;
+            }
+            LOG.warn("Unable to write batch of {} documents to {}, writing them one by one", batch.size(), name, e);
+            for (PendingDocument document : batch) {
+                try {
+                    solrClient.addBean(document.bean, commitWithinMs);
+                } catch (Exception ex) {
+                    document.failure = ex;
+                }
+            }
+        }
+    }
+
+    private void writeDeletes(List<PendingDocument> batch) {
+        List<String> ids = new ArrayList<>(batch.size());
+        for (PendingDocument document : batch) {
+            ids.add(document.id);
+        }
+        try {
+            solrClient.deleteById(ids, commitWithinMs);
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).failure = e;
+                return;
+            }
+            LOG.warn("Unable to delete batch of {} documents from {}, deleting them one by one", batch.size(), name, e);
+            for (PendingDocument document : batch) {
+                try {
+                    solrClient.deleteById(document.id, commitWithinMs);
+                } catch (Exception ex) {
+                    document.failure = ex;
+                }
+            }
+        }
+    }
+
+    private static class PendingDocument {
+        private final String id;
+        // null for a delete
+        private final Object bean;
+        private final List<Callback> callbacks = new ArrayList<>(1);
+        // Set once the document could not be written
+        private Exception failure;
+
+        private PendingDocument(String id, Object bean) {
+            this.id = id;
+            this.bean = bean;
+        }
+
+        private void completed() {
+            for (Callback callback : callbacks) {
+                try {
+                    callback.completed(failure);
+                } catch (RuntimeException e) {
+                    LOG.error("Error in Solr write callback for " + id, e);
+                }
+            }
+        }
+    }
+
+}
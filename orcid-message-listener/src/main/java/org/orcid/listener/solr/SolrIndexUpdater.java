@@ -1,19 +1,13 @@
 package org.orcid.listener.solr;
 
-import static org.orcid.utils.solr.entities.SolrConstants.ORCID;
-import static org.orcid.utils.solr.entities.SolrConstants.PROFILE_LAST_MODIFIED_DATE;
-
 import java.io.IOException;
-import java.util.Date;
-import java.util.List;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 
-import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.client.solrj.response.QueryResponse;
-import org.apache.solr.common.SolrDocument;
 import org.orcid.utils.solr.entities.OrcidSolrDocument;
 import org.orcid.utils.solr.entities.OrgDefinedFundingTypeSolrDocument;
 import org.orcid.utils.solr.entities.OrgDisambiguatedSolrDocument;
@@ -40,9 +34,38 @@ public class SolrIndexUpdater {
     @Value("${org.orcid.persistence.messaging.solr_indexing.auto_commit:false}")
     boolean autoCommit;
     
+    @Value("${org.orcid.persistence.messaging.solr_indexing.commit_within_ms:1000}")
+    int commitWithinMs;
+    
+    @Value("${org.orcid.persistence.messaging.solr_indexing.batch_size:50}")
+    int batchSize;
+    
+    @Value("${org.orcid.persistence.messaging.solr_indexing.batch_max_delay_ms:1000}")
+    long batchMaxDelayMs;
+    
+    private SolrBatchWriter recordsWriter;
+    
+    private SolrBatchWriter orgsWriter;
+    
+    private SolrBatchWriter fundingSubTypesWriter;
+    
+    @PostConstruct
+    public void init() {
+        recordsWriter = new SolrBatchWriter("records", solrClient, batchSize, batchMaxDelayMs, autoCommit ? commitWithinMs : -1);
+        orgsWriter = new SolrBatchWriter("orgs", solrOrgsClient, batchSize, batchMaxDelayMs, -1);
+        fundingSubTypesWriter = new SolrBatchWriter("funding-sub-types", solrFundingSubTypeClient, batchSize, batchMaxDelayMs, -1);
+    }
+    
+    @PreDestroy
+    public void destroy() {
+        recordsWriter.shutdown();
+        orgsWriter.shutdown();
+        fundingSubTypesWriter.shutdown();
+    }
+    
     public void delete(String orgDisambiguatedId) {
         try {            
-            solrOrgsClient.deleteById(orgDisambiguatedId);            
+            orgsWriter.deleteById(orgDisambiguatedId);            
         } catch (SolrServerException se) {
             throw new NonTransientDataAccessResourceException("Error persisting org " + orgDisambiguatedId + " to SOLR Server", se);
         } catch (IOException ioe) {
@@ -50,73 +73,36 @@ public class SolrIndexUpdater {
         }
     }
     
-    public void persist(OrgDisambiguatedSolrDocument orgDisambiguatedSolrDocument) {
-        try {            
-            solrOrgsClient.addBean(orgDisambiguatedSolrDocument);            
-        } catch (SolrServerException se) {
-            throw new NonTransientDataAccessResourceException("Error persisting org " + orgDisambiguatedSolrDocument.getOrgDisambiguatedId() + " to SOLR Server", se);
-        } catch (IOException ioe) {
-            throw new NonTransientDataAccessResourceException("IOException when persisting org " + orgDisambiguatedSolrDocument.getOrgDisambiguatedId() + " to SOLR", ioe);
-        }
+    /**
+     * Queues the org for the next batch, the callback is told whether it was
+     * written
+     */
+    public void persist(OrgDisambiguatedSolrDocument orgDisambiguatedSolrDocument, SolrBatchWriter.Callback callback) {
+        orgsWriter.add(String.valueOf(orgDisambiguatedSolrDocument.getOrgDisambiguatedId()), orgDisambiguatedSolrDocument, callback);
     } 
     
-    public void persist(OrgDefinedFundingTypeSolrDocument orgDefinedFundingTypeSolrDocument) {
-        try {            
-            solrFundingSubTypeClient.addBean(orgDefinedFundingTypeSolrDocument);            
-        } catch (SolrServerException se) {
-            throw new NonTransientDataAccessResourceException("Error persisting fundingSubType " + orgDefinedFundingTypeSolrDocument.getOrgDefinedFundingType() + " to SOLR Server", se);
-        } catch (IOException ioe) {
-            throw new NonTransientDataAccessResourceException("IOException when persisting fundingSubType " + orgDefinedFundingTypeSolrDocument.getOrgDefinedFundingType() + " to SOLR", ioe);
-        }
+    /**
+     * Queues the funding sub type for the next batch, the callback is told
+     * whether it was written
+     */
+    public void persist(OrgDefinedFundingTypeSolrDocument orgDefinedFundingTypeSolrDocument, SolrBatchWriter.Callback callback) {
+        fundingSubTypesWriter.add(orgDefinedFundingTypeSolrDocument.getOrgDefinedFundingType(), orgDefinedFundingTypeSolrDocument, callback);
     }
     
-    public void persist(OrcidSolrDocument orcidSolrDocument) {
-        try {
-            solrClient.addBean(orcidSolrDocument);
-            if(autoCommit) {
-                solrClient.commit();
-            }
-        } catch (SolrServerException se) {
-            throw new NonTransientDataAccessResourceException("Error persisting to SOLR Server", se);
-        } catch (IOException ioe) {
-            throw new NonTransientDataAccessResourceException("IOException when persisting to SOLR", ioe);
-        }
+    /**
+     * Queues the record for the next batch, the callback is told whether it
+     * was written
+     */
+    public void persist(OrcidSolrDocument orcidSolrDocument, SolrBatchWriter.Callback callback) {
+        recordsWriter.add(orcidSolrDocument.getOrcid(), orcidSolrDocument, callback);
     } 
     
-    public void removeFromSolr(OrcidSolrDocument orcidSolrDocument) {
-        try {
-            solrClient.deleteById(orcidSolrDocument.getOrcid());
-            if(autoCommit) {
-                solrClient.commit();
-            }
-        } catch (SolrServerException se) {
-            throw new NonTransientDataAccessResourceException("Error deleting from SOLR Server", se);
-        } catch (IOException ioe) {
-            throw new NonTransientDataAccessResourceException("IOException when deleting from SOLR", ioe);
-        }
-    }
-
-    public Date retrieveLastModified(String orcid) {
-        SolrQuery query = new SolrQuery();
-        query.setQuery(ORCID + ":\"" + orcid + "\"");
-        query.setFields(PROFILE_LAST_MODIFIED_DATE);
-        try {
-            QueryResponse response = solrClient.query(query);
-            List<SolrDocument> results = response.getResults();
-            if (results.isEmpty()) {
-                return null;
-            } else {
-                return (Date) results.get(0).getFieldValue(PROFILE_LAST_MODIFIED_DATE);
-            }
-        } catch (SolrServerException | IOException e) {
-            throw new NonTransientDataAccessResourceException("Error retrieving last modified date from SOLR Server", e);
-        } 
-    }
-
-    public void processInvalidRecord(String orcid) {
-        OrcidSolrDocument doc = new OrcidSolrDocument();
-        doc.setOrcid(orcid);
-        doc.setProfileLastModifiedDate(retrieveLastModified(orcid));
-        removeFromSolr(doc);
+    /**
+     * Queues the removal of a locked, deprecated or deactivated record from
+     * the index. Removals are sent in batches along with the updates, the
+     * callback is told whether it was removed
+     */
+    public void processInvalidRecord(String orcid, SolrBatchWriter.Callback callback) {
+        recordsWriter.delete(orcid, callback);
     }
 }
@@ -74,38 +74,61 @@ public class SolrMessageProcessor implements Consumer<LastModifiedMessage> {
             
             // Remove deactivated records from SOLR index
             if (record.getHistory() != null && record.getHistory().getDeactivationDate() != null && record.getHistory().getDeactivationDate().getValue() != null) {
-                solrUpdater.processInvalidRecord(orcid);
-                recordStatusManager.markAsSent(orcid, AvailableBroker.SOLR);
+                removeFromSolr(orcid);
                 return;
             }        
             
             //get detailed research resources to discover proposal and resource properties
-            List<ResearchResource> researchResourcesList = new ArrayList<ResearchResource>();
+            List<Long> researchResourcePutCodes = new ArrayList<Long>();
             ResearchResources rr = orcid30ApiClient.fetchResearchResources(orcid);
             if(rr != null && rr.getResearchResourceGroup() != null) {
                 for(ResearchResourceGroup group : rr.getResearchResourceGroup()) {
                     if(group.getResearchResourceSummary() != null){
                         for(ResearchResourceSummary s : group.getResearchResourceSummary()) {
-                            researchResourcesList.add(orcid30ApiClient.fetchResearchResource(orcid, s.getPutCode()));
+                            researchResourcePutCodes.add(s.getPutCode());
                         }
                     }
                 }
             }            
-            
-            solrUpdater.persist(recordConv.convert(record, researchResourcesList));
-            recordStatusManager.markAsSent(orcid, AvailableBroker.SOLR);
+            List<ResearchResource> researchResourcesList = orcid30ApiClient.fetchResearchResources(orcid, researchResourcePutCodes);
+            if (researchResourcesList.size() != researchResourcePutCodes.size()) {
+                // Research resources that can't be fetched are left out of the
+                // list, don't index the record without them
+                LOG.error("Unable to fetch all the research resources of record " + orcid + " for SOLR");
+                recordStatusManager.markAsFailed(orcid, AvailableBroker.SOLR);
+                return;
+            }
+
+            solrUpdater.persist(recordConv.convert(record, researchResourcesList), failure -> updateStatus(orcid, failure));
         } catch(LockedRecordException lre) {
             LOG.error("Record " + orcid + " is locked");
-            solrUpdater.processInvalidRecord(orcid);
-            recordStatusManager.markAsSent(orcid, AvailableBroker.SOLR);
+            removeFromSolr(orcid);
         } catch(DeprecatedRecordException dre) {
             LOG.error("Record " + orcid + " is deprecated");
-            solrUpdater.processInvalidRecord(orcid);
-            recordStatusManager.markAsSent(orcid, AvailableBroker.SOLR);
+            removeFromSolr(orcid);
         } catch (Exception e){
             LOG.error("Unable to fetch record " + orcid + " for SOLR");
             LOG.error(e.getMessage(), e);
             recordStatusManager.markAsFailed(orcid, AvailableBroker.SOLR);
         }
     }
+
+    private void removeFromSolr(String orcid) {
+        solrUpdater.processInvalidRecord(orcid, failure -> updateStatus(orcid, failure));
+    }
+
+    /**
+     * Called once the batch holding the record is written. Records still
+     * queued when the listener stops are written by the batch writer flush on
+     * shutdown, so they go through here as well.
+     */
+    private void updateStatus(String orcid, Exception failure) {
+        if (failure == null) {
+            recordStatusManager.markAsSent(orcid, AvailableBroker.SOLR);
+        } else {
+            LOG.error("Unable to persist record " + orcid + " in SOLR");
+            LOG.error(failure.getMessage(), failure);
+            recordStatusManager.markAsFailed(orcid, AvailableBroker.SOLR);
+        }
+    }
 }
@@ -58,16 +58,24 @@ public class SolrOrgsMessageProcessor implements Consumer<OrgDisambiguatedSolrDo
             if("DEPRECATED".equals(t.getOrgDisambiguatedStatus()) || "OBSOLETE".equals(t.getOrgDisambiguatedStatus())) {
                 solrUpdater.delete(String.valueOf(t.getOrgDisambiguatedId()));
             } else {
-                solrUpdater.persist(t);                
+                solrUpdater.persist(t, failure -> {
+                    if (failure != null) {
+                        retry(t, retryCount, failure);
+                    }
+                });
             }                        
         } catch (Exception e) {
-            LOG.error("Unable to persists org " + t.getOrgDisambiguatedId() + " in SOLR");
-            LOG.error(e.getMessage(), e);
-            if (retryCount > MAX_RETRY_COUNT) {
-                sendSystemAlert("SOLR Index error: Unable to persist org with disambiguated org id = " + t.getOrgDisambiguatedId() + " and name " + t.getOrgDisambiguatedName() + " in SOLR");
-            } else {
-                process(t, retryCount + 1);
-            }
+            retry(t, retryCount, e);
+        }
+    }
+
+    private void retry(OrgDisambiguatedSolrDocument t, Integer retryCount, Exception e) {
+        LOG.error("Unable to persists org " + t.getOrgDisambiguatedId() + " in SOLR");
+        LOG.error(e.getMessage(), e);
+        if (retryCount > MAX_RETRY_COUNT) {
+            sendSystemAlert("SOLR Index error: Unable to persist org with disambiguated org id = " + t.getOrgDisambiguatedId() + " and name " + t.getOrgDisambiguatedName() + " in SOLR");
+        } else {
+            process(t, retryCount + 1);
         }
     }
 
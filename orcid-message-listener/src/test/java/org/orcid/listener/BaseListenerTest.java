@@ -0,0 +1,84 @@
+package org.orcid.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.jms.Message;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.orcid.utils.listener.LastModifiedMessage;
+
+public class BaseListenerTest {
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    private final List<LastModifiedMessage> processed = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testSkipsMessagesNotNewerThanTheLastProcessed() {
+        BaseListener<Consumer<LastModifiedMessage>> listener = getListener(processed::add);
+        listener.onMessage(getMessage(ORCID, new Date(2000)));
+        listener.onMessage(getMessage(ORCID, new Date(2000)));
+        listener.onMessage(getMessage(ORCID, new Date(1000)));
+        assertEquals(1, processed.size());
+
+        listener.onMessage(getMessage(ORCID, new Date(3000)));
+        listener.onMessage(getMessage("0000-0000-0000-0002", new Date(1000)));
+        assertEquals(3, processed.size());
+    }
+
+    @Test
+    public void testMessagesWithoutDateAreAlwaysProcessed() {
+        BaseListener<Consumer<LastModifiedMessage>> listener = getListener(processed::add);
+        listener.onMessage(getMessage(ORCID, new Date(2000)));
+        listener.onMessage(getMessage(ORCID, null));
+        listener.onMessage(getMessage(ORCID, null));
+        assertEquals(3, processed.size());
+    }
+
+    @Test
+    public void testFailedMessagesAreNotSkipped() {
+        BaseListener<Consumer<LastModifiedMessage>> listener = getListener(m -> {
+            if (processed.isEmpty()) {
+                processed.add(null);
+                throw new RuntimeException("Unable to process");
+            }
+            processed.add(m);
+        });
+        try {
+            listener.onMessage(getMessage(ORCID, new Date(1000)));
+            fail();
+        } catch (RuntimeException e) {
+            // Rolled back, the message is delivered again
+        }
+        listener.onMessage(getMessage(ORCID, new Date(1000)));
+        assertEquals(2, processed.size());
+    }
+
+    private BaseListener<Consumer<LastModifiedMessage>> getListener(Consumer<LastModifiedMessage> processor) {
+        return new BaseListener<Consumer<LastModifiedMessage>>(processor) {
+            @Override
+            protected Map<String, String> getMapFromMessage(Message message) {
+                return ((TestMessage) message).map;
+            }
+        };
+    }
+
+    private Message getMessage(String orcid, Date lastModified) {
+        TestMessage message = Mockito.mock(TestMessage.class);
+        message.map = new LastModifiedMessage(orcid, lastModified).getMap();
+        return message;
+    }
+
+    private abstract static class TestMessage implements Message {
+        Map<String, String> map;
+    }
+
+}
@@ -1,11 +1,14 @@
 package org.orcid.listener.clients;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Date;
 
@@ -14,6 +17,7 @@ import javax.xml.bind.JAXBException;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.orcid.jaxb.model.common_v2.LastModifiedDate;
@@ -30,6 +34,8 @@ import org.orcid.utils.DateUtils;
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.Md5Utils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 public class S3ManagerTest {
@@ -118,6 +124,65 @@ public class S3ManagerTest {
                 eq(now), eq(true));
     }
     
+    @Test
+    public void uploadV3ActivityIfChangedTest() throws JAXBException, JsonProcessingException {
+        String orcid = "0000-0000-0000-0000";
+        String elementName = "000/0000-0000-0000-0000/works/0000-0000-0000-0000_works_1234.xml";
+        Date now = new Date();
+        org.orcid.jaxb.model.v3.release.common.LastModifiedDate lmd = new org.orcid.jaxb.model.v3.release.common.LastModifiedDate();
+        lmd.setValue(DateUtils.convertToXMLGregorianCalendar(now));
+        org.orcid.jaxb.model.v3.release.record.Work w = new org.orcid.jaxb.model.v3.release.record.Work();
+        w.setLastModifiedDate(lmd);
+
+        S3Manager s3 = new S3Manager();
+        s3.setS3MessagingService(s3MessagingService);
+        s3.uploadV3Activity(orcid, "1234", w);
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(s3MessagingService, times(1)).sendV3Item(eq(orcid), eq(elementName), captor.capture(), eq(MediaType.APPLICATION_XML), eq(now), eq(true));
+        String eTag = BinaryUtils.toHex(Md5Utils.computeMD5Hash(captor.getValue()));
+
+        // Same content, S3 returns the ETag between quotes
+        assertFalse(s3.uploadV3ActivityIfChanged(orcid, "1234", w, "\"" + eTag + "\""));
+        verify(s3MessagingService, times(1)).sendV3Item(eq(orcid), eq(elementName), any(byte[].class), eq(MediaType.APPLICATION_XML), eq(now), eq(true));
+        verify(s3MessagingService, times(1)).touchV3Activity(eq(orcid), eq(elementName), eq(MediaType.APPLICATION_XML), eq(now));
+
+        // Different content
+        assertTrue(s3.uploadV3ActivityIfChanged(orcid, "1234", w, "d41d8cd98f00b204e9800998ecf8427e"));
+        verify(s3MessagingService, times(2)).sendV3Item(eq(orcid), eq(elementName), any(byte[].class), eq(MediaType.APPLICATION_XML), eq(now), eq(true));
+
+        // Unknown ETag
+        assertTrue(s3.uploadV3ActivityIfChanged(orcid, "1234", w, null));
+        verify(s3MessagingService, times(3)).sendV3Item(eq(orcid), eq(elementName), any(byte[].class), eq(MediaType.APPLICATION_XML), eq(now), eq(true));
+        verify(s3MessagingService, times(1)).touchV3Activity(any(), any(), any(), any());
+    }
+
+    @Test
+    public void uploadV3ActivityBiggerThanThresholdTest() throws JAXBException, JsonProcessingException {
+        String orcid = "0000-0000-0000-0000";
+        Date now = new Date();
+        org.orcid.jaxb.model.v3.release.common.LastModifiedDate lmd = new org.orcid.jaxb.model.v3.release.common.LastModifiedDate();
+        lmd.setValue(DateUtils.convertToXMLGregorianCalendar(now));
+        org.orcid.jaxb.model.v3.release.record.Work w = new org.orcid.jaxb.model.v3.release.record.Work();
+        w.setLastModifiedDate(lmd);
+
+        S3Manager s3 = new S3Manager();
+        s3.setS3MessagingService(s3MessagingService);
+        s3.setInMemoryThreshold(0);
+        ArgumentCaptor<File> captor = ArgumentCaptor.forClass(File.class);
+        when(s3MessagingService.sendV3Item(eq(orcid), any(String.class), captor.capture(), eq(MediaType.APPLICATION_XML), eq(now), eq(true))).thenAnswer(invocation -> {
+            File file = invocation.getArgument(2);
+            assertTrue(file.exists());
+            assertTrue(file.length() > 0);
+            return true;
+        });
+        s3.uploadV3Activity(orcid, "1234", w);
+        verify(s3MessagingService, times(0)).sendV3Item(eq(orcid), any(String.class), any(byte[].class), eq(MediaType.APPLICATION_XML), eq(now), eq(true));
+        verify(s3MessagingService, times(1)).sendV3Item(eq(orcid), eq("000/0000-0000-0000-0000/works/0000-0000-0000-0000_works_1234.xml"), any(File.class),
+                eq(MediaType.APPLICATION_XML), eq(now), eq(true));
+        // The temp file is removed once uploaded
+        assertFalse(captor.getValue().exists());
+    }
+
     @Test
     public void uploadV2OrcidErrorTest() throws JAXBException, JsonProcessingException {
         String orcid = "0000-0000-0000-0000";
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
@@ -33,6 +34,7 @@ import org.orcid.jaxb.model.v3.release.common.LastModifiedDate;
 import org.orcid.jaxb.model.v3.release.common.OrcidIdentifier;
 import org.orcid.jaxb.model.v3.release.error.OrcidError;
 import org.orcid.jaxb.model.v3.release.record.Activity;
+import org.orcid.jaxb.model.v3.release.record.Affiliation;
 import org.orcid.jaxb.model.v3.release.record.AffiliationType;
 import org.orcid.jaxb.model.v3.release.record.Distinction;
 import org.orcid.jaxb.model.v3.release.record.Education;
@@ -138,6 +140,61 @@ public class S3MessageProcessorAPIV3Test {
         when(mock_orcid30ApiClient.fetchPeerReview(eq(orcid), eq(0L))).thenReturn(getPeerReview());
         when(mock_orcid30ApiClient.fetchResearchResource(eq(orcid), eq(0L))).thenReturn(getResearchResource());
         when(mock_orcid30ApiClient.fetchWork(eq(orcid), eq(0L))).thenReturn(getWork());
+        // Multi fetches delegate to the single fetch stubs above, so each test
+        // only needs to stub the put codes it uses
+        when(mock_orcid30ApiClient.fetchAffiliations(eq(orcid), anyList(), any(AffiliationType.class))).thenAnswer(invocation -> {
+            List<Affiliation> affiliations = new ArrayList<Affiliation>();
+            for (Long putCode : (List<Long>) invocation.getArgument(1)) {
+                affiliations.add(mock_orcid30ApiClient.fetchAffiliation(orcid, putCode, invocation.getArgument(2)));
+            }
+            return affiliations;
+        });
+        when(mock_orcid30ApiClient.fetchFundings(eq(orcid), anyList())).thenAnswer(invocation -> {
+            List<Funding> fundings = new ArrayList<Funding>();
+            for (Long putCode : (List<Long>) invocation.getArgument(1)) {
+                fundings.add(mock_orcid30ApiClient.fetchFunding(orcid, putCode));
+            }
+            return fundings;
+        });
+        when(mock_orcid30ApiClient.fetchPeerReviews(eq(orcid), anyList())).thenAnswer(invocation -> {
+            List<PeerReview> peerReviews = new ArrayList<PeerReview>();
+            for (Long putCode : (List<Long>) invocation.getArgument(1)) {
+                peerReviews.add(mock_orcid30ApiClient.fetchPeerReview(orcid, putCode));
+            }
+            return peerReviews;
+        });
+        when(mock_orcid30ApiClient.fetchResearchResources(eq(orcid), anyList())).thenAnswer(invocation -> {
+            List<ResearchResource> researchResources = new ArrayList<ResearchResource>();
+            for (Long putCode : (List<Long>) invocation.getArgument(1)) {
+                researchResources.add(mock_orcid30ApiClient.fetchResearchResource(orcid, putCode));
+            }
+            return researchResources;
+        });
+        when(mock_orcid30ApiClient.fetchWorks(eq(orcid), anyList())).thenAnswer(invocation -> {
+            List<Work> works = new ArrayList<Work>();
+            for (Long putCode : (List<Long>) invocation.getArgument(1)) {
+                works.add(mock_orcid30ApiClient.fetchWork(orcid, putCode));
+            }
+            return works;
+        });
+    }
+
+    @Test
+    public void worksAreFetchedInBulkTest() throws Exception {
+        process(orcid);
+        verify(mock_orcid30ApiClient, times(1)).fetchWorks(eq(orcid), eq(Arrays.asList(0L)));
+        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), eq(String.valueOf(0L)), eq((Activity) getWork()));
+    }
+
+    @Test
+    public void activities_WorkThatCantBeFetchedIsRetriedTest() throws Exception {
+        when(mock_orcid30ApiClient.fetchWorks(eq(orcid), anyList())).thenReturn(new ArrayList<Work>());
+        process(orcid);
+        verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), eq(String.valueOf(0L)), eq((Activity) getWork()));
+        final ArgumentCaptor<ArrayList<ActivityType>> captor = ArgumentCaptor.forClass(ArrayList.class);
+        verify(mock_api30RecordStatusManager, times(1)).save(eq(orcid), eq(true), captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertTrue(captor.getValue().contains(ActivityType.WORKS));
     }
 
     @Test
@@ -568,7 +625,7 @@ public class S3MessageProcessorAPIV3Test {
         }
 
         verify(mock_s3Manager, times(1)).uploadV3RecordSummary(eq(orcid), any());
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(Distinction.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(Distinction.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Education.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Employment.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Funding.class));
@@ -721,7 +778,7 @@ public class S3MessageProcessorAPIV3Test {
 
         verify(mock_s3Manager, times(1)).uploadV3RecordSummary(eq(orcid), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Distinction.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(Education.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(Education.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Employment.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Funding.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(InvitedPosition.class));
@@ -874,7 +931,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(1)).uploadV3RecordSummary(eq(orcid), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Distinction.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Education.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(Employment.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(Employment.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Funding.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(InvitedPosition.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Membership.class));
@@ -1027,7 +1084,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Distinction.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Education.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Employment.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(Funding.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(Funding.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(InvitedPosition.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Membership.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(PeerReview.class));
@@ -1180,7 +1237,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Education.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Employment.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Funding.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(InvitedPosition.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(InvitedPosition.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Membership.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(PeerReview.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Qualification.class));
@@ -1333,7 +1390,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Employment.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Funding.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(InvitedPosition.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(Membership.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(Membership.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(PeerReview.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Qualification.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(ResearchResource.class));
@@ -1488,7 +1545,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Funding.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(InvitedPosition.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Membership.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(PeerReview.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(PeerReview.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Qualification.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(ResearchResource.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Service.class));
@@ -1641,7 +1698,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(InvitedPosition.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Membership.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(PeerReview.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(Qualification.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(Qualification.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(ResearchResource.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Service.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Work.class));
@@ -1794,7 +1851,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Membership.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(PeerReview.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Qualification.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(ResearchResource.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(ResearchResource.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Service.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Work.class));
         verify(mock_s3Manager, times(0)).removeV3Activity(eq(orcid), any(), any());
@@ -1947,7 +2004,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(PeerReview.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Qualification.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(ResearchResource.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(Service.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(Service.class), any());
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Work.class));
         verify(mock_s3Manager, times(0)).removeV3Activity(eq(orcid), any(), any());
         verifyErrorAndClearWasntCalled();
@@ -2100,7 +2157,7 @@ public class S3MessageProcessorAPIV3Test {
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Qualification.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(ResearchResource.class));
         verify(mock_s3Manager, times(0)).uploadV3Activity(eq(orcid), any(), any(Service.class));
-        verify(mock_s3Manager, times(1)).uploadV3Activity(eq(orcid), any(), any(Work.class));
+        verify(mock_s3Manager, times(1)).uploadV3ActivityIfChanged(eq(orcid), any(), any(Work.class), any());
         verify(mock_s3Manager, times(0)).removeV3Activity(eq(orcid), any(), any());
         verifyErrorAndClearWasntCalled();
         final ArgumentCaptor<ArrayList<ActivityType>> captor = ArgumentCaptor.forClass(ArrayList.class);
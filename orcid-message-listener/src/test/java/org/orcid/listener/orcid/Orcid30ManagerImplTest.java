@@ -0,0 +1,106 @@
+package org.orcid.listener.orcid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.orcid.jaxb.model.v3.release.record.ResearchResource;
+
+public class Orcid30ManagerImplTest {
+
+    private Orcid30ManagerImpl manager;
+
+    @After
+    public void after() {
+        if (manager != null) {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    public void testFetchResearchResourcesKeepsPutCodeOrder() throws URISyntaxException {
+        manager = new StubbedOrcid30Manager(8, 3, null);
+        List<Long> putCodes = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            putCodes.add(i);
+        }
+        List<ResearchResource> researchResources = manager.fetchResearchResources("0000-0000-0000-0001", putCodes);
+        assertEquals(20, researchResources.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(putCodes.get(i), researchResources.get(i).getPutCode());
+        }
+    }
+
+    @Test
+    public void testFetchResearchResourcesLimitsConcurrencyPerRecord() throws URISyntaxException {
+        StubbedOrcid30Manager stubbed = new StubbedOrcid30Manager(8, 2, null);
+        manager = stubbed;
+        manager.fetchResearchResources("0000-0000-0000-0001", Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L));
+        assertTrue(stubbed.maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void testFetchResearchResourcesEmpty() throws URISyntaxException {
+        manager = new StubbedOrcid30Manager(2, 2, null);
+        assertTrue(manager.fetchResearchResources("0000-0000-0000-0001", Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testFetchResearchResourcesDropsFailingPutCode() throws URISyntaxException {
+        manager = new StubbedOrcid30Manager(4, 4, 3L);
+        List<ResearchResource> researchResources = manager.fetchResearchResources("0000-0000-0000-0001", Arrays.asList(1L, 2L, 3L, 4L));
+        assertEquals(3, researchResources.size());
+        assertEquals(Long.valueOf(1L), researchResources.get(0).getPutCode());
+        assertEquals(Long.valueOf(2L), researchResources.get(1).getPutCode());
+        assertEquals(Long.valueOf(4L), researchResources.get(2).getPutCode());
+    }
+
+    @Test
+    public void testFetchResearchResourcesDropsFailingPutCodeSequentially() throws URISyntaxException {
+        manager = new StubbedOrcid30Manager(4, 1, 2L);
+        List<ResearchResource> researchResources = manager.fetchResearchResources("0000-0000-0000-0001", Arrays.asList(1L, 2L, 3L));
+        assertEquals(2, researchResources.size());
+        assertEquals(Long.valueOf(3L), researchResources.get(1).getPutCode());
+    }
+
+    private static class StubbedOrcid30Manager extends Orcid30ManagerImpl {
+
+        private final Long failingPutCode;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        StubbedOrcid30Manager(int poolSize, int concurrencyPerRecord, Long failingPutCode) throws URISyntaxException {
+            super("http://localhost/v3.0/", "token", poolSize, concurrencyPerRecord, 100, 300);
+            this.failingPutCode = failingPutCode;
+        }
+
+        @Override
+        public ResearchResource fetchResearchResource(String orcid, Long putCode) {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            if (putCode.equals(failingPutCode)) {
+                throw new RuntimeException("Failed : HTTP error code : 500");
+            }
+            ResearchResource researchResource = new ResearchResource();
+            researchResource.setPutCode(putCode);
+            return researchResource;
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.orcid.listener.orcid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.orcid.utils.listener.LastModifiedMessage;
+import org.orcid.utils.listener.RetryMessage;
+
+public class RecordFetchCacheTest {
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void testSameOrcidAndLastModifiedIsFetchedOnce() throws ExecutionException {
+        RecordFetchCache<String> cache = new RecordFetchCache<>("test", 100, 300, String::length);
+        Date lastModified = new Date(1000);
+        String first = cache.get(new LastModifiedMessage(ORCID, lastModified), this::load);
+        // A different message object for the same update
+        String second = cache.get(new LastModifiedMessage(ORCID, new Date(1000)), this::load);
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    public void testNewLastModifiedIsFetchedAgain() throws ExecutionException {
+        RecordFetchCache<String> cache = new RecordFetchCache<>("test", 100, 300, String::length);
+        cache.get(new LastModifiedMessage(ORCID, new Date(1000)), this::load);
+        cache.get(new LastModifiedMessage(ORCID, new Date(2000)), this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testMessageWithoutLastModifiedIsAlwaysFetched() throws ExecutionException {
+        RecordFetchCache<String> cache = new RecordFetchCache<>("test", 100, 300, String::length);
+        cache.get(new RetryMessage(ORCID, "solr"), this::load);
+        cache.get(new RetryMessage(ORCID, "solr"), this::load);
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getStats().requestCount());
+    }
+
+    private String load(String orcid) {
+        loads.incrementAndGet();
+        return new String(orcid);
+    }
+}
@@ -0,0 +1,203 @@
+package org.orcid.listener.solr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class SolrBatchWriterTest {
+
+    @Mock
+    private SolrClient solrClient;
+
+    private Map<String, Exception> results;
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        results = new HashMap<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWritesOnceBatchIsFull() throws Exception {
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 3, 60000, 1000);
+        writer.add("1", "doc-1", callback("1"));
+        writer.add("2", "doc-2", callback("2"));
+        verify(solrClient, never()).addBeans(anyCollection(), anyInt());
+        writer.add("3", "doc-3", callback("3"));
+
+        ArgumentCaptor<Collection<?>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(solrClient, times(1)).addBeans(captor.capture(), eq(1000));
+        assertEquals(3, captor.getValue().size());
+        assertEquals(3, results.size());
+        assertNull(results.get("1"));
+        assertNull(results.get("2"));
+        assertNull(results.get("3"));
+        writer.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFlushWritesPendingDocuments() throws Exception {
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 10, 60000, -1);
+        writer.add("1", "doc-1", callback("1"));
+        writer.flush();
+        ArgumentCaptor<Collection<?>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(solrClient).addBeans(captor.capture(), eq(-1));
+        assertEquals(1, captor.getValue().size());
+        assertEquals(1, results.size());
+        writer.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSameIdReplacesPendingDocument() throws Exception {
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 10, 60000, -1);
+        writer.add("1", "doc-1-v1", callback("first"));
+        writer.add("1", "doc-1-v2", callback("second"));
+        writer.flush();
+        ArgumentCaptor<Collection<?>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(solrClient).addBeans(captor.capture(), eq(-1));
+        List<?> beans = new ArrayList<>(captor.getValue());
+        assertEquals(1, beans.size());
+        assertEquals("doc-1-v2", beans.get(0));
+        assertEquals(2, results.size());
+        writer.shutdown();
+    }
+
+    @Test
+    public void testFailedBatchFallsBackToSingleWrites() throws Exception {
+        SolrServerException batchFailure = new SolrServerException("batch");
+        SolrServerException docFailure = new SolrServerException("doc");
+        when(solrClient.addBeans(anyCollection(), anyInt())).thenThrow(batchFailure);
+        when(solrClient.addBean(eq("doc-2"), anyInt())).thenThrow(docFailure);
+
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 2, 60000, -1);
+        writer.add("1", "doc-1", callback("1"));
+        writer.add("2", "doc-2", callback("2"));
+
+        verify(solrClient).addBean(eq("doc-1"), eq(-1));
+        verify(solrClient).addBean(eq("doc-2"), eq(-1));
+        assertNull(results.get("1"));
+        assertSame(docFailure, results.get("2"));
+        writer.shutdown();
+    }
+
+    @Test
+    public void testBatchSizeOfOneWritesImmediately() throws Exception {
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 1, 60000, -1);
+        writer.add("1", "doc-1", callback("1"));
+        verify(solrClient).addBeans(anyCollection(), eq(-1));
+        assertEquals(1, results.size());
+        writer.shutdown();
+    }
+
+    @Test
+    public void testDeleteDropsPendingDocument() throws Exception {
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 10, 60000, 500);
+        writer.add("1", "doc-1", callback("1"));
+        writer.deleteById("1");
+        verify(solrClient).deleteById("1", 500);
+        assertNull(results.get("1"));
+        writer.flush();
+        verify(solrClient, never()).addBeans(anyCollection(), anyInt());
+        verify(solrClient, never()).addBean(any(), anyInt());
+        writer.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDeletesAreBatched() throws Exception {
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 3, 60000, 1000);
+        writer.delete("1", callback("1"));
+        writer.add("2", "doc-2", callback("2"));
+        writer.delete("3", callback("3"));
+
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(solrClient).deleteById(captor.capture(), eq(1000));
+        assertEquals(Arrays.asList("1", "3"), captor.getValue());
+        verify(solrClient).addBeans(anyCollection(), eq(1000));
+        assertEquals(3, results.size());
+        writer.shutdown();
+    }
+
+    @Test
+    public void testDeleteReplacesPendingAdd() throws Exception {
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 10, 60000, -1);
+        writer.add("1", "doc-1", callback("add"));
+        writer.delete("1", callback("delete"));
+        writer.flush();
+        verify(solrClient, never()).addBeans(anyCollection(), anyInt());
+        verify(solrClient).deleteById(eq(Arrays.asList("1")), eq(-1));
+        assertEquals(2, results.size());
+        writer.shutdown();
+    }
+
+    @Test
+    public void testFailedDeleteBatchFallsBackToSingleDeletes() throws Exception {
+        SolrServerException docFailure = new SolrServerException("doc");
+        when(solrClient.deleteById(anyList(), anyInt())).thenThrow(new SolrServerException("batch"));
+        when(solrClient.deleteById(eq("2"), anyInt())).thenThrow(docFailure);
+
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 2, 60000, -1);
+        writer.delete("1", callback("1"));
+        writer.delete("2", callback("2"));
+
+        verify(solrClient).deleteById(eq("1"), eq(-1));
+        assertNull(results.get("1"));
+        assertSame(docFailure, results.get("2"));
+        writer.shutdown();
+    }
+
+    @Test
+    public void testRetriesFromCallbacksWaitForTheNextFlush() throws Exception {
+        SolrServerException failure = new SolrServerException("doc");
+        when(solrClient.addBeans(anyCollection(), anyInt())).thenThrow(failure).thenReturn(null);
+
+        SolrBatchWriter writer = new SolrBatchWriter("test", solrClient, 2, 60000, -1);
+        writer.add("1", "doc-1", f -> {
+            if (f != null) {
+                writer.add("1", "doc-1", callback("1"));
+                writer.add("2", "doc-2", callback("2"));
+            }
+        });
+        writer.flush();
+        verify(solrClient, times(1)).addBeans(anyCollection(), anyInt());
+        assertEquals(0, results.size());
+
+        writer.flush();
+        verify(solrClient, times(2)).addBeans(anyCollection(), anyInt());
+        assertEquals(2, results.size());
+        assertNull(results.get("1"));
+        writer.shutdown();
+    }
+
+    private SolrBatchWriter.Callback callback(String id) {
+        return failure -> results.put(id, failure);
+    }
+
+}
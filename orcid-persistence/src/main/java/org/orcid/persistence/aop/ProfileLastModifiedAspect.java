@@ -1,20 +1,54 @@
 package org.orcid.persistence.aop;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
+import org.orcid.persistence.dao.AddressDao;
+import org.orcid.persistence.dao.BackupCodeDao;
+import org.orcid.persistence.dao.BiographyDao;
+import org.orcid.persistence.dao.EmailDao;
+import org.orcid.persistence.dao.EmailFrequencyDao;
+import org.orcid.persistence.dao.ExternalIdentifierDao;
+import org.orcid.persistence.dao.FindMyStuffHistoryDao;
+import org.orcid.persistence.dao.GivenPermissionToDao;
+import org.orcid.persistence.dao.NotificationDao;
+import org.orcid.persistence.dao.OrcidOauth2AuthoriziationCodeDetailDao;
+import org.orcid.persistence.dao.OrcidOauth2TokenDetailDao;
+import org.orcid.persistence.dao.OrgAffiliationRelationDao;
+import org.orcid.persistence.dao.OtherNameDao;
+import org.orcid.persistence.dao.PeerReviewDao;
 import org.orcid.persistence.dao.ProfileDao;
+import org.orcid.persistence.dao.ProfileFundingDao;
+import org.orcid.persistence.dao.ProfileHistoryEventDao;
+import org.orcid.persistence.dao.ProfileKeywordDao;
+import org.orcid.persistence.dao.RecordNameDao;
+import org.orcid.persistence.dao.RejectedGroupingSuggestionDao;
+import org.orcid.persistence.dao.ResearchResourceDao;
+import org.orcid.persistence.dao.ResearcherUrlDao;
+import org.orcid.persistence.dao.ShibbolethAccountDao;
+import org.orcid.persistence.dao.SpamDao;
+import org.orcid.persistence.dao.UserConnectionDao;
+import org.orcid.persistence.dao.WorkDao;
 import org.orcid.persistence.jpa.entities.IndexingStatus;
 import org.orcid.persistence.jpa.entities.OrcidAware;
 import org.orcid.persistence.jpa.entities.ProfileAware;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.utils.OrcidStringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -30,8 +64,42 @@ public class ProfileLastModifiedAspect implements PriorityOrdered {
 
     private static String REQUEST_PROFILE_LAST_MODIFIED = "REQUEST_PROFILE_LAST_MODIFIED";
 
+    private static String REQUEST_SECTIONS_LAST_MODIFIED = "REQUEST_SECTIONS_LAST_MODIFIED";
+
+    private static final Set<RecordSection> ALL_SECTIONS = Collections.unmodifiableSet(EnumSet.allOf(RecordSection.class));
+
+    private static final Set<RecordSection> NO_SECTIONS = Collections.unmodifiableSet(EnumSet.noneOf(RecordSection.class));
+
+    /**
+     * Sections of the record updated by each DAO, DAOs that are not listed
+     * here are considered to update the whole record
+     */
+    private static final Map<Class<?>, Set<RecordSection>> SECTIONS_BY_DAO = new LinkedHashMap<>();
+
+    static {
+        for (Class<?> dao : new Class<?>[] { AddressDao.class, BiographyDao.class, EmailDao.class, ExternalIdentifierDao.class, OtherNameDao.class,
+                ProfileKeywordDao.class, RecordNameDao.class, ResearcherUrlDao.class }) {
+            SECTIONS_BY_DAO.put(dao, Collections.unmodifiableSet(EnumSet.of(RecordSection.PERSON)));
+        }
+        SECTIONS_BY_DAO.put(WorkDao.class, Collections.unmodifiableSet(EnumSet.of(RecordSection.WORKS)));
+        SECTIONS_BY_DAO.put(ProfileFundingDao.class, Collections.unmodifiableSet(EnumSet.of(RecordSection.FUNDINGS)));
+        SECTIONS_BY_DAO.put(OrgAffiliationRelationDao.class, Collections.unmodifiableSet(EnumSet.of(RecordSection.AFFILIATIONS)));
+        SECTIONS_BY_DAO.put(PeerReviewDao.class, Collections.unmodifiableSet(EnumSet.of(RecordSection.PEER_REVIEWS)));
+        SECTIONS_BY_DAO.put(ResearchResourceDao.class, Collections.unmodifiableSet(EnumSet.of(RecordSection.RESEARCH_RESOURCES)));
+        // Data that belongs to the record but is not part of any section
+        for (Class<?> dao : new Class<?>[] { BackupCodeDao.class, EmailFrequencyDao.class, FindMyStuffHistoryDao.class, GivenPermissionToDao.class,
+                NotificationDao.class, OrcidOauth2AuthoriziationCodeDetailDao.class, OrcidOauth2TokenDetailDao.class, ProfileHistoryEventDao.class,
+                RejectedGroupingSuggestionDao.class, ShibbolethAccountDao.class, SpamDao.class, UserConnectionDao.class }) {
+            SECTIONS_BY_DAO.put(dao, NO_SECTIONS);
+        }
+    }
+
     private ProfileDao profileDao;
 
+    private ProfileLastModifiedCache profileLastModifiedCache;
+
+    private ProfileLastModifiedCache readOnlyProfileLastModifiedCache;
+
     private boolean enabled = true;
     
     private String name = "default";
@@ -56,6 +124,18 @@ public class ProfileLastModifiedAspect implements PriorityOrdered {
         this.profileDao = profileDao;
     }
 
+    public void setProfileLastModifiedCache(ProfileLastModifiedCache profileLastModifiedCache) {
+        this.profileLastModifiedCache = profileLastModifiedCache;
+    }
+
+    /**
+     * The cache of the dates read from the replica, dropped along with the
+     * JVM last modified cache, as its own aspect doesn't see the updates
+     */
+    public void setReadOnlyProfileLastModifiedCache(ProfileLastModifiedCache readOnlyProfileLastModifiedCache) {
+        this.readOnlyProfileLastModifiedCache = readOnlyProfileLastModifiedCache;
+    }
+
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
@@ -82,7 +162,7 @@ public class ProfileLastModifiedAspect implements PriorityOrdered {
         }
         
         //update and clear scope cache
-        this.updateLastModifiedDateAndIndexingStatus(orcid);
+        this.updateLastModifiedDateAndIndexingStatus(orcid, getUpdatedSections(joinPoint));
     }
 
     @AfterReturning(POINTCUT_DEFINITION_BASE + " && args(profileAware, ..)")
@@ -113,22 +193,34 @@ public class ProfileLastModifiedAspect implements PriorityOrdered {
         return PRECEDENCE;
     }
 
-    /** Updates the last modified date and clears the request-scope last modified cache.
+    /** Updates the last modified date of the record and all its sections and clears the request-scope and JVM last modified caches.
      * 
      * @param orcid
      */    
     public void updateLastModifiedDateAndIndexingStatus(String orcid) {
+        updateLastModifiedDateAndIndexingStatus(orcid, ALL_SECTIONS);
+    }
+
+    /** Updates the last modified date of the record and the given sections and clears the request-scope and JVM last modified caches.
+     * 
+     * @param orcid
+     * @param sections
+     */    
+    public void updateLastModifiedDateAndIndexingStatus(String orcid, Set<RecordSection> sections) {
         if (!enabled) {
             return;
         }
-        profileDao.updateLastModifiedDateAndIndexingStatus(orcid, IndexingStatus.PENDING);
+        profileDao.updateLastModifiedDateAndIndexingStatus(orcid, IndexingStatus.PENDING, sections);
         ServletRequestAttributes sra = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (sra != null)
-            sra.setAttribute(sraKey(orcid), null, ServletRequestAttributes.SCOPE_REQUEST);             
+        if (sra != null) {
+            sra.setAttribute(sraKey(orcid), null, ServletRequestAttributes.SCOPE_REQUEST);
+            sra.setAttribute(sectionsSraKey(orcid), null, ServletRequestAttributes.SCOPE_REQUEST);
+        }
+        invalidateProfileLastModifiedCache(orcid);
     }
 
     /** Fetches the last modified from the request-scope last modified cache
-     * If not present, fetches from the DB and populates the request-scope last modified cache.
+     * If not present, tries the JVM last modified cache, then fetches from the DB and populates both caches.
      * 
      * @param orcid
      * @return
@@ -138,15 +230,119 @@ public class ProfileLastModifiedAspect implements PriorityOrdered {
         Date lastMod = null;
         if (sra != null)
             lastMod = (Date) sra.getAttribute(sraKey(orcid), ServletRequestAttributes.SCOPE_REQUEST);
+        if (lastMod == null && profileLastModifiedCache != null) {
+            lastMod = profileLastModifiedCache.get(orcid);
+        }
         if (lastMod == null) {
             lastMod = profileDao.retrieveLastModifiedDate(orcid);
-            if (sra != null)
-                sra.setAttribute(sraKey(orcid), lastMod, ServletRequestAttributes.SCOPE_REQUEST);
+            if (profileLastModifiedCache != null)
+                profileLastModifiedCache.put(orcid, lastMod);
         }
+        if (sra != null && lastMod != null)
+            sra.setAttribute(sraKey(orcid), lastMod, ServletRequestAttributes.SCOPE_REQUEST);
         return lastMod;
     }
 
+    /** Fetches the last modified of the given section of the record, from the request-scope cache, the JVM cache or the DB like
+     * {@link #retrieveLastModifiedDate(String)}. The section last modified only changes when the section, or the whole record, is updated,
+     * so caches of a single section can use it instead of the record last modified.
+     * 
+     * @param orcid
+     * @param section
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public Date retrieveLastModifiedDate(String orcid, RecordSection section) {
+        ServletRequestAttributes sra = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        Map<RecordSection, Date> lastMod = null;
+        if (sra != null)
+            lastMod = (Map<RecordSection, Date>) sra.getAttribute(sectionsSraKey(orcid), ServletRequestAttributes.SCOPE_REQUEST);
+        if (lastMod == null && profileLastModifiedCache != null) {
+            lastMod = profileLastModifiedCache.getSections(orcid);
+        }
+        if (lastMod == null) {
+            lastMod = profileDao.retrieveSectionsLastModifiedDates(orcid);
+            if (profileLastModifiedCache != null)
+                profileLastModifiedCache.putSections(orcid, lastMod);
+        }
+        if (sra != null && !lastMod.isEmpty())
+            sra.setAttribute(sectionsSraKey(orcid), lastMod, ServletRequestAttributes.SCOPE_REQUEST);
+        return lastMod.get(section);
+    }
+
+    /** Removes the ORCID from the JVM last modified caches, and again once the
+     * current transaction completes, so a value read before the commit is not
+     * kept. Once committed, the new last modified is passed on to the cache
+     * listeners, once per ORCID and transaction.
+     * 
+     * @param orcid
+     */
+    private void invalidateProfileLastModifiedCache(String orcid) {
+        if (profileLastModifiedCache == null) {
+            return;
+        }
+        invalidateLocally(orcid);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyProfileLastModifiedUpdated(orcid);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> updatedOrcids = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (updatedOrcids == null) {
+            final Set<String> orcids = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, orcids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProfileLastModifiedAspect.this);
+                    for (String updatedOrcid : orcids) {
+                        invalidateLocally(updatedOrcid);
+                        if (status == STATUS_COMMITTED) {
+                            notifyProfileLastModifiedUpdated(updatedOrcid);
+                        }
+                    }
+                }
+            });
+            updatedOrcids = orcids;
+        }
+        updatedOrcids.add(orcid);
+    }
+
+    private void invalidateLocally(String orcid) {
+        profileLastModifiedCache.invalidate(orcid);
+        if (readOnlyProfileLastModifiedCache != null) {
+            readOnlyProfileLastModifiedCache.invalidate(orcid);
+        }
+    }
+
+    private void notifyProfileLastModifiedUpdated(String orcid) {
+        if (!profileLastModifiedCache.hasListeners()) {
+            return;
+        }
+        try {
+            profileLastModifiedCache.updated(orcid, profileDao.retrieveLastModifiedDate(orcid));
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to notify last modified update for " + orcid, e);
+        }
+    }
+
+    private Set<RecordSection> getUpdatedSections(JoinPoint joinPoint) {
+        Object dao = joinPoint.getTarget();
+        if (dao != null) {
+            for (Map.Entry<Class<?>, Set<RecordSection>> entry : SECTIONS_BY_DAO.entrySet()) {
+                if (entry.getKey().isInstance(dao)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return ALL_SECTIONS;
+    }
+
     private String sraKey(String orcid) {
         return REQUEST_PROFILE_LAST_MODIFIED + '_' + name + '_' + orcid;
     }
+
+    private String sectionsSraKey(String orcid) {
+        return REQUEST_SECTIONS_LAST_MODIFIED + '_' + name + '_' + orcid;
+    }
 }
@@ -0,0 +1,153 @@
+package org.orcid.persistence.aop;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.orcid.persistence.jpa.entities.RecordSection;
+import org.springframework.beans.factory.InitializingBean;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * JVM wide cache of profile last modified dates, keyed by ORCID and holding
+ * the last modified as epoch millis.
+ *
+ * Entries are invalidated by {@link ProfileLastModifiedAspect} whenever this
+ * node updates a record, and expire after a short time to live so that
+ * updates made by other nodes are picked up within that bound. A
+ * {@link ProfileLastModifiedListener} that broadcasts updates between the
+ * nodes picks them up sooner, but the time to live must stay short: a date
+ * read from a lagging replica right after an invalidation is cached again.
+ *
+ * The last modified dates of the sections of the records are kept apart, and
+ * dropped along with the last modified date of their record.
+ */
+public class ProfileLastModifiedCache implements InitializingBean {
+
+    private int maxElements = 100000;
+
+    private int timeToLiveSeconds = 5;
+
+    private Cache<String, Long> cache;
+
+    private Cache<String, Map<RecordSection, Long>> sectionsCache;
+
+    private List<ProfileLastModifiedListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void setMaxElements(int maxElements) {
+        this.maxElements = maxElements;
+    }
+
+    public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        cache = CacheBuilder.newBuilder().maximumSize(maxElements).expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS).build();
+        sectionsCache = CacheBuilder.newBuilder().maximumSize(maxElements).expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS).build();
+    }
+
+    public Date get(String orcid) {
+        Long lastModified = cache.getIfPresent(orcid);
+        return lastModified == null ? null : new Date(lastModified);
+    }
+
+    /**
+     * Caches the last modified date, unless a more recent one is already
+     * present
+     */
+    public void put(String orcid, Date lastModified) {
+        if (orcid == null || lastModified == null) {
+            return;
+        }
+        cache.asMap().merge(orcid, lastModified.getTime(), Math::max);
+    }
+
+    public Map<RecordSection, Date> getSections(String orcid) {
+        Map<RecordSection, Long> sectionsLastModified = sectionsCache.getIfPresent(orcid);
+        if (sectionsLastModified == null) {
+            return null;
+        }
+        Map<RecordSection, Date> lastModified = new EnumMap<>(RecordSection.class);
+        sectionsLastModified.forEach((section, millis) -> lastModified.put(section, new Date(millis)));
+        return lastModified;
+    }
+
+    /**
+     * Caches the last modified dates of the sections of a record, unless more
+     * recent ones are already present
+     */
+    public void putSections(String orcid, Map<RecordSection, Date> lastModified) {
+        if (orcid == null || lastModified == null || lastModified.isEmpty()) {
+            return;
+        }
+        Map<RecordSection, Long> sectionsLastModified = new EnumMap<>(RecordSection.class);
+        lastModified.forEach((section, date) -> sectionsLastModified.put(section, date.getTime()));
+        sectionsCache.asMap().merge(orcid, Collections.unmodifiableMap(sectionsLastModified), (cached, read) -> {
+            Map<RecordSection, Long> merged = new EnumMap<>(cached);
+            read.forEach((section, millis) -> merged.merge(section, millis, Math::max));
+            return Collections.unmodifiableMap(merged);
+        });
+    }
+
+    /**
+     * Caches the last modified date of a record updated on this node and
+     * notifies the listeners
+     */
+    public void updated(String orcid, Date lastModified) {
+        if (orcid == null || lastModified == null) {
+            return;
+        }
+        put(orcid, lastModified);
+        for (ProfileLastModifiedListener listener : listeners) {
+            listener.profileLastModifiedUpdated(orcid, lastModified);
+        }
+    }
+
+    /**
+     * Drops the cached value if it is older than the given last modified date,
+     * typically received from another node
+     */
+    public void invalidateIfOlder(String orcid, Date lastModified) {
+        if (orcid == null) {
+            return;
+        }
+        if (lastModified == null) {
+            invalidate(orcid);
+            return;
+        }
+        long lastModifiedMillis = lastModified.getTime();
+        cache.asMap().computeIfPresent(orcid, (key, cached) -> cached < lastModifiedMillis ? null : cached);
+        // The record was updated after the last update of any of its sections
+        sectionsCache.asMap().computeIfPresent(orcid, (key, cached) -> Collections.max(cached.values()) < lastModifiedMillis ? null : cached);
+    }
+
+    public void invalidate(String orcid) {
+        if (orcid == null) {
+            return;
+        }
+        cache.invalidate(orcid);
+        sectionsCache.invalidate(orcid);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        sectionsCache.invalidateAll();
+    }
+
+    public void addListener(ProfileLastModifiedListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+}
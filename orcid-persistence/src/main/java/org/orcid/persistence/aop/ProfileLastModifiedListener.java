@@ -0,0 +1,13 @@
+package org.orcid.persistence.aop;
+
+import java.util.Date;
+
+/**
+ * Notified by {@link ProfileLastModifiedCache} once a transaction that
+ * updated the last modified date of a record has committed on this node.
+ */
+public interface ProfileLastModifiedListener {
+
+    void profileLastModifiedUpdated(String orcid, Date lastModified);
+
+}
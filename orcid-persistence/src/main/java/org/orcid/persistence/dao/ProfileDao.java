@@ -3,13 +3,17 @@ package org.orcid.persistence.dao;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.orcid.persistence.jpa.entities.IndexingStatus;
 import org.orcid.persistence.jpa.entities.OrcidGrantedAuthority;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
 import org.orcid.persistence.jpa.entities.ProfileEventEntity;
 import org.orcid.persistence.jpa.entities.ProfileEventType;
+import org.orcid.persistence.jpa.entities.RecordSection;
 
 public interface ProfileDao extends GenericDao<ProfileEntity, String> {
 
@@ -44,6 +48,39 @@ public interface ProfileDao extends GenericDao<ProfileEntity, String> {
      * @return a list of object arrays where the object[0] contains the orcid id and object[1] contains the indexing status                           
      * */
     List<Pair<String, IndexingStatus>> findOrcidsByIndexingStatus(IndexingStatus indexingStatus, int maxResults, Collection<String> orcidsToExclude, Integer delay);
+
+    /**
+     * Get the ORCID ids with the given indexing status along with their last modified date
+     * @param indexingStatus
+     *          The desired indexing status
+     * @param maxResults
+     *          Max number of results
+     * @param delay
+     *          A delay that will allow us to obtain records after no one is modifying it anymore, so, we prevent processing the same record several times
+     * @return a list of pairs where the left element contains the orcid id and the right one contains the last modified date
+     * */
+    List<Pair<String, Date>> findLastModifiedByIndexingStatus(IndexingStatus indexingStatus, int maxResults, Integer delay);
+
+    /**
+     * Get the ORCID ids with the given indexing status along with their last modified date, starting after the given record
+     * @param after
+     *          The last pair of the previous page, in (last_modified, orcid) order, or null to start from the beginning
+     * */
+    List<Pair<String, Date>> findLastModifiedByIndexingStatus(IndexingStatus indexingStatus, int maxResults, Integer delay, Pair<String, Date> after);
+
+    /**
+     * Get the ORCID ids with the given indexing status along with their last modified date, starting after the given record and only for one shard of the ORCID ids
+     * @param shard
+     *          The shard to return, from 0 to shardCount - 1
+     * @param shardCount
+     *          The total number of shards
+     * */
+    List<Pair<String, Date>> findLastModifiedByIndexingStatus(IndexingStatus indexingStatus, int maxResults, Integer delay, Pair<String, Date> after, int shard, int shardCount);
+
+    /**
+     * @return for each indexing status other than DONE, the number of records waiting to be indexed and the oldest last modified date among them
+     * */
+    List<Triple<IndexingStatus, Long, Date>> getIndexingQueueSummary();
     
     List<String> findUnclaimedNotIndexedAfterWaitPeriod(int waitPeriodDays, int maxDaysBack, int maxResults, Collection<String> orcidsToExclude);
 
@@ -70,6 +107,8 @@ public interface ProfileDao extends GenericDao<ProfileEntity, String> {
     Long getConfirmedProfileCount();
 
     Date retrieveLastModifiedDate(String orcid);
+
+    Map<RecordSection, Date> retrieveSectionsLastModifiedDates(String orcid);
     
     List<ProfileEntity> findByOrcidType(String orcidType);
 
@@ -80,6 +119,8 @@ public interface ProfileDao extends GenericDao<ProfileEntity, String> {
 
     void updateLastModifiedDateAndIndexingStatus(String orcid, IndexingStatus indexingStatus);
 
+    void updateLastModifiedDateAndIndexingStatus(String orcid, IndexingStatus indexingStatus, Set<RecordSection> sections);
+
     public List<Pair<String, Date>> findEmailsUnverfiedDays(int daysUnverified, int maxResults);
 
     String retrieveOrcidType(String orcid);
@@ -154,6 +195,15 @@ public interface ProfileDao extends GenericDao<ProfileEntity, String> {
     List<String> getAllOrcidIdsForInvalidRecords();
 
     void updateIndexingStatus(List<String> ids, IndexingStatus reindex);
+
+    /**
+     * Marks the given records as indexed, unless they were modified or flagged again since they were read
+     * @param records
+     *          The orcid id and last modified date of each record, as returned by findLastModifiedByIndexingStatus
+     * @param indexingStatus
+     *          The indexing status the records were read with
+     * */
+    void updateIndexingStatusToDoneIfUnchanged(List<Pair<String, Date>> records, IndexingStatus indexingStatus);
     
     public List<String> registeredBetween(Date startDate, Date endDate);
 }
@@ -5,8 +5,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.persistence.NoResultException;
@@ -14,6 +17,7 @@ import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.orcid.persistence.aop.ExcludeFromProfileLastModifiedUpdate;
 import org.orcid.persistence.dao.ProfileDao;
 import org.orcid.persistence.jpa.entities.BaseEntity;
@@ -23,6 +27,7 @@ import org.orcid.persistence.jpa.entities.OrcidGrantedAuthority;
 import org.orcid.persistence.jpa.entities.ProfileEntity;
 import org.orcid.persistence.jpa.entities.ProfileEventEntity;
 import org.orcid.persistence.jpa.entities.ProfileEventType;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +36,10 @@ public class ProfileDaoImpl extends GenericDaoImpl<ProfileEntity, String> implem
     private static final String PUBLIC_VISIBILITY = "PUBLIC";
 
     private static final String PRIVATE_VISIBILITY = "PRIVATE";
+
+    // Record last modified as of the last update that maintained the section
+    // last modified dates, they only apply while it matches the record one
+    private static final String SECTIONS_LAST_MODIFIED = "sections_last_modified";
     
     @Value("${org.orcid.postgres.query.timeout:30000}")
     private Integer queryTimeout;
@@ -96,33 +105,143 @@ public class ProfileDaoImpl extends GenericDaoImpl<ProfileEntity, String> implem
      * @return a list of object arrays where the object[0] contains the orcid id
      *         and object[1] contains the indexing status
      */
-    @SuppressWarnings("unchecked")
     private List<Pair<String, IndexingStatus>> findOrcidsByIndexingStatus(Collection<IndexingStatus> indexingStatuses, int maxResults,
             Collection<String> orcidsToExclude, Integer delay) {
-        StringBuilder builder = new StringBuilder("SELECT p.orcid, p.indexing_status FROM profile p WHERE p.indexing_status IN :indexingStatus ");
+        List<Object[]> dbInfo = findByIndexingStatus(indexingStatuses, maxResults, orcidsToExclude, delay, null, 0, 1);
+        List<Pair<String, IndexingStatus>> results = new ArrayList<Pair<String, IndexingStatus>>();
+        dbInfo.stream().forEach(element -> {
+            IndexingStatus i = element[1] == null ? null : IndexingStatus.valueOf((String) element[1]);
+            Pair<String, IndexingStatus> pair = Pair.of((String) element[0], i);
+            results.add(pair);
+        });
+        return results;
+    }
+
+    /**
+     * Get the ORCID id's with the given indexing status along with the last
+     * modified date of each record, so callers don't need to fetch it one
+     * record at a time
+     * 
+     * @param indexingStatus
+     *            The desired indexing status
+     * @param maxResults
+     *            Max number of results
+     * @param delay
+     *            A delay that will allow us to obtain records after no one is
+     *            modifying it anymore
+     * @return a list of pairs where the left element contains the orcid id and
+     *         the right one contains the last modified date
+     */
+    @Override
+    public List<Pair<String, Date>> findLastModifiedByIndexingStatus(IndexingStatus indexingStatus, int maxResults, Integer delay) {
+        return findLastModifiedByIndexingStatus(indexingStatus, maxResults, delay, null);
+    }
+
+    /**
+     * Same as {@link #findLastModifiedByIndexingStatus(IndexingStatus, int, Integer)}
+     * but only returns records after the given one in (last_modified, orcid)
+     * order, so a caller can page through the records without going over the
+     * ones it has already seen
+     * 
+     * @param after
+     *            the last pair of the previous page, or null for the first
+     *            page
+     */
+    @Override
+    public List<Pair<String, Date>> findLastModifiedByIndexingStatus(IndexingStatus indexingStatus, int maxResults, Integer delay, Pair<String, Date> after) {
+        return findLastModifiedByIndexingStatus(indexingStatus, maxResults, delay, after, 0, 1);
+    }
+
+    /**
+     * Same as
+     * {@link #findLastModifiedByIndexingStatus(IndexingStatus, int, Integer, Pair)}
+     * but only returns the records of one shard, so several workers can
+     * process the same indexing status without getting the same records.
+     * Records are split by the last digits of the ORCID id, which are
+     * uniformly distributed.
+     * 
+     * @param shard
+     *            the shard to return, from 0 to shardCount - 1
+     * @param shardCount
+     *            the total number of shards
+     */
+    @Override
+    public List<Pair<String, Date>> findLastModifiedByIndexingStatus(IndexingStatus indexingStatus, int maxResults, Integer delay, Pair<String, Date> after, int shard,
+            int shardCount) {
+        List<Object[]> dbInfo = findByIndexingStatus(Collections.singletonList(indexingStatus), maxResults, Collections.emptyList(), delay, after, shard, shardCount);
+        List<Pair<String, Date>> results = new ArrayList<Pair<String, Date>>(dbInfo.size());
+        dbInfo.stream().forEach(element -> {
+            results.add(Pair.of((String) element[0], (Date) element[2]));
+        });
+        return results;
+    }
+
+    /**
+     * @return a list of object arrays where the object[0] contains the orcid
+     *         id, object[1] contains the indexing status and object[2] the last
+     *         modified date
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> findByIndexingStatus(Collection<IndexingStatus> indexingStatuses, int maxResults, Collection<String> orcidsToExclude, Integer delay,
+            Pair<String, Date> after, int shard, int shardCount) {
+        StringBuilder builder = new StringBuilder("SELECT p.orcid, p.indexing_status, p.last_modified FROM profile p WHERE p.indexing_status IN :indexingStatus ");
+        if (!indexingStatuses.contains(IndexingStatus.DONE)) {
+            // Matches the predicate of profile_indexing_queue_idx, so the
+            // partial index is used even when the plan is built without the
+            // parameter values
+            builder.append(" AND p.indexing_status <> 'DONE'");
+        }
         if(delay != null && delay > 0) {
             builder.append(" AND (p.last_indexed_date is null OR p.last_indexed_date < now() - INTERVAL '" + delay + " min') ");
         }
         if (!orcidsToExclude.isEmpty()) {
             builder.append(" AND p.orcid NOT IN :orcidsToExclude");
         }
+        if (after != null) {
+            builder.append(" AND (p.last_modified, p.orcid) > (:afterLastModified, :afterOrcid)");
+        }
+        if (shardCount > 1) {
+            // Last three digits of the ORCID id, before the checksum
+            builder.append(" AND MOD(CAST(SUBSTRING(p.orcid, 16, 3) AS INTEGER), :shardCount) = :shard");
+        }
         // Ordering by indexing status will force re-indexing to be lower
-        // priority than normal indexing
-        builder.append(" ORDER BY (p.last_modified > (NOW() - CAST('1' as INTERVAL HOUR))) DESC, indexing_status, p.last_modified");
+        // priority than normal indexing. The order follows
+        // profile_indexing_queue_idx, so no sort is needed.
+        builder.append(" ORDER BY p.indexing_status, p.last_modified, p.orcid");
         Query query = entityManager.createNativeQuery(builder.toString());
         query.setParameter("indexingStatus", IndexingStatus.getNames(indexingStatuses));
         if (!orcidsToExclude.isEmpty()) {
             query.setParameter("orcidsToExclude", orcidsToExclude);
         }
+        if (after != null) {
+            query.setParameter("afterLastModified", after.getRight());
+            query.setParameter("afterOrcid", after.getLeft());
+        }
+        if (shardCount > 1) {
+            query.setParameter("shardCount", shardCount);
+            query.setParameter("shard", shard);
+        }
         query.setMaxResults(maxResults);
         // Sets a timeout for this query
         query.setHint("javax.persistence.query.timeout", queryTimeout);
+        return query.getResultList();
+    }
+
+    /**
+     * @return for each indexing status other than DONE, the number of records
+     *         waiting to be indexed and the oldest last modified date among
+     *         them
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Triple<IndexingStatus, Long, Date>> getIndexingQueueSummary() {
+        Query query = entityManager.createNativeQuery(
+                "SELECT p.indexing_status, COUNT(*), MIN(p.last_modified) FROM profile p WHERE p.indexing_status <> 'DONE' GROUP BY p.indexing_status");
+        query.setHint("javax.persistence.query.timeout", queryTimeout);
         List<Object[]> dbInfo = query.getResultList();
-        List<Pair<String, IndexingStatus>> results = new ArrayList<Pair<String, IndexingStatus>>();
+        List<Triple<IndexingStatus, Long, Date>> results = new ArrayList<Triple<IndexingStatus, Long, Date>>(dbInfo.size());
         dbInfo.stream().forEach(element -> {
-            IndexingStatus i = element[1] == null ? null : IndexingStatus.valueOf((String) element[1]);
-            Pair<String, IndexingStatus> pair = Pair.of((String) element[0], i);
-            results.add(pair);
+            results.add(Triple.of(IndexingStatus.valueOf((String) element[0]), ((Number) element[1]).longValue(), (Date) element[2]));
         });
         return results;
     }
@@ -432,6 +551,43 @@ public class ProfileDaoImpl extends GenericDaoImpl<ProfileEntity, String> implem
         return null;
     }
 
+    /**
+     * Fetches the last modified of each section of the record from the
+     * database, sections that were not updated since they got their own last
+     * modified have the last modified of the record. When the record was last
+     * modified by something that doesn't maintain the section dates, like a
+     * node still running a release without them or a plain update of the
+     * record last modified, all sections have the last modified of the
+     * record. Do not call unless it also manages the request level cache
+     * 
+     * @See ProfileLastModifiedAspect
+     * 
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<RecordSection, Date> retrieveSectionsLastModifiedDates(String orcid) {
+        StringBuilder queryString = new StringBuilder("select ");
+        RecordSection[] sections = RecordSection.values();
+        for (int i = 0; i < sections.length; i++) {
+            queryString.append(i == 0 ? "" : ", ").append("case when p.").append(SECTIONS_LAST_MODIFIED).append(" = p.last_modified then coalesce(p.")
+                    .append(sections[i].getColumn()).append(", p.last_modified) else p.last_modified end");
+        }
+        queryString.append(" from profile p where p.orcid = :orcid");
+        Query nativeQuery = entityManager.createNativeQuery(queryString.toString());
+        nativeQuery.setParameter("orcid", orcid);
+        List<Object[]> results = nativeQuery.getResultList();
+        Map<RecordSection, Date> lastModified = new EnumMap<>(RecordSection.class);
+        if (results != null && !results.isEmpty()) {
+            Object[] row = results.get(0);
+            for (int i = 0; i < sections.length; i++) {
+                if (row[i] != null) {
+                    lastModified.put(sections[i], new Date(((Timestamp) row[i]).getTime()));
+                }
+            }
+        }
+        return lastModified;
+    }
+
     @Override
     @Transactional
     public void updateLastModifiedDateWithoutResult(String orcid) {
@@ -461,9 +617,41 @@ public class ProfileDaoImpl extends GenericDaoImpl<ProfileEntity, String> implem
     @Transactional
     @ExcludeFromProfileLastModifiedUpdate
     public void updateLastModifiedDateAndIndexingStatus(String orcid, IndexingStatus indexingStatus) {
-        Query updateQuery = entityManager.createQuery("update ProfileEntity set lastModified = now(), indexingStatus = :indexingStatus where orcid = :orcid");
+        updateLastModifiedDateAndIndexingStatus(orcid, indexingStatus, EnumSet.allOf(RecordSection.class));
+    }
+
+    /**
+     * Same as {@link #updateLastModifiedDateAndIndexingStatus(String, IndexingStatus)}
+     * but only the last modified date of the given sections is updated along
+     * with the one of the record. The other sections keep their last modified
+     * date, which is the previous one of the record if they didn't have one
+     * yet, or if the record was last modified by something that doesn't
+     * maintain the section dates
+     * 
+     * @param orcid
+     * @param indexingStatus
+     * @param sections
+     */
+    @Override
+    @Transactional
+    @ExcludeFromProfileLastModifiedUpdate
+    public void updateLastModifiedDateAndIndexingStatus(String orcid, IndexingStatus indexingStatus, Set<RecordSection> sections) {
+        StringBuilder queryString = new StringBuilder("update profile set last_modified = now(), indexing_status = :indexingStatus, ").append(SECTIONS_LAST_MODIFIED)
+                .append(" = now()");
+        for (RecordSection section : RecordSection.values()) {
+            String column = section.getColumn();
+            queryString.append(", ").append(column).append(" = ");
+            if (sections.contains(section)) {
+                queryString.append("now()");
+            } else {
+                queryString.append("case when ").append(SECTIONS_LAST_MODIFIED).append(" = last_modified then coalesce(").append(column)
+                        .append(", last_modified) else last_modified end");
+            }
+        }
+        queryString.append(" where orcid = :orcid");
+        Query updateQuery = entityManager.createNativeQuery(queryString.toString());
         updateQuery.setParameter("orcid", orcid);
-        updateQuery.setParameter("indexingStatus", indexingStatus);
+        updateQuery.setParameter("indexingStatus", indexingStatus.name());
         updateQuery.executeUpdate();
     }
 
@@ -474,6 +662,13 @@ public class ProfileDaoImpl extends GenericDaoImpl<ProfileEntity, String> implem
         query.executeUpdate();
     }
 
+    private void updateWebhookProfileLastUpdate(List<String> orcids) {
+        Query query = entityManager.createNativeQuery(
+                "update webhook set profile_last_modified = (select p.last_modified from profile p where p.orcid = webhook.orcid) where orcid IN :ids");
+        query.setParameter("ids", orcids);
+        query.executeUpdate();
+    }
+
     @Override
     public String retrieveOrcidType(String orcid) {
         TypedQuery<String> query = entityManager.createQuery("select orcidType from ProfileEntity where orcid = :orcid", String.class);
@@ -862,7 +1057,7 @@ public class ProfileDaoImpl extends GenericDaoImpl<ProfileEntity, String> implem
         String queryString = null;
         if (IndexingStatus.DONE.equals(indexingStatus)) {
             queryString = "UPDATE profile SET indexing_status = :indexingStatus, last_indexed_date = now() WHERE orcid IN :ids";
-            ids.forEach(orcid -> updateWebhookProfileLastUpdate(orcid));
+            updateWebhookProfileLastUpdate(ids);
         } else {
             queryString = "UPDATE profile SET indexing_status = :indexingStatus WHERE orcid IN :ids";
         }
@@ -871,6 +1066,39 @@ public class ProfileDaoImpl extends GenericDaoImpl<ProfileEntity, String> implem
         query.setParameter("indexingStatus", indexingStatus.name());
         query.executeUpdate();
     }
+
+    /**
+     * Only the records that still have the status and the last modified date
+     * they were read with are marked as indexed. A record modified or flagged
+     * again in between stays flagged, so the change is sent on the next run,
+     * with its new last modified date.
+     */
+    @Override
+    @Transactional
+    public void updateIndexingStatusToDoneIfUnchanged(List<Pair<String, Date>> records, IndexingStatus indexingStatus) {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder queryString = new StringBuilder("UPDATE profile SET indexing_status = 'DONE', last_indexed_date = now() WHERE indexing_status = :indexingStatus AND (");
+        for (int i = 0; i < records.size(); i++) {
+            queryString.append(i == 0 ? "" : " OR ").append("(orcid = :orcid").append(i).append(" AND last_modified = :lastModified").append(i).append(")");
+        }
+        queryString.append(")");
+        Query query = entityManager.createNativeQuery(queryString.toString());
+        query.setParameter("indexingStatus", indexingStatus.name());
+        List<String> orcids = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            query.setParameter("orcid" + i, records.get(i).getLeft());
+            query.setParameter("lastModified" + i, records.get(i).getRight());
+            orcids.add(records.get(i).getLeft());
+        }
+        query.executeUpdate();
+
+        Query webhookQuery = entityManager.createNativeQuery("update webhook set profile_last_modified = (select p.last_modified from profile p where p.orcid = webhook.orcid) "
+                + "where orcid IN :ids and exists (select 1 from profile p where p.orcid = webhook.orcid and p.indexing_status = 'DONE')");
+        webhookQuery.setParameter("ids", orcids);
+        webhookQuery.executeUpdate();
+    }
     
     @Override
     @Transactional
@@ -0,0 +1,198 @@
+package org.orcid.persistence.jpa.entities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serialized form of a {@link MinimizedWorkEntity}.
+ *
+ * Minimized works are kept serialized in the minimized work cache, and the
+ * default serialization writes the description of every class of the entity
+ * hierarchy, plus the dates and the publication date as objects of their own,
+ * for every single work. This form writes the fields as a plain byte array
+ * instead. The low cardinality values, like the orcid, the work type, the
+ * visibility, the language codes and the source ids, go in a dictionary at
+ * the start of the data and the fields refer to them by index, so a value
+ * that appears in several of those fields, typically the orcid that is also
+ * the source id, is written and read back only once.
+ */
+final class CompactMinimizedWork implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte VERSION = 2;
+
+    private static final int NULL = -1;
+
+    private final byte[] data;
+
+    CompactMinimizedWork(MinimizedWorkEntity work) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        ByteArrayOutputStream fields = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(fields)) {
+            writeLong(out, work.id);
+            writeCommonString(out, work.orcid, dictionary);
+            writeString(out, work.title);
+            writeString(out, work.translatedTitle);
+            writeString(out, work.subtitle);
+            writeString(out, work.description);
+            writeString(out, work.workUrl);
+            writeString(out, work.journalTitle);
+            writeCommonString(out, work.languageCode, dictionary);
+            writeCommonString(out, work.translatedTitleLanguageCode, dictionary);
+            writeCommonString(out, work.workType, dictionary);
+            writeString(out, work.externalIdentifiersJson);
+            writeCommonString(out, work.visibility, dictionary);
+            writeLong(out, work.displayIndex);
+            writeCommonString(out, work.sourceId, dictionary);
+            writeCommonString(out, work.clientSourceId, dictionary);
+            writeCommonString(out, work.assertionOriginSourceId, dictionary);
+            writeCommonString(out, work.assertionOriginClientSourceId, dictionary);
+            writeDate(out, work.getDateCreated());
+            writeDate(out, work.getLastModified());
+            PublicationDateEntity publicationDate = work.publicationDate;
+            out.writeBoolean(publicationDate != null);
+            if (publicationDate != null) {
+                writeInteger(out, publicationDate.getYear());
+                writeInteger(out, publicationDate.getMonth());
+                writeInteger(out, publicationDate.getDay());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(fields.size() + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                writeString(out, value);
+            }
+            fields.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.data = bytes.toByteArray();
+    }
+
+    private Object readResolve() throws InvalidObjectException {
+        MinimizedWorkEntity work = new MinimizedWorkEntity();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new InvalidObjectException("Unknown minimized work version " + version);
+            }
+            String[] dictionary = new String[in.readUnsignedByte()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(in);
+            }
+            work.id = readLong(in);
+            work.orcid = readCommonString(in, dictionary);
+            work.title = readString(in);
+            work.translatedTitle = readString(in);
+            work.subtitle = readString(in);
+            work.description = readString(in);
+            work.workUrl = readString(in);
+            work.journalTitle = readString(in);
+            work.languageCode = readCommonString(in, dictionary);
+            work.translatedTitleLanguageCode = readCommonString(in, dictionary);
+            work.workType = readCommonString(in, dictionary);
+            work.externalIdentifiersJson = readString(in);
+            work.visibility = readCommonString(in, dictionary);
+            work.displayIndex = readLong(in);
+            work.sourceId = readCommonString(in, dictionary);
+            work.clientSourceId = readCommonString(in, dictionary);
+            work.assertionOriginSourceId = readCommonString(in, dictionary);
+            work.assertionOriginClientSourceId = readCommonString(in, dictionary);
+            work.setDateCreated(readDate(in));
+            work.setLastModified(readDate(in));
+            if (in.readBoolean()) {
+                work.publicationDate = new PublicationDateEntity(readInteger(in), readInteger(in), readInteger(in));
+            }
+        } catch (IOException e) {
+            InvalidObjectException invalid = new InvalidObjectException("Unable to read minimized work");
+            invalid.initCause(e);
+            throw invalid;
+        }
+        return work;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeCommonString(DataOutputStream out, String value, Map<String, Integer> dictionary) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else {
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                index = dictionary.size();
+                dictionary.put(value, index);
+            }
+            out.writeByte(index);
+        }
+    }
+
+    private static String readCommonString(DataInputStream in, String[] dictionary) throws IOException {
+        byte index = in.readByte();
+        return index == NULL ? null : dictionary[index];
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, Date value) throws IOException {
+        writeLong(out, value == null ? null : value.getTime());
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        Long time = readLong(in);
+        return time == null ? null : new Date(time);
+    }
+
+}
@@ -27,4 +27,12 @@ public class MinimizedWorkEntity extends WorkBaseEntity implements OrcidAware {
         this.orcid = orcid;
     }
 
+    /**
+     * Minimized works are cached serialized, so they are written in a compact
+     * form, see {@link CompactMinimizedWork}
+     */
+    private Object writeReplace() {
+        return new CompactMinimizedWork(this);
+    }
+
 }
\ No newline at end of file
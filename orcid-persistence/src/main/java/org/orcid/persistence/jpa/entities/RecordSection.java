@@ -0,0 +1,24 @@
+package org.orcid.persistence.jpa.entities;
+
+/**
+ * Sections of a record that keep their own last modified date, in the given
+ * column of the profile table, next to the last modified date of the whole
+ * record
+ *
+ */
+public enum RecordSection {
+
+    PERSON("person_last_modified"), WORKS("works_last_modified"), FUNDINGS("fundings_last_modified"), AFFILIATIONS("affiliations_last_modified"), PEER_REVIEWS(
+            "peer_reviews_last_modified"), RESEARCH_RESOURCES("research_resources_last_modified");
+
+    private final String column;
+
+    private RecordSection(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+}
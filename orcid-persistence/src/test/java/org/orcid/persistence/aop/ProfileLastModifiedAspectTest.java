@@ -0,0 +1,109 @@
+package org.orcid.persistence.aop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+import org.aspectj.lang.JoinPoint;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.orcid.persistence.dao.EmailDao;
+import org.orcid.persistence.dao.OrcidOauth2TokenDetailDao;
+import org.orcid.persistence.dao.OrgDao;
+import org.orcid.persistence.dao.ProfileDao;
+import org.orcid.persistence.dao.WorkDao;
+import org.orcid.persistence.jpa.entities.IndexingStatus;
+import org.orcid.persistence.jpa.entities.RecordSection;
+
+public class ProfileLastModifiedAspectTest {
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    @Mock
+    private ProfileDao profileDao;
+
+    @Mock
+    private JoinPoint joinPoint;
+
+    private ProfileLastModifiedCache profileLastModifiedCache;
+
+    private ProfileLastModifiedAspect profileLastModifiedAspect;
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        profileLastModifiedCache = new ProfileLastModifiedCache();
+        profileLastModifiedCache.setTimeToLiveSeconds(60);
+        profileLastModifiedCache.afterPropertiesSet();
+        profileLastModifiedAspect = new ProfileLastModifiedAspect();
+        profileLastModifiedAspect.setProfileDao(profileDao);
+        profileLastModifiedAspect.setProfileLastModifiedCache(profileLastModifiedCache);
+    }
+
+    @Test
+    public void testSectionDaoUpdatesItsSection() {
+        Mockito.when(joinPoint.getTarget()).thenReturn(Mockito.mock(WorkDao.class));
+        profileLastModifiedAspect.updateProfileLastModified(joinPoint, ORCID);
+        Mockito.verify(profileDao).updateLastModifiedDateAndIndexingStatus(ORCID, IndexingStatus.PENDING, EnumSet.of(RecordSection.WORKS));
+
+        Mockito.when(joinPoint.getTarget()).thenReturn(Mockito.mock(EmailDao.class));
+        profileLastModifiedAspect.updateProfileLastModified(joinPoint, ORCID);
+        Mockito.verify(profileDao).updateLastModifiedDateAndIndexingStatus(ORCID, IndexingStatus.PENDING, EnumSet.of(RecordSection.PERSON));
+    }
+
+    @Test
+    public void testOtherDaosUpdateTheWholeRecord() {
+        Mockito.when(joinPoint.getTarget()).thenReturn(Mockito.mock(OrgDao.class));
+        profileLastModifiedAspect.updateProfileLastModified(joinPoint, ORCID);
+        Mockito.verify(profileDao).updateLastModifiedDateAndIndexingStatus(ORCID, IndexingStatus.PENDING, EnumSet.allOf(RecordSection.class));
+
+        profileLastModifiedAspect.updateLastModifiedDateAndIndexingStatus(ORCID);
+        Mockito.verify(profileDao, Mockito.times(2)).updateLastModifiedDateAndIndexingStatus(ORCID, IndexingStatus.PENDING, EnumSet.allOf(RecordSection.class));
+    }
+
+    @Test
+    public void testDaosOutsideOfTheSectionsOnlyUpdateTheRecord() {
+        Mockito.when(joinPoint.getTarget()).thenReturn(Mockito.mock(OrcidOauth2TokenDetailDao.class));
+        profileLastModifiedAspect.updateProfileLastModified(joinPoint, ORCID);
+        Mockito.verify(profileDao).updateLastModifiedDateAndIndexingStatus(ORCID, IndexingStatus.PENDING, EnumSet.noneOf(RecordSection.class));
+    }
+
+    @Test
+    public void testRetrieveSectionLastModified() {
+        Map<RecordSection, Date> sections = new EnumMap<>(RecordSection.class);
+        sections.put(RecordSection.WORKS, new Date(2000));
+        sections.put(RecordSection.PERSON, new Date(1000));
+        Mockito.when(profileDao.retrieveSectionsLastModifiedDates(ORCID)).thenReturn(sections);
+
+        assertEquals(new Date(2000), profileLastModifiedAspect.retrieveLastModifiedDate(ORCID, RecordSection.WORKS));
+        assertEquals(new Date(1000), profileLastModifiedAspect.retrieveLastModifiedDate(ORCID, RecordSection.PERSON));
+        Mockito.verify(profileDao, Mockito.times(1)).retrieveSectionsLastModifiedDates(ORCID);
+
+        Mockito.when(joinPoint.getTarget()).thenReturn(Mockito.mock(WorkDao.class));
+        profileLastModifiedAspect.updateProfileLastModified(joinPoint, ORCID);
+        profileLastModifiedAspect.retrieveLastModifiedDate(ORCID, RecordSection.WORKS);
+        Mockito.verify(profileDao, Mockito.times(2)).retrieveSectionsLastModifiedDates(ORCID);
+
+        assertNull(profileLastModifiedAspect.retrieveLastModifiedDate("0000-0000-0000-0002", RecordSection.WORKS));
+    }
+
+    @Test
+    public void testUpdatesInvalidateTheReadOnlyCache() {
+        ProfileLastModifiedCache readOnlyCache = new ProfileLastModifiedCache();
+        readOnlyCache.setTimeToLiveSeconds(60);
+        readOnlyCache.afterPropertiesSet();
+        profileLastModifiedAspect.setReadOnlyProfileLastModifiedCache(readOnlyCache);
+        readOnlyCache.put(ORCID, new Date(1000));
+
+        profileLastModifiedAspect.updateLastModifiedDateAndIndexingStatus(ORCID);
+        assertNull(readOnlyCache.get(ORCID));
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.orcid.persistence.aop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.orcid.persistence.jpa.entities.RecordSection;
+
+public class ProfileLastModifiedCacheTest {
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    private ProfileLastModifiedCache profileLastModifiedCache;
+
+    @Before
+    public void before() {
+        profileLastModifiedCache = new ProfileLastModifiedCache();
+        profileLastModifiedCache.setMaxElements(10);
+        profileLastModifiedCache.setTimeToLiveSeconds(60);
+        profileLastModifiedCache.afterPropertiesSet();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertNull(profileLastModifiedCache.get(ORCID));
+        Date lastModified = new Date();
+        profileLastModifiedCache.put(ORCID, lastModified);
+        assertEquals(lastModified.getTime(), profileLastModifiedCache.get(ORCID).getTime());
+    }
+
+    @Test
+    public void testPutNullIsIgnored() {
+        profileLastModifiedCache.put(ORCID, null);
+        assertNull(profileLastModifiedCache.get(ORCID));
+    }
+
+    @Test
+    public void testInvalidate() {
+        profileLastModifiedCache.put(ORCID, new Date());
+        profileLastModifiedCache.invalidate(ORCID);
+        assertNull(profileLastModifiedCache.get(ORCID));
+    }
+
+    @Test
+    public void testExpiry() {
+        profileLastModifiedCache.setTimeToLiveSeconds(0);
+        profileLastModifiedCache.afterPropertiesSet();
+        profileLastModifiedCache.put(ORCID, new Date());
+        assertNull(profileLastModifiedCache.get(ORCID));
+    }
+
+    @Test
+    public void testPutKeepsMostRecent() {
+        profileLastModifiedCache.put(ORCID, new Date(2000));
+        profileLastModifiedCache.put(ORCID, new Date(1000));
+        assertEquals(2000, profileLastModifiedCache.get(ORCID).getTime());
+    }
+
+    @Test
+    public void testInvalidateIfOlder() {
+        profileLastModifiedCache.put(ORCID, new Date(2000));
+        profileLastModifiedCache.invalidateIfOlder(ORCID, new Date(1000));
+        assertEquals(2000, profileLastModifiedCache.get(ORCID).getTime());
+        profileLastModifiedCache.invalidateIfOlder(ORCID, new Date(2000));
+        assertEquals(2000, profileLastModifiedCache.get(ORCID).getTime());
+        profileLastModifiedCache.invalidateIfOlder(ORCID, new Date(3000));
+        assertNull(profileLastModifiedCache.get(ORCID));
+    }
+
+    @Test
+    public void testSections() {
+        assertNull(profileLastModifiedCache.getSections(ORCID));
+        Map<RecordSection, Date> sections = new EnumMap<>(RecordSection.class);
+        sections.put(RecordSection.WORKS, new Date(2000));
+        sections.put(RecordSection.PERSON, new Date(1000));
+        profileLastModifiedCache.putSections(ORCID, sections);
+        assertEquals(sections, profileLastModifiedCache.getSections(ORCID));
+
+        // Keeps the most recent of each section
+        sections.put(RecordSection.WORKS, new Date(1500));
+        sections.put(RecordSection.PERSON, new Date(1500));
+        profileLastModifiedCache.putSections(ORCID, sections);
+        assertEquals(2000, profileLastModifiedCache.getSections(ORCID).get(RecordSection.WORKS).getTime());
+        assertEquals(1500, profileLastModifiedCache.getSections(ORCID).get(RecordSection.PERSON).getTime());
+
+        profileLastModifiedCache.invalidate(ORCID);
+        assertNull(profileLastModifiedCache.getSections(ORCID));
+    }
+
+    @Test
+    public void testSectionsInvalidateIfOlder() {
+        profileLastModifiedCache.putSections(ORCID, Collections.singletonMap(RecordSection.WORKS, new Date(2000)));
+        profileLastModifiedCache.invalidateIfOlder(ORCID, new Date(2000));
+        assertEquals(2000, profileLastModifiedCache.getSections(ORCID).get(RecordSection.WORKS).getTime());
+        profileLastModifiedCache.invalidateIfOlder(ORCID, new Date(3000));
+        assertNull(profileLastModifiedCache.getSections(ORCID));
+    }
+
+    @Test
+    public void testUpdatedNotifiesListeners() {
+        final List<String> notified = new ArrayList<>();
+        assertFalse(profileLastModifiedCache.hasListeners());
+        profileLastModifiedCache.addListener((orcid, lastModified) -> notified.add(orcid + ":" + lastModified.getTime()));
+        assertTrue(profileLastModifiedCache.hasListeners());
+        profileLastModifiedCache.updated(ORCID, new Date(1000));
+        assertEquals(1, notified.size());
+        assertEquals(ORCID + ":1000", notified.get(0));
+        assertEquals(1000, profileLastModifiedCache.get(ORCID).getTime());
+    }
+
+}
@@ -10,6 +10,7 @@ import static org.junit.Assert.fail;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +23,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.Query;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.dbunit.dataset.DataSetException;
 import org.joda.time.LocalDateTime;
 import org.junit.AfterClass;
@@ -38,6 +40,7 @@ import org.orcid.persistence.jpa.entities.ProfileEntity;
 import org.orcid.persistence.jpa.entities.ProfileEventEntity;
 import org.orcid.persistence.jpa.entities.ProfileEventType;
 import org.orcid.persistence.jpa.entities.ProfileKeywordEntity;
+import org.orcid.persistence.jpa.entities.RecordSection;
 import org.orcid.persistence.jpa.entities.SubjectEntity;
 import org.orcid.test.DBUnitTest;
 import org.orcid.test.OrcidJUnit4ClassRunner;
@@ -249,6 +252,128 @@ public class ProfileDaoTest extends DBUnitTest {
         assertEquals(3, results.size());
     }
 
+    @Test
+    public void testFindLastModifiedByIndexingStatus() {
+        List<Pair<String, Date>> results = profileDao.findLastModifiedByIndexingStatus(IndexingStatus.PENDING, 10, 0);
+        assertNotNull(results);
+        assertEquals(2, results.size());
+        assertEquals("4444-4444-4444-4445", results.get(0).getLeft());
+        assertEquals(profileDao.retrieveLastModifiedDate("4444-4444-4444-4445").getTime(), results.get(0).getRight().getTime());
+        assertEquals("4444-4444-4444-4446", results.get(1).getLeft());
+        assertEquals(profileDao.retrieveLastModifiedDate("4444-4444-4444-4446").getTime(), results.get(1).getRight().getTime());
+    }
+
+    @Test
+    public void testFindLastModifiedByIndexingStatusAfter() {
+        List<Pair<String, Date>> firstPage = profileDao.findLastModifiedByIndexingStatus(IndexingStatus.PENDING, 1, 0, null);
+        assertEquals(1, firstPage.size());
+        assertEquals("4444-4444-4444-4445", firstPage.get(0).getLeft());
+        List<Pair<String, Date>> secondPage = profileDao.findLastModifiedByIndexingStatus(IndexingStatus.PENDING, 1, 0, firstPage.get(0));
+        assertEquals(1, secondPage.size());
+        assertEquals("4444-4444-4444-4446", secondPage.get(0).getLeft());
+        assertTrue(profileDao.findLastModifiedByIndexingStatus(IndexingStatus.PENDING, 1, 0, secondPage.get(0)).isEmpty());
+    }
+
+    @Test
+    public void testFindLastModifiedByIndexingStatusInShard() {
+        // Both pending records end in 444, so they belong to shard 444 % 2 = 0
+        List<Pair<String, Date>> results = profileDao.findLastModifiedByIndexingStatus(IndexingStatus.PENDING, 10, 0, null, 0, 2);
+        assertEquals(2, results.size());
+        assertTrue(profileDao.findLastModifiedByIndexingStatus(IndexingStatus.PENDING, 10, 0, null, 1, 2).isEmpty());
+    }
+
+    @Test
+    public void testGetIndexingQueueSummary() {
+        List<Triple<IndexingStatus, Long, Date>> summary = profileDao.getIndexingQueueSummary();
+        Triple<IndexingStatus, Long, Date> pending = null;
+        for (Triple<IndexingStatus, Long, Date> triple : summary) {
+            assertFalse(IndexingStatus.DONE.equals(triple.getLeft()));
+            if (IndexingStatus.PENDING.equals(triple.getLeft())) {
+                pending = triple;
+            }
+        }
+        assertNotNull(pending);
+        assertEquals(Long.valueOf(2), pending.getMiddle());
+        assertEquals(profileDao.retrieveLastModifiedDate("4444-4444-4444-4445").getTime(), pending.getRight().getTime());
+    }
+
+    @Test
+    @Rollback(true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void testUpdateSectionsLastModified() {
+        String orcid = "4444-4444-4444-4442";
+        long recordLastModified = profileDao.retrieveLastModifiedDate(orcid).getTime();
+        Map<RecordSection, Date> sections = profileDao.retrieveSectionsLastModifiedDates(orcid);
+        assertEquals(RecordSection.values().length, sections.size());
+        for (Date sectionLastModified : sections.values()) {
+            assertEquals(recordLastModified, sectionLastModified.getTime());
+        }
+
+        profileDao.updateLastModifiedDateAndIndexingStatus(orcid, IndexingStatus.PENDING, EnumSet.of(RecordSection.WORKS));
+        long updated = profileDao.retrieveLastModifiedDate(orcid).getTime();
+        assertTrue(updated > recordLastModified);
+        assertEquals(IndexingStatus.PENDING, profileDao.retrieveIndexingStatus(orcid));
+        sections = profileDao.retrieveSectionsLastModifiedDates(orcid);
+        assertEquals(updated, sections.get(RecordSection.WORKS).getTime());
+        assertEquals(recordLastModified, sections.get(RecordSection.FUNDINGS).getTime());
+        assertEquals(recordLastModified, sections.get(RecordSection.PERSON).getTime());
+
+        profileDao.updateLastModifiedDateAndIndexingStatus(orcid, IndexingStatus.PENDING);
+        updated = profileDao.retrieveLastModifiedDate(orcid).getTime();
+        for (Date sectionLastModified : profileDao.retrieveSectionsLastModifiedDates(orcid).values()) {
+            assertEquals(updated, sectionLastModified.getTime());
+        }
+
+        // Updates that don't maintain the sections, like those of nodes
+        // running an older release, make every section as recent as the record
+        profileDao.updateLastModifiedDateAndIndexingStatus(orcid, IndexingStatus.PENDING, EnumSet.of(RecordSection.WORKS));
+        updated = profileDao.retrieveLastModifiedDate(orcid).getTime() + 1000;
+        profileDao.updateLastModifiedDateAndIndexingStatusWithoutResult(orcid, new Date(updated), IndexingStatus.PENDING);
+        for (Date sectionLastModified : profileDao.retrieveSectionsLastModifiedDates(orcid).values()) {
+            assertEquals(updated, sectionLastModified.getTime());
+        }
+        profileDao.updateLastModifiedDateAndIndexingStatus(orcid, IndexingStatus.PENDING, EnumSet.of(RecordSection.PERSON));
+        sections = profileDao.retrieveSectionsLastModifiedDates(orcid);
+        assertEquals(updated, sections.get(RecordSection.WORKS).getTime());
+        assertEquals(updated, sections.get(RecordSection.FUNDINGS).getTime());
+        assertEquals(profileDao.retrieveLastModifiedDate(orcid).getTime(), sections.get(RecordSection.PERSON).getTime());
+
+        assertTrue(profileDao.retrieveSectionsLastModifiedDates("0000-0000-0000-0000").isEmpty());
+    }
+
+    @Test
+    public void testUpdateIndexingStatusInBulk() {
+        List<String> orcids = Arrays.asList("4444-4444-4444-4445", "4444-4444-4444-4446");
+        profileDao.updateIndexingStatus(orcids, IndexingStatus.DONE);
+        for (String orcid : orcids) {
+            assertEquals(IndexingStatus.DONE, profileDao.retrieveIndexingStatus(orcid));
+        }
+        assertTrue(profileDao.findLastModifiedByIndexingStatus(IndexingStatus.PENDING, 10, 0).isEmpty());
+        profileDao.updateIndexingStatus(orcids, IndexingStatus.PENDING);
+    }
+
+    @Test
+    public void testUpdateIndexingStatusToDoneIfUnchanged() {
+        List<Pair<String, Date>> records = profileDao.findLastModifiedByIndexingStatus(IndexingStatus.PENDING, 10, 0);
+        assertEquals(2, records.size());
+        Pair<String, Date> modified = records.get(0);
+        Pair<String, Date> unchanged = records.get(1);
+
+        // Modified after it was read
+        profileDao.updateLastModifiedDateAndIndexingStatusWithoutResult(modified.getLeft(), new Date(modified.getRight().getTime() + 1000), IndexingStatus.PENDING);
+        profileDao.updateIndexingStatusToDoneIfUnchanged(records, IndexingStatus.PENDING);
+        assertEquals(IndexingStatus.PENDING, profileDao.retrieveIndexingStatus(modified.getLeft()));
+        assertEquals(IndexingStatus.DONE, profileDao.retrieveIndexingStatus(unchanged.getLeft()));
+
+        // Flagged again after it was read
+        profileDao.updateIndexingStatus(unchanged.getLeft(), IndexingStatus.REINDEX);
+        profileDao.updateIndexingStatusToDoneIfUnchanged(Arrays.asList(unchanged), IndexingStatus.PENDING);
+        assertEquals(IndexingStatus.REINDEX, profileDao.retrieveIndexingStatus(unchanged.getLeft()));
+
+        profileDao.updateLastModifiedDateAndIndexingStatusWithoutResult(modified.getLeft(), modified.getRight(), IndexingStatus.PENDING);
+        profileDao.updateIndexingStatus(unchanged.getLeft(), IndexingStatus.PENDING);
+    }
+
     @Test
     public void testFindUnclaimedNotIndexedAfterWaitPeriod() {
         List<String> resultsList = profileDao.findUnclaimedNotIndexedAfterWaitPeriod(1, 100000, 10, Collections.<String> emptyList());
@@ -0,0 +1,163 @@
+package org.orcid.persistence.jpa.entities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+public class MinimizedWorkEntityTest {
+
+    @Test
+    public void testSerializationKeepsAllFields() throws Exception {
+        MinimizedWorkEntity work = getMinimizedWork(1L);
+        MinimizedWorkEntity copy = (MinimizedWorkEntity) deserialize(serialize(work));
+
+        assertEquals(Long.valueOf(1L), copy.getId());
+        assertEquals("0000-0000-0000-0001", copy.getOrcid());
+        assertEquals("Title 1", copy.getTitle());
+        assertEquals("Translated title", copy.getTranslatedTitle());
+        assertEquals("Subtitle", copy.getSubtitle());
+        assertEquals("Descripción", copy.getDescription());
+        assertEquals("https://orcid.org", copy.getWorkUrl());
+        assertEquals("Journal", copy.getJournalTitle());
+        assertEquals("en", copy.getLanguageCode());
+        assertEquals("es", copy.getTranslatedTitleLanguageCode());
+        assertEquals("JOURNAL_ARTICLE", copy.getWorkType());
+        assertEquals("{\"workExternalIdentifier\":[]}", copy.getExternalIdentifiersJson());
+        assertEquals("PUBLIC", copy.getVisibility());
+        assertEquals(Long.valueOf(3L), copy.getDisplayIndex());
+        assertEquals("0000-0000-0000-0001", copy.getSourceId());
+        assertEquals("APP-0000000000000001", copy.getClientSourceId());
+        assertEquals("APP-0000000000000002", copy.getAssertionOriginClientSourceId());
+        assertEquals(work.getDateCreated(), copy.getDateCreated());
+        assertEquals(work.getLastModified(), copy.getLastModified());
+        assertEquals(Integer.valueOf(2019), copy.getPublicationYear());
+        assertEquals(Integer.valueOf(2), copy.getPublicationMonth());
+        assertNull(copy.getPublicationDay());
+    }
+
+    @Test
+    public void testSerializationWithNullFields() throws Exception {
+        MinimizedWorkEntity copy = (MinimizedWorkEntity) deserialize(serialize(new MinimizedWorkEntity()));
+        assertNull(copy.getId());
+        assertNull(copy.getTitle());
+        assertNull(copy.getPublicationDate());
+        assertNull(copy.getDisplayIndex());
+        assertNull(copy.getLastModified());
+    }
+
+    @Test
+    public void testSerializationKeepsEveryField() throws Exception {
+        MinimizedWorkEntity work = new MinimizedWorkEntity();
+        List<Field> fields = getSerializableFields(MinimizedWorkEntity.class);
+        int i = 0;
+        for (Field field : fields) {
+            field.set(work, getDistinctValue(field, i++));
+        }
+        MinimizedWorkEntity copy = (MinimizedWorkEntity) deserialize(serialize(work));
+        for (Field field : fields) {
+            Object expected = field.get(work);
+            Object actual = field.get(copy);
+            assertNotNull(field.getName(), actual);
+            if (expected instanceof FuzzyDateEntity) {
+                for (Field dateField : getSerializableFields(FuzzyDateEntity.class)) {
+                    assertEquals(field.getName() + "." + dateField.getName(), dateField.get(expected), dateField.get(actual));
+                }
+            } else {
+                assertEquals(field.getName(), expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedValuesAreShared() throws Exception {
+        MinimizedWorkEntity work = getMinimizedWork(1L);
+        work.setSourceId(new String(work.getOrcid()));
+        work.setTranslatedTitleLanguageCode(new String(work.getLanguageCode()));
+        MinimizedWorkEntity copy = (MinimizedWorkEntity) deserialize(serialize(work));
+        assertEquals("0000-0000-0000-0001", copy.getSourceId());
+        assertSame(copy.getOrcid(), copy.getSourceId());
+        assertSame(copy.getLanguageCode(), copy.getTranslatedTitleLanguageCode());
+    }
+
+    private MinimizedWorkEntity getMinimizedWork(Long id) {
+        MinimizedWorkEntity work = new MinimizedWorkEntity();
+        work.setId(id);
+        work.setOrcid("0000-0000-0000-0001");
+        work.setTitle("Title " + id);
+        work.setTranslatedTitle("Translated title");
+        work.setSubtitle("Subtitle");
+        work.setDescription("Descripción");
+        work.setWorkUrl("https://orcid.org");
+        work.setJournalTitle("Journal");
+        work.setLanguageCode("en");
+        work.setTranslatedTitleLanguageCode("es");
+        // Built at runtime, so the values are not already interned
+        work.setWorkType(new String("JOURNAL_ARTICLE"));
+        work.setExternalIdentifiersJson("{\"workExternalIdentifier\":[]}");
+        work.setVisibility(new String("PUBLIC"));
+        work.setDisplayIndex(3L);
+        work.setSourceId("0000-0000-0000-0001");
+        work.setClientSourceId(new String("APP-0000000000000001"));
+        work.setAssertionOriginClientSourceId("APP-0000000000000002");
+        work.setDateCreated(new Date(1000L));
+        work.setLastModified(new Date(2000L));
+        work.setPublicationDate(new PublicationDateEntity(2019, 2, null));
+        return work;
+    }
+
+    private List<Field> getSerializableFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private Object getDistinctValue(Field field, int i) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return field.getName() + " " + i;
+        } else if (type == Long.class) {
+            return Long.valueOf(1000L + i);
+        } else if (type == Date.class) {
+            return new Date(1000L * i);
+        } else if (type == PublicationDateEntity.class) {
+            return new PublicationDateEntity(2000 + i, 1 + i % 12, 1 + i % 28);
+        }
+        throw new IllegalStateException("Unexpected field " + field.getName() + " of type " + type.getName() + ", add it to CompactMinimizedWork");
+    }
+
+    private byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+}
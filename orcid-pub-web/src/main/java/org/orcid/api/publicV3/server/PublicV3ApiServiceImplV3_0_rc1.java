@@ -57,6 +57,7 @@ import static org.orcid.core.api.OrcidApiConstants.RESEARCH_RESOURCE_SUMMARY;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.DefaultValue;
@@ -67,10 +68,13 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.Providers;
 
 import org.orcid.api.common.swagger.SwaggerUIBuilder;
+import org.orcid.api.publicV3.server.cache.PublicV3ApiResponseCache;
 import org.orcid.api.publicV3.server.delegator.PublicV3ApiServiceDelegator;
 import org.orcid.core.api.OrcidApiConstants;
 import org.orcid.jaxb.model.groupid_rc1.GroupIdRecord;
@@ -142,12 +146,24 @@ public class PublicV3ApiServiceImplV3_0_rc1 {
     
     @Context
     private HttpServletRequest httpRequest;
+    
+    @Context
+    private Request request;
+    
+    @Context
+    private Providers providers;
+    
+    protected PublicV3ApiResponseCache responseCache;
 
     public void setServiceDelegator(
             PublicV3ApiServiceDelegator<Distinction, Education, Employment, PersonExternalIdentifier, InvitedPosition, Funding, GroupIdRecord, Membership, OtherName, PeerReview, Qualification, ResearcherUrl, Service, Work> serviceDelegator) {
         this.serviceDelegator = serviceDelegator;
     }
 
+    public void setResponseCache(PublicV3ApiResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
     /**
      * Serves the Swagger UI HTML page
      * 
@@ -182,7 +198,7 @@ public class PublicV3ApiServiceImplV3_0_rc1 {
     @Path(ACTIVITIES)
     @ApiOperation( nickname="viewActivitiesV3Rc1", value = "Fetch all Activities", response = ActivitiesSummary.class)
     public Response viewActivities(@PathParam("orcid") String orcid, @Context HttpServletRequest httpRequest) {
-        return serviceDelegator.viewActivities(orcid);
+        return getCachedResponse("activities", orcid, () -> serviceDelegator.viewActivities(orcid));
     }
 
     @GET
@@ -209,7 +225,7 @@ public class PublicV3ApiServiceImplV3_0_rc1 {
     @Path(WORKS)
     @ApiOperation( nickname="viewWorksV3Rc1", value = "Fetch all works", response = Works.class)
     public Response viewWorks(@PathParam("orcid") String orcid) {
-        return serviceDelegator.viewWorks(orcid);
+        return getCachedResponse("works", orcid, () -> serviceDelegator.viewWorks(orcid));
     }
     
     @GET
@@ -438,7 +454,7 @@ public class PublicV3ApiServiceImplV3_0_rc1 {
     @ApiOperation( nickname="viewRecordV3Rc1", value = "Fetch record details", response = Record.class)
     @ExternalDocs(value = "Record XML Schema", url = "https://raw.githubusercontent.com/ORCID/orcid-model/master/src/main/resources/record_2.0/record-2.0.xsd")
     public Response viewRecord(@PathParam("orcid") String orcid) {
-        return serviceDelegator.viewRecord(orcid);
+        return getCachedResponse("record", orcid, () -> serviceDelegator.viewRecord(orcid));
     }
     
     //Record 
@@ -448,7 +464,7 @@ public class PublicV3ApiServiceImplV3_0_rc1 {
     @ApiOperation( nickname="viewRecordRecordV3Rc1", value = "Fetch record details2", response = Record.class, hidden=true)
     @ExternalDocs(value = "Record XML Schema", url = "https://raw.githubusercontent.com/ORCID/orcid-model/master/src/main/resources/record_2.0/record-2.0.xsd")
     public Response viewRecordRecord(@PathParam("orcid") String orcid) {
-        return serviceDelegator.viewRecord(orcid);
+        return getCachedResponse("record", orcid, () -> serviceDelegator.viewRecord(orcid));
     }
     
     @GET
@@ -651,4 +667,10 @@ public class PublicV3ApiServiceImplV3_0_rc1 {
         return serviceDelegator.viewResearchResourceSummary(orcid, Long.valueOf(putCode));
     }
     
+    private Response getCachedResponse(String section, String orcid, Supplier<Response> responseSupplier) {
+        if (responseCache == null) {
+            return responseSupplier.get();
+        }
+        return responseCache.getResponse("3.0_rc1", section, orcid, request, httpRequest, providers, responseSupplier);
+    }
 }
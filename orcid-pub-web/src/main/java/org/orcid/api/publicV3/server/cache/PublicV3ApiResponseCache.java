@@ -0,0 +1,293 @@
+package org.orcid.api.publicV3.server.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.Variant;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import org.apache.commons.io.IOUtils;
+import org.orcid.core.api.OrcidApiConstants;
+import org.orcid.core.exception.DeactivatedException;
+import org.orcid.core.manager.v3.OrcidSecurityManager;
+import org.orcid.core.manager.v3.read_only.ProfileEntityManagerReadOnly;
+import org.orcid.persistence.jpa.entities.RecordSection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.sun.jersey.core.header.OutBoundHeaders;
+
+/**
+ * Cache of the serialized public V3 API responses that cover a whole record
+ * section, like the record itself, the activities or the works.
+ *
+ * Those responses only depend on the record, its last modified date, the API
+ * version and the media type, so they are kept already serialized, and
+ * compressed when large, along with the last modified date they were built
+ * from. Responses made of a single section that keeps its own last modified
+ * date, like the works, use that date instead. Compressed responses are sent
+ * as they are stored to clients that accept gzip. The cache is bounded by the
+ * size of the stored responses.
+ *
+ * Responses carry a weak ETag made of a hash of their content. Changes that
+ * don't touch the record last modified date, like a client or source name,
+ * show up once the cached response expires and is built again, so conditional
+ * requests are only evaluated against the ETag, and answered with a 304
+ * without building or serializing anything while the cached response is
+ * still current.
+ *
+ * The record status is still checked on every request, so deprecated, locked
+ * and not yet claimed records are reported as before.
+ */
+public class PublicV3ApiResponseCache implements InitializingBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublicV3ApiResponseCache.class);
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private static final String GZIP = "gzip";
+
+    private static final String JSONP_CALLBACK = "callback";
+
+    private static final MediaType JSON_LD = MediaType.valueOf(OrcidApiConstants.JSON_LD);
+
+    // Same order as the @Produces of the resources, so the same media type is
+    // negotiated. JSON-LD responses are never cached
+    private static final List<Variant> VARIANTS = Variant.mediaTypes(MediaType.valueOf(OrcidApiConstants.VND_ORCID_XML), MediaType.valueOf(OrcidApiConstants.ORCID_XML),
+            MediaType.APPLICATION_XML_TYPE, MediaType.valueOf(OrcidApiConstants.VND_ORCID_JSON), MediaType.valueOf(OrcidApiConstants.ORCID_JSON),
+            MediaType.APPLICATION_JSON_TYPE, JSON_LD).add().build();
+
+    // Responses that only contain a section of the record with its own last
+    // modified date
+    private static final Map<String, RecordSection> RECORD_SECTIONS = Collections.singletonMap("works", RecordSection.WORKS);
+
+    @Resource(name = "orcidSecurityManagerV3")
+    private OrcidSecurityManager orcidSecurityManager;
+
+    @Resource(name = "profileEntityManagerReadOnlyV3")
+    private ProfileEntityManagerReadOnly profileEntityManagerReadOnly;
+
+    private boolean enabled = true;
+
+    private int maxMegaBytes = 128;
+
+    private int timeToLiveSeconds = 600;
+
+    private int compressionThreshold = 8192;
+
+    private Cache<String, CachedResponse> cache;
+
+    public void setOrcidSecurityManager(OrcidSecurityManager orcidSecurityManager) {
+        this.orcidSecurityManager = orcidSecurityManager;
+    }
+
+    public void setProfileEntityManagerReadOnly(ProfileEntityManagerReadOnly profileEntityManagerReadOnly) {
+        this.profileEntityManagerReadOnly = profileEntityManagerReadOnly;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setMaxMegaBytes(int maxMegaBytes) {
+        this.maxMegaBytes = maxMegaBytes;
+    }
+
+    public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        cache = CacheBuilder.newBuilder().maximumWeight(maxMegaBytes * 1024L * 1024L).weigher((String key, CachedResponse value) -> key.length() * 2 + value.data.length)
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * @param version
+     *            the API version the response is built for
+     * @param section
+     *            the name of the record section the response contains
+     * @param orcid
+     *            the record the response is built from
+     * @param httpRequest
+     *            the request, to know if the client accepts gzip
+     * @param responseSupplier
+     *            builds the response when it is not cached, or can't be
+     * @return a 304 response if the client already has the current response,
+     *         the serialized response otherwise
+     */
+    public Response getResponse(String version, String section, String orcid, Request request, HttpServletRequest httpRequest, Providers providers,
+            Supplier<Response> responseSupplier) {
+        if (!enabled) {
+            return responseSupplier.get();
+        }
+        Variant variant = request.selectVariant(VARIANTS);
+        if (variant == null || JSON_LD.equals(variant.getMediaType())) {
+            return responseSupplier.get();
+        }
+        checkProfileStatus(orcid);
+        RecordSection recordSection = RECORD_SECTIONS.get(section);
+        Date lastModified = recordSection == null ? profileEntityManagerReadOnly.getLastModifiedDate(orcid)
+                : profileEntityManagerReadOnly.getLastModifiedDate(orcid, recordSection);
+        if (lastModified == null) {
+            return responseSupplier.get();
+        }
+
+        // Without the quality source parameter
+        MediaType mediaType = new MediaType(variant.getMediaType().getType(), variant.getMediaType().getSubtype());
+        String key = orcid + '/' + version + '/' + section + '/' + mediaType;
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached == null || cached.lastModified != lastModified.getTime()) {
+            Response response = responseSupplier.get();
+            byte[] body = serialize(response, mediaType, providers);
+            if (body == null) {
+                return response;
+            }
+            cached = new CachedResponse(lastModified.getTime(), getEntityTag(version, section, body), body, body.length >= compressionThreshold);
+            cache.put(key, cached);
+        }
+
+        ResponseBuilder notModified = request.evaluatePreconditions(cached.entityTag);
+        if (notModified != null) {
+            return addCacheHeaders(notModified, cached.entityTag, lastModified).build();
+        }
+        ResponseBuilder builder;
+        if (cached.compressed && acceptsGzip(httpRequest)) {
+            builder = Response.ok(cached.data, mediaType).header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        } else {
+            builder = Response.ok(cached.getBody(), mediaType);
+        }
+        return addCacheHeaders(builder, cached.entityTag, lastModified).build();
+    }
+
+    private void checkProfileStatus(String orcid) {
+        try {
+            orcidSecurityManager.checkProfile(orcid);
+        } catch (DeactivatedException e) {
+            // Ignore the DeactivatedException since we should be able to return the empty element
+        }
+    }
+
+    /**
+     * Weak, since the same response is sent either compressed or not
+     */
+    private EntityTag getEntityTag(String version, String section, byte[] body) {
+        return new EntityTag(version + '-' + section + '-' + Hashing.murmur3_128().hashBytes(body), true);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest httpRequest) {
+        // The JSONP callback filter wraps the body as it is written
+        if (httpRequest == null || httpRequest.getParameter(JSONP_CALLBACK) != null) {
+            return false;
+        }
+        String acceptEncoding = httpRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private ResponseBuilder addCacheHeaders(ResponseBuilder builder, EntityTag entityTag, Date lastModified) {
+        return builder.tag(entityTag).lastModified(lastModified).header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private byte[] serialize(Response response, MediaType mediaType, Providers providers) {
+        Object entity = response.getEntity();
+        if (response.getStatus() != Status.OK.getStatusCode() || entity == null || !response.getMetadata().isEmpty()) {
+            return null;
+        }
+        Class<?> type = entity.getClass();
+        MessageBodyWriter writer = providers.getMessageBodyWriter(type, type, NO_ANNOTATIONS, mediaType);
+        if (writer == null) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writer.writeTo(entity, type, type, NO_ANNOTATIONS, mediaType, new OutBoundHeaders(), out);
+        } catch (IOException e) {
+            // Let the response be written the usual way
+            LOG.warn("Unable to serialize the {} response", type.getSimpleName(), e);
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    private static final class CachedResponse {
+
+        private final long lastModified;
+
+        private final EntityTag entityTag;
+
+        private final byte[] data;
+
+        private final boolean compressed;
+
+        CachedResponse(long lastModified, EntityTag entityTag, byte[] body, boolean compress) {
+            this.lastModified = lastModified;
+            this.entityTag = entityTag;
+            this.compressed = compress;
+            this.data = compress ? compress(body) : body;
+        }
+
+        byte[] getBody() {
+            if (!compressed) {
+                return data;
+            }
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+                return IOUtils.toByteArray(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static byte[] compress(byte[] body) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4);
+            try (OutputStream out = new GZIPOutputStream(bytes)) {
+                out.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+package org.orcid.api.publicV3.server.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Variant;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.orcid.core.api.OrcidApiConstants;
+import org.orcid.core.manager.v3.OrcidSecurityManager;
+import org.orcid.core.manager.v3.read_only.ProfileEntityManagerReadOnly;
+import org.orcid.core.security.aop.LockedException;
+import org.orcid.persistence.jpa.entities.RecordSection;
+
+public class PublicV3ApiResponseCacheTest {
+
+    private static final String ORCID = "0000-0000-0000-0001";
+
+    @Mock
+    private OrcidSecurityManager orcidSecurityManager;
+
+    @Mock
+    private ProfileEntityManagerReadOnly profileEntityManagerReadOnly;
+
+    @Mock
+    private Request request;
+
+    @Mock
+    private HttpServletRequest httpRequest;
+
+    @Mock
+    private Providers providers;
+
+    private PublicV3ApiResponseCache responseCache;
+
+    private AtomicInteger built = new AtomicInteger();
+
+    @Before
+    public void before() {
+        MockitoAnnotations.initMocks(this);
+        responseCache = new PublicV3ApiResponseCache();
+        responseCache.setOrcidSecurityManager(orcidSecurityManager);
+        responseCache.setProfileEntityManagerReadOnly(profileEntityManagerReadOnly);
+        responseCache.setCompressionThreshold(10);
+        responseCache.afterPropertiesSet();
+
+        Mockito.when(profileEntityManagerReadOnly.getLastModifiedDate(ORCID)).thenReturn(new Date(1000L));
+        Mockito.when(profileEntityManagerReadOnly.getLastModifiedDate(ORCID, RecordSection.WORKS)).thenReturn(new Date(500L));
+        selectMediaType(OrcidApiConstants.VND_ORCID_XML);
+        Mockito.when(providers.getMessageBodyWriter(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(new ToStringWriter());
+    }
+
+    @Test
+    public void testResponseIsCachedUntilTheRecordChanges() {
+        Response response = getResponse("record");
+        assertEquals(200, response.getStatus());
+        assertArrayEquals("record 1".getBytes(StandardCharsets.UTF_8), (byte[]) response.getEntity());
+        assertEquals(MediaType.valueOf("application/vnd.orcid+xml"), response.getMetadata().getFirst(HttpHeaders.CONTENT_TYPE));
+        assertNotNull(response.getMetadata().getFirst(HttpHeaders.ETAG));
+        assertNotNull(response.getMetadata().getFirst(HttpHeaders.LAST_MODIFIED));
+
+        response = getResponse("record");
+        assertArrayEquals("record 1".getBytes(StandardCharsets.UTF_8), (byte[]) response.getEntity());
+        assertEquals(1, built.get());
+
+        Mockito.when(profileEntityManagerReadOnly.getLastModifiedDate(ORCID)).thenReturn(new Date(2000L));
+        response = getResponse("record");
+        assertArrayEquals("record 2".getBytes(StandardCharsets.UTF_8), (byte[]) response.getEntity());
+        assertEquals(2, built.get());
+    }
+
+    @Test
+    public void testWorksResponseIsCachedUntilTheWorksChange() {
+        Response response = getResponse("works");
+        assertEquals(new Date(500L), response.getMetadata().getFirst(HttpHeaders.LAST_MODIFIED));
+
+        Mockito.when(profileEntityManagerReadOnly.getLastModifiedDate(ORCID)).thenReturn(new Date(2000L));
+        getResponse("works");
+        assertEquals(1, built.get());
+
+        Mockito.when(profileEntityManagerReadOnly.getLastModifiedDate(ORCID, RecordSection.WORKS)).thenReturn(new Date(2000L));
+        response = getResponse("works");
+        assertArrayEquals("record 2".getBytes(StandardCharsets.UTF_8), (byte[]) response.getEntity());
+        assertEquals(2, built.get());
+    }
+
+    @Test
+    public void testResponsesAreCachedPerSectionVersionAndMediaType() {
+        getResponse("record");
+        getResponse("works");
+        responseCache.getResponse("3.0_rc2", "record", ORCID, request, httpRequest, providers, this::buildResponse);
+        selectMediaType(OrcidApiConstants.VND_ORCID_JSON);
+        EntityTag jsonTag = (EntityTag) getResponse("record").getMetadata().getFirst(HttpHeaders.ETAG);
+        assertEquals(4, built.get());
+
+        selectMediaType(OrcidApiConstants.VND_ORCID_XML);
+        EntityTag xmlTag = (EntityTag) getResponse("record").getMetadata().getFirst(HttpHeaders.ETAG);
+        assertEquals(4, built.get());
+        assertNotEquals(jsonTag, xmlTag);
+    }
+
+    @Test
+    public void testConditionalRequestIsAnsweredWithoutBuildingTheResponse() {
+        EntityTag entityTag = (EntityTag) getResponse("record").getMetadata().getFirst(HttpHeaders.ETAG);
+        assertTrue(entityTag.isWeak());
+
+        Mockito.when(request.evaluatePreconditions(Mockito.any(EntityTag.class))).thenReturn(Response.notModified());
+        Response response = getResponse("record");
+        assertEquals(304, response.getStatus());
+        assertEquals(entityTag, response.getMetadata().getFirst(HttpHeaders.ETAG));
+        assertEquals(1, built.get());
+
+        ArgumentCaptor<EntityTag> evaluated = ArgumentCaptor.forClass(EntityTag.class);
+        Mockito.verify(request, Mockito.times(2)).evaluatePreconditions(evaluated.capture());
+        assertEquals(entityTag, evaluated.getValue());
+        Mockito.verify(request, Mockito.never()).evaluatePreconditions(Mockito.any(Date.class), Mockito.any(EntityTag.class));
+    }
+
+    @Test
+    public void testEntityTagFollowsTheContent() {
+        EntityTag first = (EntityTag) getResponse("record").getMetadata().getFirst(HttpHeaders.ETAG);
+        Mockito.when(profileEntityManagerReadOnly.getLastModifiedDate(ORCID)).thenReturn(new Date(2000L));
+        EntityTag second = (EntityTag) getResponse("record").getMetadata().getFirst(HttpHeaders.ETAG);
+        assertNotEquals(first, second);
+
+        // Same content, so the same tag, whatever the last modified date
+        built.set(0);
+        Mockito.when(profileEntityManagerReadOnly.getLastModifiedDate(ORCID)).thenReturn(new Date(3000L));
+        assertEquals(first, getResponse("record").getMetadata().getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testCompressedResponseIsSentAsStoredWhenGzipIsAccepted() throws IOException {
+        responseCache.setCompressionThreshold(1);
+        responseCache.afterPropertiesSet();
+        Mockito.when(httpRequest.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn("deflate, gzip;q=0.8");
+        Response response = getResponse("record");
+        assertEquals("gzip", response.getMetadata().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getEntity()))) {
+            assertArrayEquals("record 1".getBytes(StandardCharsets.UTF_8), IOUtils.toByteArray(in));
+        }
+
+        Mockito.when(httpRequest.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn("gzip;q=0");
+        response = getResponse("record");
+        assertNull(response.getMetadata().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals("record 1".getBytes(StandardCharsets.UTF_8), (byte[]) response.getEntity());
+
+        // JSONP responses are wrapped by a filter
+        Mockito.when(httpRequest.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn("gzip");
+        Mockito.when(httpRequest.getParameter("callback")).thenReturn("callback");
+        response = getResponse("record");
+        assertNull(response.getMetadata().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(1, built.get());
+    }
+
+    @Test
+    public void testProfileIsCheckedOnEveryRequest() {
+        getResponse("record");
+        Mockito.doThrow(new LockedException()).when(orcidSecurityManager).checkProfile(ORCID);
+        try {
+            getResponse("record");
+            fail();
+        } catch (LockedException e) {
+            // Even if the response is cached
+        }
+        Mockito.verify(orcidSecurityManager, Mockito.times(2)).checkProfile(ORCID);
+    }
+
+    @Test
+    public void testJsonLdIsNotCached() {
+        selectMediaType(OrcidApiConstants.JSON_LD);
+        Response response = getResponse("record");
+        assertEquals("record 1", response.getEntity().toString());
+        getResponse("record");
+        assertEquals(2, built.get());
+        Mockito.verify(profileEntityManagerReadOnly, Mockito.never()).getLastModifiedDate(ORCID);
+    }
+
+    @Test
+    public void testErrorsAreNotCached() {
+        Response error = Response.status(Response.Status.NOT_FOUND).build();
+        assertSame(error, responseCache.getResponse("3.0", "record", ORCID, request, httpRequest, providers, () -> {
+            built.incrementAndGet();
+            return error;
+        }));
+        getResponse("record");
+        assertEquals(2, built.get());
+    }
+
+    @Test
+    public void testDisabled() {
+        responseCache.setEnabled(false);
+        Response response = getResponse("record");
+        assertEquals("record 1", response.getEntity().toString());
+        Mockito.verify(request, Mockito.never()).selectVariant(Mockito.any());
+    }
+
+    private Response getResponse(String section) {
+        return responseCache.getResponse("3.0", section, ORCID, request, httpRequest, providers, this::buildResponse);
+    }
+
+    private Response buildResponse() {
+        return Response.ok(new StringBuilder("record ").append(built.incrementAndGet())).build();
+    }
+
+    private void selectMediaType(String mediaType) {
+        Mockito.when(request.selectVariant(Mockito.any())).thenReturn(new Variant(MediaType.valueOf(mediaType), (Locale) null, null));
+    }
+
+    private static class ToStringWriter implements MessageBodyWriter<Object> {
+
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return true;
+        }
+
+        @Override
+        public long getSize(Object t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(Object t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                OutputStream entityStream) throws IOException {
+            entityStream.write(t.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+}
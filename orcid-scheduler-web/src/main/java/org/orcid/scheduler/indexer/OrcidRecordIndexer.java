@@ -14,4 +14,11 @@ public interface OrcidRecordIndexer {
     void reindexRecordsOnSolr();
     
     void reindexV3RecordsOnS3();
+
+    /**
+     * Refreshes and logs the number of records waiting to be indexed and the
+     * age of the oldest one for each indexing status, which are also exported
+     * as JMX attributes
+     */
+    void logIndexingQueueLag();
 }
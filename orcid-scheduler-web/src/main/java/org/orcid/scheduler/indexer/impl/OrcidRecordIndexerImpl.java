@@ -1,13 +1,24 @@
 package org.orcid.scheduler.indexer.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.orcid.core.manager.SlackManager;
 import org.orcid.core.manager.v3.NotificationManager;
 import org.orcid.core.manager.v3.ProfileEntityManager;
@@ -21,14 +32,31 @@ import org.orcid.utils.listener.LastModifiedMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallbackWithoutResult;
 import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * The indexing statuses are split between the scheduler nodes, see
+ * {@link #processProfilesWithFlagAndAddToMessageQueue(IndexingStatus)}. The
+ * unclaimed profile tasks only run on node 0, so reminders aren't sent once
+ * per node.
+ * 
+ * The indexing queue lag is exported through JMX, as refreshed by
+ * {@link #logIndexingQueueLag()}.
+ */
+@ManagedResource(objectName = "org.orcid.scheduler:name=orcidRecordIndexer", description = "Records waiting to be indexed")
 public class OrcidRecordIndexerImpl implements OrcidRecordIndexer {
 
     protected static final Logger LOG = LoggerFactory.getLogger(OrcidRecordIndexerImpl.class);
 
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+
+    private static final long RECENT_FIRST_MILLIS = 60 * 60 * 1000L;
+
     @Value("${org.orcid.persistence.messaging.indexing.batch.size:100}")
     private int INDEXING_BATCH_SIZE;
 
@@ -81,7 +109,34 @@ public class OrcidRecordIndexerImpl implements OrcidRecordIndexer {
     @Value("${org.orcid.indexer.slack.notification.interval:10}")
     private Integer slackIntervalMinutes;
     
-    private Date lastSlackNotification;
+    private volatile Date lastSlackNotification;
+
+    // Workers processing each indexing status on this node
+    @Value("${org.orcid.scheduler.indexer.workers:1}")
+    private int workers = 1;
+
+    // Scheduler nodes sharing the indexing, all of them must have the same
+    // number of workers
+    @Value("${org.orcid.scheduler.indexer.nodes:1}")
+    private int nodes = 1;
+
+    // Index of this node, from 0 to nodes - 1
+    @Value("${org.orcid.scheduler.indexer.node:0}")
+    private int node = 0;
+
+    private final ExecutorService workerPool = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "orcid-record-indexer-" + WORKER_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Last indexing queue summary, by status
+    private volatile Map<IndexingStatus, Triple<IndexingStatus, Long, Date>> indexingQueue = new EnumMap<>(IndexingStatus.class);
+
+    @PreDestroy
+    public void destroy() {
+        workerPool.shutdownNow();
+    }
 
     public void setClaimWaitPeriodDays(int claimWaitPeriodDays) {
         this.claimWaitPeriodDays = claimWaitPeriodDays;
@@ -114,6 +169,9 @@ public class OrcidRecordIndexerImpl implements OrcidRecordIndexer {
     
     @Override
     synchronized public void processUnclaimedProfilesToFlagForIndexing() {
+        if (node != 0) {
+            return;
+        }
         LOG.info("About to process unclaimed profiles to flag for indexing");
         List<String> orcidsToFlag = Collections.<String> emptyList();
         do {
@@ -128,6 +186,9 @@ public class OrcidRecordIndexerImpl implements OrcidRecordIndexer {
     
     @Override
     synchronized public void processUnclaimedProfilesForReminder() {
+        if (node != 0) {
+            return;
+        }
         LOG.info("About to process unclaimed profiles for reminder");
         List<String> orcidsToRemind = Collections.<String> emptyList();
         do {
@@ -139,25 +200,129 @@ public class OrcidRecordIndexerImpl implements OrcidRecordIndexer {
         } while (!orcidsToRemind.isEmpty());
     }
 
+    @Override
+    public void logIndexingQueueLag() {
+        List<Triple<IndexingStatus, Long, Date>> summary = profileDaoReadOnly.getIndexingQueueSummary();
+        Map<IndexingStatus, Triple<IndexingStatus, Long, Date>> byStatus = new EnumMap<>(IndexingStatus.class);
+        for (Triple<IndexingStatus, Long, Date> entry : summary) {
+            byStatus.put(entry.getLeft(), entry);
+        }
+        indexingQueue = byStatus;
+        for (Triple<IndexingStatus, Long, Date> entry : summary) {
+            LOG.info("Indexing queue {}: depth={} oldestAgeSeconds={}", entry.getLeft(), entry.getMiddle(), getOldestAgeSeconds(entry.getLeft()));
+        }
+    }
+
+    @ManagedAttribute(description = "Records waiting with the PENDING status")
+    public long getPendingQueueDepth() {
+        return getQueueDepth(IndexingStatus.PENDING);
+    }
+
+    @ManagedAttribute(description = "Seconds since the oldest record with the PENDING status was modified")
+    public long getPendingOldestAgeSeconds() {
+        return getOldestAgeSeconds(IndexingStatus.PENDING);
+    }
+
+    @ManagedAttribute(description = "Records waiting with the REINDEX status")
+    public long getReindexQueueDepth() {
+        return getQueueDepth(IndexingStatus.REINDEX);
+    }
+
+    @ManagedAttribute(description = "Seconds since the oldest record with the REINDEX status was modified")
+    public long getReindexOldestAgeSeconds() {
+        return getOldestAgeSeconds(IndexingStatus.REINDEX);
+    }
+
+    @ManagedOperation(description = "Records waiting with the given indexing status")
+    public long getQueueDepth(String status) {
+        return getQueueDepth(IndexingStatus.valueOf(status));
+    }
+
+    @ManagedOperation(description = "Seconds since the oldest record with the given indexing status was modified")
+    public long getOldestAgeSeconds(String status) {
+        return getOldestAgeSeconds(IndexingStatus.valueOf(status));
+    }
+
+    private long getQueueDepth(IndexingStatus status) {
+        Triple<IndexingStatus, Long, Date> entry = indexingQueue.get(status);
+        return entry == null ? 0 : entry.getMiddle();
+    }
+
+    private long getOldestAgeSeconds(IndexingStatus status) {
+        Triple<IndexingStatus, Long, Date> entry = indexingQueue.get(status);
+        if (entry == null || entry.getRight() == null) {
+            return 0;
+        }
+        return Math.max(0, (System.currentTimeMillis() - entry.getRight().getTime()) / 1000);
+    }
+
+    /**
+     * Splits the records with the given status into workers * nodes shards
+     * and processes the shards owned by this node in parallel, one worker per
+     * shard
+     */
     private void processProfilesWithFlagAndAddToMessageQueue(IndexingStatus status) {
-        LOG.info("processing profiles with " + status.name() + " flag.");
-        List<Pair<String, IndexingStatus>> orcidsForIndexing = new ArrayList<>();
+        int workersPerNode = Math.max(1, workers);
+        int shardCount = workersPerNode * Math.max(1, nodes);
+        if (shardCount == 1) {
+            processProfilesWithFlagAndAddToMessageQueue(status, 0, 1);
+            return;
+        }
+        List<Future<?>> running = new ArrayList<>(workersPerNode);
+        for (int i = 0; i < workersPerNode; i++) {
+            int shard = node * workersPerNode + i;
+            running.add(workerPool.submit(() -> processProfilesWithFlagAndAddToMessageQueue(status, shard, shardCount)));
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                LOG.error("Error processing profiles with " + status.name() + " flag", e.getCause());
+            }
+        }
+    }
+
+    private void processProfilesWithFlagAndAddToMessageQueue(IndexingStatus status, int shard, int shardCount) {
+        LOG.info("processing profiles with " + status.name() + " flag, shard " + shard + " of " + shardCount);
+        // Records modified in the last hour go first, their owners are the
+        // ones waiting to see the change. Both passes read the index in
+        // order, the first one starting at the hour boundary and the second
+        // one stopping there.
+        Date recent = new Date(System.currentTimeMillis() - RECENT_FIRST_MILLIS);
+        if (processProfilesWithFlagAndAddToMessageQueue(status, shard, shardCount, Pair.of("", recent), null)) {
+            processProfilesWithFlagAndAddToMessageQueue(status, shard, shardCount, null, recent);
+        }
+    }
+
+    /**
+     * @param after
+     *            the record to start after, or null to start from the oldest
+     * @param until
+     *            the last modified date to stop at, or null to go to the end
+     * @return false if the messages couldn't be sent
+     */
+    private boolean processProfilesWithFlagAndAddToMessageQueue(IndexingStatus status, int shard, int shardCount, Pair<String, Date> after, Date until) {
+        List<Pair<String, Date>> orcidsForIndexing = new ArrayList<>();
         boolean connectionIssue = false;
-        String solrQueue = (IndexingStatus.REINDEX.equals(status) ? reindexSolrQueueName : updateSolrQueueName);
-        String v2SummaryQueue = (IndexingStatus.REINDEX.equals(status) ? reindexSummaryQueueName : updateSummaryQueueName);
-        String v2ActivitiesQueue = (IndexingStatus.REINDEX.equals(status) ? reindexActivitiesQueueName : updateActivitiesQueueName);
-        String v3Queue = (IndexingStatus.REINDEX.equals(status) ? reindexV3RecordQueueName : updateV3RecordQueueName);
+        boolean reachedUntil = false;
+        List<String> queues = getQueues(status);
+        // Keyset pagination: each batch starts after the last record of the
+        // previous one, so records skipped by the delay aren't read again
         do {
             
             try {
                 if (IndexingStatus.REINDEX.equals(status) || IndexingStatus.S3_V3_REINDEX.equals(status)) {
-                    orcidsForIndexing = profileDaoReadOnly.findOrcidsByIndexingStatus(status, INDEXING_BATCH_SIZE, 0);
+                    orcidsForIndexing = profileDaoReadOnly.findLastModifiedByIndexingStatus(status, INDEXING_BATCH_SIZE, 0, after, shard, shardCount);
                 } else {
-                    orcidsForIndexing = profileDaoReadOnly.findOrcidsByIndexingStatus(status, INDEXING_BATCH_SIZE, indexingDelay);
+                    orcidsForIndexing = profileDaoReadOnly.findLastModifiedByIndexingStatus(status, INDEXING_BATCH_SIZE, indexingDelay, after, shard, shardCount);
                 }
                 lastSlackNotification = null;
             } catch(Exception e) {
                 LOG.error("Exception fetching records to index", e);
+                orcidsForIndexing = Collections.emptyList();
                 // Send a slack notification every 'slackIntervalMinutes' minutes
                 if(lastSlackNotification == null || System.currentTimeMillis() > (lastSlackNotification.getTime() + (slackIntervalMinutes * 60 * 1000))) {
                     String message = String.format("Unable to fetch records with indexing status: %s, this causes that SOLR and S3 might be falling behind. For troubleshooting please refere to https://github.com/ORCID/ORCID-Internal/wiki/Problems-with-record-indexing-in-the-scheduler", status);                
@@ -166,72 +331,51 @@ public class OrcidRecordIndexerImpl implements OrcidRecordIndexer {
                 }                
             }
             LOG.info("processing batch of " + orcidsForIndexing.size());
+            if (orcidsForIndexing.isEmpty()) {
+                break;
+            }
+            after = orcidsForIndexing.get(orcidsForIndexing.size() - 1);
+            if (until != null && !after.getRight().before(until)) {
+                reachedUntil = true;
+                orcidsForIndexing = orcidsForIndexing.stream().filter(p -> p.getRight().before(until)).collect(Collectors.toList());
+                if (orcidsForIndexing.isEmpty()) {
+                    break;
+                }
+            }
 
-            for (Pair<String, IndexingStatus> p : orcidsForIndexing) {
-                String orcid = p.getLeft();
-
-                Date last = profileDaoReadOnly.retrieveLastModifiedDate(orcid);
-                LastModifiedMessage mess = new LastModifiedMessage(orcid, last);
-                
-                if(IndexingStatus.SOLR_UPDATE.equals(status)) {
-                    connectionIssue = indexSolr(mess, solrQueue, status);
-                } else if(IndexingStatus.S3_V3_REINDEX.equals(orcid)) {
-                    connectionIssue = indexV3Record(mess, v3Queue, status);
-                } else if(IndexingStatus.DUMP_UPDATE.equals(status)) {
-                    connectionIssue = indexSummaries(mess, v2SummaryQueue, status);
-                    if(!connectionIssue)
-                        connectionIssue = indexActivities(mess, v2ActivitiesQueue, status);
-                    if(!connectionIssue)
-                        connectionIssue = indexV3Record(mess, v3Queue, status);
-                } else {
-                    connectionIssue = indexSolr(mess, solrQueue, status);
-                    if(!connectionIssue)
-                        connectionIssue = indexSummaries(mess, v2SummaryQueue, status);
-                    if(!connectionIssue)
-                        connectionIssue = indexActivities(mess, v2ActivitiesQueue, status);
-                    if(!connectionIssue)
-                        connectionIssue = indexV3Record(mess, v3Queue, status);
-                }                
-                
-                profileDao.updateIndexingStatus(orcid, IndexingStatus.DONE);
+            List<LastModifiedMessage> messages = new ArrayList<>(orcidsForIndexing.size());
+            for (Pair<String, Date> p : orcidsForIndexing) {
+                messages.add(new LastModifiedMessage(p.getLeft(), p.getRight()));
             }
-        } while (!connectionIssue && !orcidsForIndexing.isEmpty());
-    }
-    
-    private boolean indexSolr(LastModifiedMessage mess, String solrQueue, IndexingStatus status) {        
-        // Send message to solr queue
-        if (!messaging.send(mess, solrQueue)) {
-            LOG.warn("ABORTED processing profiles with " + status.name() + " flag. sending to " + solrQueue);                    
-            return true;
-        }
-        return false;
-    }
-    
-    private boolean indexSummaries(LastModifiedMessage mess, String summaryQueue, IndexingStatus status) {
-        // Send message to summary queue
-        if (!messaging.send(mess, summaryQueue)) {            
-            LOG.warn("ABORTED processing profiles with " + status.name() + " flag. sending to " + summaryQueue);                    
-            return true;
-        }
-        return false;
-    }
-    
-    private boolean indexActivities(LastModifiedMessage mess, String activitiesQueue, IndexingStatus status) {
-        // Send message to activities queue
-        if (!messaging.send(mess, activitiesQueue)) {
-            LOG.warn("ABORTED processing profiles with " + status.name() + " flag. sending to " + activitiesQueue);                    
-            return true;
-        }
-        return false;
+
+            // Records stay flagged if the batch couldn't be sent, so they
+            // are picked up again once the broker is back. Records modified
+            // while the batch was sent stay flagged too, the messages carry
+            // their previous last modified date
+            if (messaging.send(messages, queues)) {
+                profileDao.updateIndexingStatusToDoneIfUnchanged(orcidsForIndexing, status);
+            } else {
+                LOG.warn("ABORTED processing profiles with " + status.name() + " flag. sending to " + queues);
+                connectionIssue = true;
+            }
+        } while (!connectionIssue && !reachedUntil);
+        return !connectionIssue;
     }
     
-    private boolean indexV3Record(LastModifiedMessage mess, String queueName, IndexingStatus status) {
-        // Send message to activities queue
-        if (!messaging.send(mess, queueName)) {
-            LOG.warn("ABORTED processing profiles with " + status.name() + " flag. sending to " + queueName);                    
-            return true;
+    private List<String> getQueues(IndexingStatus status) {
+        boolean reindex = IndexingStatus.REINDEX.equals(status);
+        String solrQueue = (reindex ? reindexSolrQueueName : updateSolrQueueName);
+        String v2SummaryQueue = (reindex ? reindexSummaryQueueName : updateSummaryQueueName);
+        String v2ActivitiesQueue = (reindex ? reindexActivitiesQueueName : updateActivitiesQueueName);
+        String v3Queue = (reindex ? reindexV3RecordQueueName : updateV3RecordQueueName);
+        if (IndexingStatus.SOLR_UPDATE.equals(status)) {
+            return Arrays.asList(solrQueue);
+        } else if (IndexingStatus.S3_V3_REINDEX.equals(status)) {
+            return Arrays.asList(v3Queue);
+        } else if (IndexingStatus.DUMP_UPDATE.equals(status)) {
+            return Arrays.asList(v2SummaryQueue, v2ActivitiesQueue, v3Queue);
         }
-        return false;
+        return Arrays.asList(solrQueue, v2SummaryQueue, v2ActivitiesQueue, v3Queue);
     }
     
     private void processUnclaimedProfileForReminderInTransaction(final String orcid) {
@@ -9,7 +9,7 @@ package org.orcid.utils.listener;
  */
 public enum MessageConstants {
     
-    ORCID("o"),DATE("d"),METHOD("m"),
+    ORCID("o"),DATE("d"),METHOD("m"),NODE("n"),
     TYPE("t"),
     TYPE_LAST_UPDATED("lu"),
     TYPE_RETRY("r");